@@ -0,0 +1,221 @@
+/**
+ * @Class: AnswerMatcher
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/17/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The AnswerMatcher class decides whether a typed answer matches a
+ * question's correct answer. It is compiled once from the correct answer when the
+ * question is loaded: a number such as "3.14" matches any numeric spelling of the
+ * same value within a small tolerance (or exactly, for values too large for a
+ * double, which parse to infinity), text such as "y = 2x - 3" matches ignoring
+ * case and whitespace, and answers made only of digits and symbols must match
+ * exactly apart from leading and trailing whitespace. Matching walks the typed
+ * characters in place, so grading allocates nothing.
+ */
+public final class AnswerMatcher {
+    private static final double RELATIVE_TOLERANCE = 1e-9; // Relative difference still counted as equal
+    private static final int MAX_MANTISSA_DIGITS = 18; // Digits that fit in a long
+
+    /**
+     * How a matcher compares answers.
+     */
+    public enum Kind {
+        NUMERIC, // Same value within the tolerance
+        NORMALIZED, // Same characters ignoring case and whitespace
+        EXACT // Same characters after trimming
+    }
+
+    private final Kind kind;
+    private final double value; // The correct value, for NUMERIC
+    private final String expected; // The correct answer, normalized for NORMALIZED and trimmed for EXACT
+
+    private AnswerMatcher(Kind kind, double value, String expected) {
+        this.kind = kind;
+        this.value = value;
+        this.expected = expected;
+    }
+
+    /**
+     * Compiles a matcher for a correct answer.
+     *
+     * @param correctAnswer The correct answer.
+     * @return The matcher.
+     */
+    public static AnswerMatcher compile(String correctAnswer) {
+        String answer = correctAnswer == null ? "" : correctAnswer;
+        int start = trimStart(answer);
+        int end = trimEnd(answer, start);
+        double number = parseNumber(answer, start, end);
+        if (!Double.isNaN(number)) {
+            return new AnswerMatcher(Kind.NUMERIC, number, null);
+        }
+        String trimmed = answer.substring(start, end);
+        if (hasLetterOrSpace(trimmed)) {
+            return new AnswerMatcher(Kind.NORMALIZED, Double.NaN, normalize(trimmed));
+        }
+        return new AnswerMatcher(Kind.EXACT, Double.NaN, trimmed);
+    }
+
+    private static boolean hasLetterOrSpace(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isLetter(text.charAt(i)) || Character.isWhitespace(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks a typed answer against the correct answer.
+     *
+     * @param answer The typed answer; null never matches.
+     * @return True if the answer matches.
+     */
+    public boolean matches(CharSequence answer) {
+        if (answer == null) {
+            return false;
+        }
+        int start = trimStart(answer);
+        int end = trimEnd(answer, start);
+        switch (kind) {
+            case NUMERIC:
+                double typed = parseNumber(answer, start, end);
+                return typed == value // Also the only way to match an infinite value
+                        || !Double.isInfinite(value) && Math.abs(typed - value) <= RELATIVE_TOLERANCE * Math.max(1.0, Math.abs(value));
+            case NORMALIZED:
+                return matchesNormalized(answer, start, end);
+            default:
+                return end - start == expected.length() && regionEquals(answer, start, expected);
+        }
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Compares a typed region with the normalized correct answer, skipping
+     * whitespace and folding case as it goes.
+     */
+    private boolean matchesNormalized(CharSequence answer, int start, int end) {
+        int j = 0;
+        for (int i = start; i < end; i++) {
+            char c = answer.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            if (j == expected.length() || Character.toLowerCase(c) != expected.charAt(j)) {
+                return false;
+            }
+            j++;
+        }
+        return j == expected.length();
+    }
+
+    private static boolean regionEquals(CharSequence answer, int start, String expected) {
+        for (int i = 0; i < expected.length(); i++) {
+            if (answer.charAt(start + i) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes whitespace and lower-cases every character, the form NORMALIZED matchers compare.
+     */
+    private static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Parses a decimal number such as "-12", "3.14", ".5" or "6.02e23" from a region
+     * of text without creating a string.
+     *
+     * @return The value, or NaN if the region is not a number.
+     */
+    static double parseNumber(CharSequence text, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0; // Significant digits kept in the mantissa
+        int exponent = 0;
+        boolean seenDigit = false;
+        boolean seenPoint = false;
+        for (; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                seenDigit = true;
+                if (digits < MAX_MANTISSA_DIGITS) {
+                    if (mantissa != 0 || c != '0') {
+                        digits++;
+                    }
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (seenPoint) {
+                        exponent--;
+                    }
+                } else if (!seenPoint) {
+                    exponent++; // Digit beyond long precision
+                }
+            } else if (c == '.' && !seenPoint) {
+                seenPoint = true;
+            } else {
+                break;
+            }
+        }
+        if (!seenDigit) {
+            return Double.NaN;
+        }
+        if (i < end && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+                negativeExponent = text.charAt(i) == '-';
+                i++;
+            }
+            int written = 0;
+            int exponentDigits = 0;
+            for (; i < end && text.charAt(i) >= '0' && text.charAt(i) <= '9'; i++) {
+                written = Math.min(written * 10 + (text.charAt(i) - '0'), 10_000);
+                exponentDigits++;
+            }
+            if (exponentDigits == 0) {
+                return Double.NaN;
+            }
+            exponent += negativeExponent ? -written : written;
+        }
+        if (i != end) {
+            return Double.NaN;
+        }
+        double result = exponent >= 0 ? mantissa * Math.pow(10, exponent) : mantissa / Math.pow(10, -exponent);
+        return negative ? -result : result;
+    }
+
+    private static int trimStart(CharSequence text) {
+        int start = 0;
+        while (start < text.length() && Character.isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimEnd(CharSequence text, int start) {
+        int end = text.length();
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * @Class: AnswerMatcherCheck
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/17/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The AnswerMatcherCheck class runs AnswerMatcher on correct answers of
+ * each kind with typed answers that should and should not match: other spellings
+ * of a number, values too large for a double, text with different case and
+ * spacing, and symbol answers that must match exactly. Exits with status 1 on the
+ * first failure.
+ * Run with: java AnswerMatcherCheck
+ */
+public class AnswerMatcherCheck {
+    // Correct answer, then typed answers that match, then "|" and typed answers that do not
+    private static final String[][] CASES = {
+            { "3.14", "3.14", " 3.140 ", "+3.14", "314e-2", "0.314E1", "|", "3.15", "3,14", "pi", "", "3.14.0" },
+            { "-12", "-12", "-12.0", "-1.2e1", "|", "12", "- 12", "-12a" },
+            { ".5", "0.5", "5e-1", ".50000000001", "|", "0.6", "." },
+            { "6.02e23", "602000000000000000000000", "6.020e+23", "|", "6.03e23", "6.02e" },
+            { "0", "0", "-0", "0.0", "0e5", "|", "1e-3", "o" },
+            { "1e400", "1e400", "10e399", "|", "-1e400", "1e300" },
+            { "-1e400", "-1e400", "|", "1e400" },
+            { "123456789012345678901234567890", "1.2345678901234567890123456789e29", "|", "123456789012345678901234567891e1" },
+            { "y = 2x - 3", "y = 2x - 3", "Y=2X-3", "  y =2x-3 ", "y\t=\t2x\t-\t3", "|", "y = 2x + 3", "y = 2x - 33", "y = 2x" },
+            { "Paris", "paris", "PARIS", " Paris ", "Pa ris", "|", "Pariss", "Pari", "" },
+            { "1/2", "1/2", " 1/2 ", "|", "1 / 2", "0.5", "2/1", "1/2." },
+            { "+-", "+-", "|", "-+", "+ -", "+" },
+    };
+
+    /**
+     * Runs the checks and prints a summary.
+     *
+     * @param args Not used.
+     */
+    public static void main(String[] args) {
+        int checked = 0;
+        for (String[] row : CASES) {
+            AnswerMatcher matcher = AnswerMatcher.compile(row[0]);
+            boolean shouldMatch = true;
+            for (int i = 1; i < row.length; i++) {
+                if (row[i].equals("|")) {
+                    shouldMatch = false;
+                    continue;
+                }
+                check(matcher.matches(row[i]) == shouldMatch, "\"" + row[i] + "\" " + (shouldMatch ? "did not match" : "matched")
+                        + " \"" + row[0] + "\" (" + matcher.getKind() + ")");
+                checked++;
+            }
+            check(!matcher.matches(null), "null matched \"" + row[0] + "\"");
+        }
+
+        check(AnswerMatcher.compile("3.14").getKind() == AnswerMatcher.Kind.NUMERIC, "\"3.14\" is not numeric");
+        check(AnswerMatcher.compile("1e400").getKind() == AnswerMatcher.Kind.NUMERIC, "\"1e400\" is not numeric");
+        check(AnswerMatcher.compile("y = 2x - 3").getKind() == AnswerMatcher.Kind.NORMALIZED, "\"y = 2x - 3\" is not normalized");
+        check(AnswerMatcher.compile("1/2").getKind() == AnswerMatcher.Kind.EXACT, "\"1/2\" is not exact");
+        check(AnswerMatcher.compile(null).matches(""), "a missing correct answer did not match an empty answer");
+        System.out.println("AnswerMatcherCheck: " + checked + " answers against " + CASES.length + " correct answers passed");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            System.err.println("AnswerMatcherCheck failed: " + message);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @Class: BankReloadCheck
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/18/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The BankReloadCheck class copies a question bank to a scratch
+ * directory, watches it with a BankWatcher while reader threads look the bank up in
+ * a tight loop, and then edits the file: it adds a question, fixes a question's
+ * text and finally empties the file. It checks that each good edit is published
+ * while a list held by an "exam in progress" stays as it was, that the empty file
+ * is rejected and the previous bank kept, and that readers only ever see complete
+ * banks. Before that it corrupts the compiled bank and checks that loading falls
+ * back to the text file, and that a bank with no questions is not compiled. It
+ * prints the reload times and the cost of a lookup with and without the watcher.
+ * Run with: java BankReloadCheck [bankFile]
+ */
+public class BankReloadCheck {
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    /**
+     * Runs the check. Exits with status 1 on the first failure.
+     *
+     * @param args Optional bank file to copy (default Sports.txt).
+     */
+    public static void main(String[] args) throws Exception {
+        Path source = Path.of(args.length > 0 ? args[0] : "Sports.txt");
+        Path directory = Files.createTempDirectory("banks");
+        Path bank = directory.resolve(source.getFileName());
+        Files.copy(source, bank);
+        String file = bank.toString();
+
+        QuestionBank original = QuestionBank.forFile(file);
+        checkCorruptCompiledBank(file, original);
+        checkEmptyBankNotCompiled(directory);
+        double unwatchedNanos = lookupNanos(file);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong reads = new AtomicLong();
+
+        try (BankWatcher watcher = BankWatcher.start(directory)) {
+            double watchedNanos = lookupNanos(file);
+            List<Thread> readers = startReaders(file, running, reads);
+            List<Question> inFlight = original.getQuestions(); // Held like a running exam holds its bank
+
+            // Add a question
+            Files.writeString(bank, "\nWhat is the name of this check?,BankReloadCheck\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+            QuestionBank added = awaitChange(file, original);
+            check(added.getQuestions().size() == inFlight.size() + 1, "the added question was not published");
+            check(inFlight == original.getQuestions() && inFlight.size() == original.getQuestions().size(), "the in-flight list changed");
+
+            // Fix the text of the first question
+            List<String> lines = Files.readAllLines(bank, StandardCharsets.UTF_8);
+            lines.set(0, "Fixed: " + lines.get(0));
+            Files.write(bank, lines, StandardCharsets.UTF_8);
+            QuestionBank fixed = awaitChange(file, added);
+            check(fixed.getAnswers().keySet().stream().anyMatch(text -> text.startsWith("Fixed: ")), "the fixed question was not published");
+
+            // Empty the file: the rebuild must fail and keep the fixed bank
+            long failures = GameMetrics.get().getBankReloadFailures();
+            Files.writeString(bank, "", StandardCharsets.UTF_8);
+            long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+            while (GameMetrics.get().getBankReloadFailures() == failures && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            check(GameMetrics.get().getBankReloadFailures() == failures + 1, "the empty file was not counted as a failure");
+            check(QuestionBank.forFile(file) == fixed, "the empty file replaced the bank");
+
+            running.set(false);
+            for (Thread reader : readers) {
+                reader.join();
+            }
+            System.out.printf("BankReloadCheck: %s: %d reloads, mean %.1f ms, max %.1f ms (including the settle wait), %d failure(s)%n",
+                    watcher.getDirectory(), GameMetrics.get().getBankReloads(), GameMetrics.get().getMeanBankReloadMillis(),
+                    GameMetrics.get().getMaxBankReloadMillis(), GameMetrics.get().getBankReloadFailures());
+            System.out.printf("Lookup: %.0f ns checking the file, %.0f ns while watched; %d concurrent reads saw only complete banks%n",
+                    unwatchedNanos, watchedNanos, reads.get());
+        } finally {
+            running.set(false);
+            try (var files = Files.list(directory)) {
+                for (Path path : (Iterable<Path>) files::iterator) {
+                    Files.delete(path);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    /**
+     * Points the first entry of the compiled bank past the end of its string table,
+     * keeping its source stamp, and checks that loading falls back to the text file.
+     */
+    private static void checkCorruptCompiledBank(String file, QuestionBank original) throws Exception {
+        Path compiled = CompiledQuestionBank.compiledPath(file);
+        check(Files.exists(compiled), "the bank was not compiled");
+        byte[] bytes = Files.readAllBytes(compiled);
+        ByteBuffer.wrap(bytes).putInt(4 + 4 + 8 + 8 + 4, Integer.MAX_VALUE - 1);
+        // Replaced, not rewritten in place, as the loaded bank still reads the old file's mapping
+        Path corrupt = Files.write(compiled.resolveSibling(compiled.getFileName() + ".tmp"), bytes);
+        Files.move(corrupt, compiled, StandardCopyOption.REPLACE_EXISTING);
+        check(CompiledQuestionBank.open(file) == null, "the corrupt compiled bank was opened");
+        check(new Quizzes().loadQuestions(file).equals(original.getAnswers()), "loading did not fall back to the text file");
+        check(CompiledQuestionBank.open(file) != null, "the text file was not compiled again");
+    }
+
+    /**
+     * Loads a bank with no questions and checks that no compiled bank is written
+     * for it, so fixing the text file later is not hidden by a stamped empty bank.
+     */
+    private static void checkEmptyBankNotCompiled(Path directory) throws Exception {
+        Path empty = directory.resolve("Empty.txt");
+        Files.writeString(empty, "\n", StandardCharsets.UTF_8);
+        check(new Quizzes().loadQuestions(empty.toString()).isEmpty(), "the empty bank had questions");
+        check(!Files.exists(CompiledQuestionBank.compiledPath(empty.toString())), "the empty bank was compiled");
+    }
+
+    /**
+     * Starts threads that look the bank up repeatedly and check that every bank
+     * they see is whole: each question's correct answer is among its choices.
+     */
+    private static List<Thread> startReaders(String file, AtomicBoolean running, AtomicLong reads) {
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread reader = new Thread(() -> {
+                while (running.get()) {
+                    for (Question question : QuestionBank.forFile(file).getQuestions()) {
+                        if (question.getCorrectChoice() < 0) {
+                            fail("a reader saw a question without its correct answer");
+                        }
+                    }
+                    reads.incrementAndGet();
+                }
+            }, "bank-reader-" + i);
+            reader.setDaemon(true);
+            reader.start();
+            readers.add(reader);
+        }
+        return readers;
+    }
+
+    /**
+     * Waits for the cached bank to be replaced.
+     */
+    private static QuestionBank awaitChange(String file, QuestionBank previous) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        QuestionBank current;
+        while ((current = QuestionBank.forFile(file)) == previous) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("no reload within " + TIMEOUT_MILLIS + " ms");
+            }
+            Thread.sleep(1);
+        }
+        return current;
+    }
+
+    /**
+     * Measures the mean cost of one lookup of a cached bank.
+     */
+    private static double lookupNanos(String file) {
+        int lookups = 200_000;
+        long sink = 0;
+        for (int round = 0; round < 2; round++) {
+            long started = System.nanoTime();
+            for (int i = 0; i < lookups; i++) {
+                sink += QuestionBank.forFile(file).getQuestions().size();
+            }
+            if (round == 1) {
+                return (System.nanoTime() - started) / (double) lookups + (sink == 42 ? 1 : 0);
+            }
+        }
+        return 0;
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            fail(message);
+        }
+    }
+
+    private static void fail(String message) {
+        System.err.println("BankReloadCheck failed: " + message);
+        System.exit(1);
+    }
+}
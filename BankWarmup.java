@@ -0,0 +1,38 @@
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * @Class: BankWarmup
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/17/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The BankWarmup class loads and prepares the question bank of every
+ * subject in parallel, so the first exam of each subject finds its bank already
+ * in the QuestionBank cache instead of reading the file and building distractors
+ * while the player waits. It is started from MiamiQuestGUI.main while the window
+ * is being built.
+ */
+public final class BankWarmup {
+
+    private BankWarmup() {
+    }
+
+    /**
+     * Starts loading every subject bank, one task per bank, on the common pool.
+     * A bank that fails to load is reported and left for its first exam to retry.
+     *
+     * @return A future that completes when every bank has been tried.
+     */
+    public static CompletableFuture<Void> start() {
+        CompletableFuture<?>[] banks = new CompletableFuture<?>[Course.COURSE_TYPES];
+        for (int type = 1; type <= Course.COURSE_TYPES; type++) {
+            String file = Course.fileFor(type);
+            banks[type - 1] = CompletableFuture.runAsync(() -> QuestionBank.forFile(file))
+                    .exceptionally(error -> {
+                        System.err.println("Could not warm up " + file + ": " + error.getMessage());
+                        return null;
+                    });
+        }
+        return CompletableFuture.allOf(banks);
+    }
+}
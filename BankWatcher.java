@@ -0,0 +1,149 @@
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Class: BankWatcher
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/18/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The BankWatcher class watches the directory holding the question banks
+ * and rebuilds a cached bank in the background as soon as its file is saved, so
+ * fixing a question no longer needs a restart. A save usually arrives as a burst
+ * of file events, so a rebuild waits briefly and covers the whole burst. The new
+ * bank is published by QuestionBank.reload() with one map write: exams already
+ * running keep the question list they started with, and the next exam gets the
+ * new one. A file that cannot be read or has no questions is counted as a failure
+ * and the old bank stays. Reload times and failures are in GameMetrics.
+ */
+public final class BankWatcher implements AutoCloseable {
+    private static final long SETTLE_MILLIS = 100; // Wait after the first event of a burst before rebuilding
+
+    private final Path directory; // Absolute, normalized directory being watched
+    private final WatchService watchService;
+    private final Thread watchThread;
+    private final ScheduledExecutorService rebuilder; // Rebuilds banks off the watch thread
+    private final Map<String, Long> pending = new ConcurrentHashMap<>(); // Bank file to System.nanoTime() of its first unhandled event
+
+    private BankWatcher(Path directory) throws IOException {
+        this.directory = directory;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        this.rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bank-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.watchThread = new Thread(this::watch, "bank-watcher");
+        this.watchThread.setDaemon(true);
+    }
+
+    /**
+     * Starts watching a directory of question banks. Banks already cached from the
+     * directory are checked once, in case they changed before the watch began.
+     *
+     * @param directory The directory holding the bank files.
+     * @return The running watcher; close it to stop.
+     * @throws IOException If the directory cannot be watched.
+     */
+    public static BankWatcher start(Path directory) throws IOException {
+        Path watched = directory.toAbsolutePath().normalize();
+        BankWatcher watcher = new BankWatcher(watched);
+        if (!QuestionBank.watch(watched)) {
+            watcher.watchService.close();
+            watcher.rebuilder.shutdown();
+            throw new IllegalStateException(watched + " is already being watched");
+        }
+        watcher.watchThread.start();
+        for (String file : QuestionBank.cachedFilesIn(watched)) {
+            watcher.schedule(file);
+        }
+        return watcher;
+    }
+
+    /**
+     * Takes file events until the watcher is closed and schedules a rebuild for
+     * each cached bank they touch. Files that are not cached banks are ignored; they
+     * are read fresh on first use.
+     */
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        // Events were lost: check every bank in the directory
+                        for (String file : QuestionBank.cachedFilesIn(directory)) {
+                            schedule(file);
+                        }
+                        continue;
+                    }
+                    String file = QuestionBank.cachedFileFor(directory.resolve((Path) event.context()));
+                    if (file != null) {
+                        schedule(file);
+                    }
+                }
+                if (!key.reset()) {
+                    System.err.println("Stopped watching " + directory + ": it is no longer accessible");
+                    QuestionBank.unwatch(directory);
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed
+        }
+    }
+
+    /**
+     * Schedules a rebuild of a bank unless one is already waiting. Events that
+     * arrive while it waits are folded into the same rebuild; events that arrive
+     * once it has started schedule another, which does nothing if the file has not
+     * changed again.
+     */
+    private void schedule(String file) {
+        if (pending.putIfAbsent(file, System.nanoTime()) == null) {
+            rebuilder.schedule(() -> rebuild(file), SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void rebuild(String file) {
+        long seen = pending.remove(file);
+        try {
+            if (QuestionBank.reload(file) != null) {
+                GameMetrics.get().bankReloaded(System.nanoTime() - seen);
+            }
+        } catch (IOException e) {
+            GameMetrics.get().bankReloadFailed();
+            System.err.println("Kept the previous bank for " + file + ": " + e.getMessage());
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Stops watching. Banks from the directory go back to being checked on lookup.
+     */
+    @Override
+    public void close() {
+        QuestionBank.unwatch(directory);
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            System.err.println("Could not close the watch on " + directory + ": " + e.getMessage());
+        }
+        rebuilder.shutdownNow();
+    }
+}
@@ -0,0 +1,252 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * @Class: BenchmarkSuite
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/11/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The BenchmarkSuite class measures the game's hot paths with warm-up and
+ * measurement iterations and writes the results as JSON in the same shape as JMH's
+ * JSON output, so runs can be compared over time. The score error is the half-width
+ * of the 99.9% confidence interval, as in JMH. It needs nothing beyond the JDK, for
+ * a quick run; the JMH module in benchmarks/ runs the same cases under JMH.
+ * Covered: reading each bank, distractor generation at 100/10k/1M questions, exam
+ * form sampling, Player registration, drop and graduation checks with large course
+ * lists, and full headless games.
+ * Run with: java BenchmarkSuite [results.json] [name filter]
+ */
+public class BenchmarkSuite {
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASUREMENT_ITERATIONS = 5;
+    private static final double T_999 = 8.610; // Student's t at 0.9995 with MEASUREMENT_ITERATIONS - 1 degrees of freedom
+    private static final String[] BANKS = { "History.txt", "Math.txt", "Sports.txt", "Computer_Science.txt" };
+
+    static volatile Object sink; // Keeps results alive so the JIT cannot drop the work
+
+    /**
+     * One benchmark. setUp runs before each iteration and is not timed; invoke is
+     * timed for opsPerIteration calls.
+     */
+    abstract static class Case {
+        final String name;
+        final String param;
+        final int opsPerIteration;
+
+        Case(String name, String param, int opsPerIteration) {
+            this.name = name;
+            this.param = param;
+            this.opsPerIteration = opsPerIteration;
+        }
+
+        void setUp() {
+        }
+
+        abstract Object invoke(int op);
+    }
+
+    /**
+     * Runs the suite and writes the JSON report.
+     *
+     * @param args Optional output file (default benchmark-results.json) and a name filter.
+     * @throws IOException If the report cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        String output = args.length > 0 ? args[0] : "benchmark-results.json";
+        String filter = args.length > 1 ? args[1] : "";
+
+        List<String> results = new ArrayList<>();
+        for (Case c : cases()) {
+            if (!(c.name + " " + c.param).contains(filter)) {
+                continue;
+            }
+            results.add(run(c));
+        }
+
+        try (Writer out = Files.newBufferedWriter(Paths.get(output), StandardCharsets.UTF_8)) {
+            out.write("[\n" + String.join(",\n", results) + "\n]\n");
+        }
+        System.out.println("Results written to " + output);
+    }
+
+    /**
+     * Builds the list of benchmarks.
+     */
+    static List<Case> cases() {
+        List<Case> cases = new ArrayList<>();
+        Quizzes quizzes = new Quizzes();
+        QuestionFileReader reader = new QuestionFileReader();
+        QuestionImporter importer = new QuestionImporter();
+
+        for (String bank : BANKS) {
+            cases.add(new Case("Quizzes.readQuestions", bank, 200) {
+                Object invoke(int op) {
+                    return quizzes.readQuestions(bank);
+                }
+            });
+            cases.add(new Case("QuestionFileReader.readQuestions", bank, 200) {
+                Object invoke(int op) {
+                    return reader.readQuestions(bank);
+                }
+            });
+            cases.add(new Case("QuestionImporter.importFile", bank, 200) {
+                Object invoke(int op) {
+                    try {
+                        return importer.importFile(Paths.get(bank)).getQuestions();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        }
+
+        for (int size : new int[] { 100, 10_000, 1_000_000 }) {
+            cases.add(new Case("Quizzes.questionsWithChoices", "questions=" + size, Math.max(1, 1_000_000 / size)) {
+                Map<String, String> bank;
+
+                void setUp() {
+                    if (bank == null) {
+                        bank = syntheticBank(size);
+                    }
+                }
+
+                Object invoke(int op) {
+                    return quizzes.questionsWithChoices(bank);
+                }
+            });
+        }
+
+        for (int size : new int[] { 100, 1_000_000 }) {
+            Random random = new Random(1);
+            cases.add(new Case("ExamForm.sample", "bank=" + size, 100_000) {
+                List<Question> bank;
+
+                void setUp() {
+                    if (bank == null) {
+                        bank = quizzes.questionsWithChoices(syntheticBank(size));
+                    }
+                }
+
+                Object invoke(int op) {
+                    return ExamForm.sample(bank, Exam.DEFAULT_EXAM_SIZE, random);
+                }
+            });
+        }
+
+        for (int courses : new int[] { 100, 10_000 }) {
+            cases.add(new Case("Player.registerCourse", "courses=" + courses, 10_000) {
+                Player player;
+
+                void setUp() {
+                    player = playerWithCourses(courses);
+                }
+
+                Object invoke(int op) {
+                    return player.registerCourse();
+                }
+            });
+            cases.add(new Case("Player.canGraduate", "courses=" + courses, 10_000) {
+                Player player;
+
+                void setUp() {
+                    if (player == null) {
+                        player = playerWithCourses(courses);
+                    }
+                }
+
+                Object invoke(int op) {
+                    return player.canGraduate();
+                }
+            });
+            cases.add(new Case("Player.dropCourse", "courses=" + courses, 20) {
+                Player[] players;
+
+                void setUp() {
+                    // The drop option is single-use, so each call needs a fresh player
+                    players = new Player[opsPerIteration];
+                    for (int i = 0; i < players.length; i++) {
+                        players[i] = playerWithCourses(courses);
+                    }
+                }
+
+                Object invoke(int op) {
+                    Player player = players[op];
+                    return player.dropCourse(player.getCourseList().get(courses - 1));
+                }
+            });
+        }
+
+        GameSimulator simulator = new GameSimulator(GameRules.DEFAULT, BotStrategy.fixedAccuracy(0.75), 0.5);
+        cases.add(new Case("GameSimulator.run", "games=1000 on one thread", 1) {
+            long seed;
+
+            Object invoke(int op) {
+                return simulator.run(1000, seed++);
+            }
+        });
+
+        return cases;
+    }
+
+    /**
+     * Warms up and measures one case, then returns its JSON record.
+     */
+    static String run(Case c) {
+        double[] scores = new double[MEASUREMENT_ITERATIONS];
+        for (int iteration = -WARMUP_ITERATIONS; iteration < MEASUREMENT_ITERATIONS; iteration++) {
+            c.setUp();
+            long start = System.nanoTime();
+            for (int op = 0; op < c.opsPerIteration; op++) {
+                sink = c.invoke(op);
+            }
+            long elapsed = System.nanoTime() - start;
+            if (iteration >= 0) {
+                scores[iteration] = c.opsPerIteration / (elapsed / 1e9);
+            }
+        }
+
+        double mean = 0;
+        for (double score : scores) {
+            mean += score;
+        }
+        mean /= scores.length;
+        double variance = 0;
+        for (double score : scores) {
+            variance += (score - mean) * (score - mean);
+        }
+        double error = T_999 * Math.sqrt(variance / (scores.length - 1) / scores.length);
+
+        System.out.printf("%-36s %-28s %14.1f ops/s  +- %.1f%n", c.name, c.param, mean, error);
+        return String.format("  {\"benchmark\": %s, \"mode\": \"thrpt\", \"params\": {\"case\": %s}, "
+                + "\"warmupIterations\": %d, \"measurementIterations\": %d, "
+                + "\"primaryMetric\": {\"score\": %.3f, \"scoreError\": %.3f, \"scoreUnit\": \"ops/s\"}}",
+                GameServer.quote(c.name), GameServer.quote(c.param), WARMUP_ITERATIONS, MEASUREMENT_ITERATIONS, mean, error);
+    }
+
+    static Map<String, String> syntheticBank(int size) {
+        Map<String, String> bank = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            bank.put("Question " + i + "?", "Answer " + (i % 5000));
+        }
+        return bank;
+    }
+
+    static Player playerWithCourses(int courses) {
+        Player player = new Player();
+        player.setMessageHandler(message -> { });
+        for (int i = 0; i < courses; i++) {
+            player.registerCourse();
+        }
+        return player;
+    }
+}
@@ -0,0 +1,113 @@
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @Class: BotStrategy
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/10/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The BotStrategy interface decides how a simulated player answers exam
+ * questions and whether it drops a hard course after the first exam. The static
+ * factories give the strategies used by the GameSimulator.
+ */
+public interface BotStrategy {
+
+    /**
+     * Chooses an answer for a question.
+     *
+     * @param question The question, with choices in display order.
+     * @param random   The simulation worker's random generator.
+     * @return The choice letter to submit.
+     */
+    String answer(Question question, Random random);
+
+    /**
+     * Decides whether to drop a hard course after its first exam.
+     *
+     * @param firstExamScore The number of questions right on the first exam.
+     * @param random         The simulation worker's random generator.
+     * @return True to drop the course, false to take the second exam.
+     */
+    boolean dropAfterFirstExam(int firstExamScore, Random random);
+
+    /**
+     * Gets a short name for reports.
+     *
+     * @return The strategy name.
+     */
+    String name();
+
+    /**
+     * A bot that picks a choice uniformly at random and never drops.
+     *
+     * @return The strategy.
+     */
+    static BotStrategy random() {
+        return fixedAccuracy(0.0, "random");
+    }
+
+    /**
+     * A bot that knows the answer with the given probability, otherwise guesses
+     * among all choices, and never drops.
+     *
+     * @param accuracy The probability of knowing the answer, from 0 to 1.
+     * @return The strategy.
+     */
+    static BotStrategy fixedAccuracy(double accuracy) {
+        return fixedAccuracy(accuracy, "accuracy " + Math.round(accuracy * 100) + "%");
+    }
+
+    private static BotStrategy fixedAccuracy(double accuracy, String name) {
+        return new BotStrategy() {
+            @Override
+            public String answer(Question question, Random random) {
+                List<String> choices = question.getChoices();
+                int correct = question.getCorrectChoice();
+                int pick;
+                if (correct >= 0 && random.nextDouble() < accuracy) {
+                    pick = correct;
+                } else {
+                    pick = random.nextInt(choices.size());
+                }
+                return String.valueOf((char) ('A' + pick));
+            }
+
+            @Override
+            public boolean dropAfterFirstExam(int firstExamScore, Random random) {
+                return false;
+            }
+
+            @Override
+            public String name() {
+                return name;
+            }
+        };
+    }
+
+    /**
+     * A bot that answers like another strategy but always drops hard courses after
+     * the first exam.
+     *
+     * @param answering The strategy used to answer questions.
+     * @return The strategy.
+     */
+    static BotStrategy alwaysDropOnHard(BotStrategy answering) {
+        return new BotStrategy() {
+            @Override
+            public String answer(Question question, Random random) {
+                return answering.answer(question, random);
+            }
+
+            @Override
+            public boolean dropAfterFirstExam(int firstExamScore, Random random) {
+                return true;
+            }
+
+            @Override
+            public String name() {
+                return answering.name() + ", drops hard";
+            }
+        };
+    }
+}
@@ -0,0 +1,269 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @Class: CompiledQuestionBank
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/4/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The CompiledQuestionBank class compiles a text question bank into a
+ * compact binary file (for example History.txt into History.qbk) and reads it back
+ * without parsing. The file holds a header, a fixed-width offset table with one
+ * question/answer entry per question, and a string table in which repeated answers
+ * are stored once. Question N is read in constant time from a memory mapping.
+ * A loaded QuestionBank keeps reading its mapping, so the file is only ever
+ * replaced by moving a new one into place, never rewritten where it is.
+ *
+ * File layout (big-endian):
+ *   int magic, int version, long sourceModified, long sourceSize, int count
+ *   count x { int questionOffset, int questionLength, int answerOffset, int answerLength }
+ *   string table of UTF-8 bytes
+ */
+public final class CompiledQuestionBank {
+    private static final int MAGIC = 0x4D51424B; // "MQBK"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 4;
+    private static final int ENTRY_SIZE = 16;
+
+    private final MappedByteBuffer data; // Read-only mapping of the compiled file
+    private final int count; // Number of questions in the bank
+    private final int stringsStart; // Offset of the string table
+
+    private CompiledQuestionBank(MappedByteBuffer data, int count) {
+        this.data = data;
+        this.count = count;
+        this.stringsStart = HEADER_SIZE + count * ENTRY_SIZE;
+    }
+
+    /**
+     * Gets the path of the compiled file for a text bank.
+     *
+     * @param textPath The path to the text bank.
+     * @return The path of the compiled bank next to it.
+     */
+    public static Path compiledPath(String textPath) {
+        int dot = textPath.lastIndexOf('.');
+        String base = dot > textPath.lastIndexOf('/') && dot > textPath.lastIndexOf('\\') ? textPath.substring(0, dot) : textPath;
+        return Paths.get(base + ".qbk");
+    }
+
+    /**
+     * Opens the compiled file for a text bank if it exists and was built from the
+     * text bank as it is now.
+     *
+     * @param textPath The path to the text bank.
+     * @return The compiled bank, or null if it is missing, unreadable or stale.
+     */
+    public static CompiledQuestionBank open(String textPath) {
+        Path compiled = compiledPath(textPath);
+        try {
+            BasicFileAttributes source = Files.readAttributes(Paths.get(textPath), BasicFileAttributes.class);
+            if (!Files.exists(compiled)) {
+                return null;
+            }
+            try (FileChannel channel = FileChannel.open(compiled, StandardOpenOption.READ)) {
+                MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                data.order(ByteOrder.BIG_ENDIAN);
+                if (data.limit() < HEADER_SIZE || data.getInt(0) != MAGIC || data.getInt(4) != VERSION) {
+                    return null;
+                }
+                if (data.getLong(8) != source.lastModifiedTime().toMillis() || data.getLong(16) != source.size()) {
+                    return null;
+                }
+                int count = data.getInt(24);
+                if (count < 0 || (long) HEADER_SIZE + (long) count * ENTRY_SIZE > data.limit() || !entriesInBounds(data, count)) {
+                    return null;
+                }
+                return new CompiledQuestionBank(data, count);
+            }
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks that every entry's strings lie inside the string table, so a corrupt
+     * file is treated as missing rather than failing on a later read.
+     */
+    private static boolean entriesInBounds(MappedByteBuffer data, int count) {
+        long stringsLength = data.limit() - (HEADER_SIZE + (long) count * ENTRY_SIZE);
+        for (int entry = HEADER_SIZE; entry < HEADER_SIZE + count * ENTRY_SIZE; entry += 8) {
+            int offset = data.getInt(entry);
+            int length = data.getInt(entry + 4);
+            if (offset < 0 || length < 0 || (long) offset + length > stringsLength) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads the attributes of a text bank, to be taken before it is parsed and
+     * passed to compile().
+     *
+     * @param textPath The path to the text bank.
+     * @return The file's attributes.
+     * @throws IOException If the file cannot be read.
+     */
+    public static BasicFileAttributes sourceAttributes(String textPath) throws IOException {
+        return Files.readAttributes(Paths.get(textPath), BasicFileAttributes.class);
+    }
+
+    /**
+     * Compiles a parsed text bank to its binary file. The file is written to a
+     * temporary name and then moved into place so readers never see a partial file.
+     * The file is stamped with the text bank's attributes from before it was
+     * parsed, so a save made during parsing leaves the compiled bank stale rather
+     * than stamped as current.
+     *
+     * @param textPath     The path to the text bank the questions came from.
+     * @param source       The text bank's attributes, read before parsing it.
+     * @param questionsMap The questions and correct answers read from it.
+     * @throws IOException If the compiled file cannot be written.
+     */
+    public static void compile(String textPath, BasicFileAttributes source, Map<String, String> questionsMap) throws IOException {
+        int count = questionsMap.size();
+        ByteBuffer table = ByteBuffer.allocate(count * ENTRY_SIZE);
+        ByteBuffer strings = ByteBuffer.allocate(1024);
+        Map<String, Integer> answerOffsets = new HashMap<>();
+
+        for (Map.Entry<String, String> entry : questionsMap.entrySet()) {
+            byte[] question = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            byte[] answer = entry.getValue().getBytes(StandardCharsets.UTF_8);
+            strings = ensureCapacity(strings, question.length + answer.length);
+
+            table.putInt(strings.position()).putInt(question.length);
+            strings.put(question);
+
+            Integer answerOffset = answerOffsets.get(entry.getValue());
+            if (answerOffset == null) {
+                answerOffset = strings.position();
+                answerOffsets.put(entry.getValue(), answerOffset);
+                strings.put(answer);
+            }
+            table.putInt(answerOffset).putInt(answer.length);
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION)
+                .putLong(source.lastModifiedTime().toMillis()).putLong(source.size())
+                .putInt(count);
+        header.flip();
+        table.flip();
+        strings.flip();
+
+        Path target = compiledPath(textPath);
+        Path temp = Paths.get(target + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer[] parts = { header, table, strings };
+            while (strings.hasRemaining() || table.hasRemaining() || header.hasRemaining()) {
+                channel.write(parts);
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static ByteBuffer ensureCapacity(ByteBuffer buffer, int needed) {
+        if (buffer.remaining() >= needed) {
+            return buffer;
+        }
+        ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + needed));
+        buffer.flip();
+        larger.put(buffer);
+        return larger;
+    }
+
+    /**
+     * Gets the number of questions in the bank.
+     *
+     * @return The question count.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Reads the text of question N.
+     *
+     * @param n The question index, from 0 to size() - 1.
+     * @return The question text.
+     */
+    public String getQuestion(int n) {
+        int entry = entryOffset(n);
+        return decode(data.getInt(entry), data.getInt(entry + 4));
+    }
+
+    /**
+     * Reads the correct answer of question N.
+     *
+     * @param n The question index, from 0 to size() - 1.
+     * @return The correct answer.
+     */
+    public String getAnswer(int n) {
+        int entry = entryOffset(n);
+        return decode(data.getInt(entry + 8), data.getInt(entry + 12));
+    }
+
+    /**
+     * Reads every question into a map, in the same form as Quizzes.readQuestions.
+     *
+     * @return A map where keys are questions and values are correct answers.
+     */
+    public Map<String, String> toMap() {
+        Map<String, String> questionsMap = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            questionsMap.put(getQuestion(i), getAnswer(i));
+        }
+        return questionsMap;
+    }
+
+    /**
+     * Reads each distinct correct answer once, in the order the questions first use
+     * them. Repeated answers share one string, so they are told apart by offset
+     * without decoding them again.
+     *
+     * @return The distinct answers.
+     */
+    public List<String> distinctAnswers() {
+        List<String> answers = new ArrayList<>();
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            int entry = entryOffset(i);
+            int offset = data.getInt(entry + 8);
+            if (seen.add(offset)) {
+                answers.add(decode(offset, data.getInt(entry + 12)));
+            }
+        }
+        return answers;
+    }
+
+    private int entryOffset(int n) {
+        if (n < 0 || n >= count) {
+            throw new IndexOutOfBoundsException("Question " + n + " out of " + count);
+        }
+        return HEADER_SIZE + n * ENTRY_SIZE;
+    }
+
+    private String decode(int offset, int length) {
+        byte[] bytes = new byte[length];
+        data.get(stringsStart + offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -1,4 +1,3 @@
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -15,11 +14,12 @@ import java.util.List;
  * display course information and assign a professor to the course.
  */
 public class Course {
+    public static final int COURSE_TYPES = 4; // Course types run from 1 to COURSE_TYPES
+    private int courseType; // 1 History, 2 Math, 3 Sports, 4 Computer Science
     private String name;
     private String time;
     private String professorDifficulty;
     private Professor professor; // Association with Professor
-    private List<Question> questions; // List to store questions
     private boolean passed; // Attribute to track if the course is passed
 
     /**
@@ -30,10 +30,21 @@ public class Course {
      * @param courseType An integer representing the course type.
      */
     public Course(int courseType) {
-        this.professor = new Professor();
+        this(courseType, new Professor());
+    }
+
+    /**
+     * Constructor to initialize the Course with a given Professor. The class time
+     * follows the professor's difficulty.
+     *
+     * @param courseType An integer representing the course type.
+     * @param professor  The professor teaching the course.
+     */
+    public Course(int courseType, Professor professor) {
+        this.courseType = courseType;
+        this.professor = professor;
         this.professorDifficulty = professor.getDifficulty(); // Sets the professor's difficulty
         this.time = randomizeClassTime(); // Sets the class time
-        this.questions = new ArrayList<>(); // Initialize the questions list
         this.name = setCourseName(courseType); // Set the course name based on type
     }
 
@@ -53,7 +64,17 @@ public class Course {
         return this.name;
     }
 
-    // Method to set the course as passed or not
+    /**
+     * Gets the course type this course was created from.
+     *
+     * @return The course type, 1 to 4.
+     */
+    public int getCourseType() {
+        return this.courseType;
+    }
+
+    // Method to set the course as passed or not, for a course no player has registered yet.
+    // A registered course is marked passed through Player.recordExamResult, which keeps the player's indexes in step.
     public void setPassed(boolean passed) {
         this.passed = passed;
     }
@@ -117,17 +138,13 @@ public class Course {
     }
 
     /**
-     * Getter for the questions list.
+     * Getter for the questions list. The list comes from the shared
+     * QuestionBank and is read-only.
      *
      * @return The list of questions for the course.
      */
     public List<Question> getQuestions() {
-        if (questions.isEmpty()) {
-            Quizzes quizzes = new Quizzes();
-            String filePath = file();
-            questions = quizzes.questionsWithChoices(quizzes.readQuestions(filePath));
-        }
-        return this.questions;
+        return QuestionBank.forFile(file()).getQuestions();
     }
 
     /**
@@ -136,14 +153,25 @@ public class Course {
      * @return The file path for the questions.
      */
     public String file() {
-        switch (this.name) {
-            case "History":
+        return fileFor(this.courseType);
+    }
+
+    /**
+     * Gets the question file for a course type without creating a course, for
+     * example to load banks ahead of time.
+     *
+     * @param courseType An integer representing the course type.
+     * @return The file path for the questions.
+     */
+    public static String fileFor(int courseType) {
+        switch (courseType) {
+            case 1:
                 return "History.txt";
-            case "Math":
+            case 2:
                 return "Math.txt";
-            case "Sports":
+            case 3:
                 return "Sports.txt";
-            case "Computer Science":
+            case 4:
                 return "Computer_Science.txt";
             default:
                 return "Unknown.txt";
@@ -0,0 +1,360 @@
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.BooleanSupplier;
+
+/**
+ * @Class: CourseStore
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/15/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The CourseStore class holds a whole population of simulated players and
+ * their courses in parallel primitive arrays instead of Player, Course and
+ * Professor objects. A course is three bytes (subject, difficulty, class time)
+ * plus a bit in the passed BitSet, stored in a fixed block of slots per player.
+ * The methods follow the rules of Player and ExamSession (registration order,
+ * the single drop and retake options, extra credit, exam scoring and graduation)
+ * on player and course numbers, without string comparisons. A store is not
+ * thread-safe; give each simulation thread its own.
+ */
+public final class CourseStore {
+    // Subjects use the Course course types
+    public static final byte HISTORY = 1;
+    public static final byte MATH = 2;
+    public static final byte SPORTS = 3;
+    public static final byte COMPUTER_SCIENCE = 4;
+    public static final byte EASY = 0;
+    public static final byte HARD = 1;
+    public static final byte NORMAL_TIME = 0;
+    public static final byte EIGHT_AM = 1;
+
+    private static final byte CAN_DROP = 1;
+    private static final byte CAN_RETAKE = 2;
+    private static final byte GAME_WON = 4;
+    private static final byte HAS_DROPPED = 8; // A dropped course is waiting to be re-registered
+
+    private final int slotsPerPlayer; // Most courses one player can have registered at once
+    private int players; // Number of players added
+
+    // Per player
+    private int[] credits;
+    private short[] failedExams;
+    private byte[] flags; // CAN_DROP, CAN_RETAKE, GAME_WON, HAS_DROPPED
+    private int[] courseNumbers; // New courses registered so far, as in Player
+    private short[] courseCounts; // Registered courses in the player's block
+    private short[] passedCounts; // Registered courses that have been passed
+    private byte[] droppedCourses; // The dropped course, packed as subject | difficulty << 3 | passed << 4
+
+    // Per course slot: player * slotsPerPlayer + position
+    private byte[] subjects;
+    private byte[] difficulties;
+    private byte[] times;
+    private final BitSet passed = new BitSet();
+
+    /**
+     * Creates an empty store.
+     *
+     * @param slotsPerPlayer   The most courses a player can have registered at once.
+     * @param expectedPlayers  The number of players to allocate room for up front.
+     */
+    public CourseStore(int slotsPerPlayer, int expectedPlayers) {
+        if (slotsPerPlayer <= 0 || slotsPerPlayer > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Slots per player must be 1 to " + Short.MAX_VALUE + ": " + slotsPerPlayer);
+        }
+        this.slotsPerPlayer = slotsPerPlayer;
+        int capacity = Math.max(expectedPlayers, 1);
+        credits = new int[capacity];
+        failedExams = new short[capacity];
+        flags = new byte[capacity];
+        courseNumbers = new int[capacity];
+        courseCounts = new short[capacity];
+        passedCounts = new short[capacity];
+        droppedCourses = new byte[capacity];
+        subjects = new byte[capacity * slotsPerPlayer];
+        difficulties = new byte[capacity * slotsPerPlayer];
+        times = new byte[capacity * slotsPerPlayer];
+    }
+
+    /**
+     * Adds a player in the state of a new Player: no credits or courses, with the
+     * drop and retake options available.
+     *
+     * @return The new player's number.
+     */
+    public int addPlayer() {
+        if (players == credits.length) {
+            grow();
+        }
+        int player = players++;
+        flags[player] = CAN_DROP | CAN_RETAKE;
+        return player;
+    }
+
+    private void grow() {
+        int capacity = credits.length * 2;
+        credits = Arrays.copyOf(credits, capacity);
+        failedExams = Arrays.copyOf(failedExams, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        courseNumbers = Arrays.copyOf(courseNumbers, capacity);
+        courseCounts = Arrays.copyOf(courseCounts, capacity);
+        passedCounts = Arrays.copyOf(passedCounts, capacity);
+        droppedCourses = Arrays.copyOf(droppedCourses, capacity);
+        subjects = Arrays.copyOf(subjects, capacity * slotsPerPlayer);
+        difficulties = Arrays.copyOf(difficulties, capacity * slotsPerPlayer);
+        times = Arrays.copyOf(times, capacity * slotsPerPlayer);
+    }
+
+    /**
+     * Registers the player's next course, re-registering a dropped course first, as
+     * Player.registerCourse() does.
+     *
+     * @param player        The player number.
+     * @param hardProfessor Chooses the professor of a new course; not called on re-registration.
+     * @return The course's position in the player's course list.
+     */
+    public int registerCourse(int player, BooleanSupplier hardProfessor) {
+        int count = courseCounts[player];
+        if (count == slotsPerPlayer) {
+            throw new IllegalStateException("Player " + player + " has no free course slots");
+        }
+        int slot = slot(player, count);
+        if ((flags[player] & HAS_DROPPED) != 0) {
+            int dropped = droppedCourses[player];
+            flags[player] &= ~HAS_DROPPED;
+            setCourse(slot, (byte) (dropped & 7), (byte) ((dropped >> 3) & 1), (dropped & 16) != 0);
+        } else {
+            int courseNumber = ++courseNumbers[player];
+            setCourse(slot, (byte) ((courseNumber - 1) % 4 + 1), hardProfessor.getAsBoolean() ? HARD : EASY, false);
+        }
+        if (passed.get(slot)) {
+            passedCounts[player]++;
+        }
+        courseCounts[player] = (short) (count + 1);
+        return count;
+    }
+
+    private void setCourse(int slot, byte subject, byte difficulty, boolean isPassed) {
+        subjects[slot] = subject;
+        difficulties[slot] = difficulty;
+        times[slot] = difficulty == HARD ? EIGHT_AM : NORMAL_TIME; // Hard professors teach at 8 AM, as in Course
+        passed.set(slot, isPassed);
+    }
+
+    /**
+     * Uses the drop option on a registered course, as Player.dropCourse() does.
+     * A passed course loses its credits; the course must be re-registered later.
+     *
+     * @param player   The player number.
+     * @param position The course's position in the player's course list.
+     * @return True if the course was dropped.
+     */
+    public boolean dropCourse(int player, int position) {
+        int count = courseCounts[player];
+        if ((flags[player] & CAN_DROP) == 0 || position < 0 || position >= count) {
+            return false;
+        }
+        int slot = slot(player, position);
+        boolean wasPassed = passed.get(slot);
+        droppedCourses[player] = (byte) (subjects[slot] | difficulties[slot] << 3 | (wasPassed ? 16 : 0));
+        flags[player] = (byte) ((flags[player] & ~CAN_DROP) | HAS_DROPPED);
+        if (wasPassed) {
+            passedCounts[player]--;
+            credits[player] = Math.max(credits[player] - GameRules.CREDITS_PER_COURSE, 0);
+        }
+
+        // Close the gap so the block stays in registration order
+        int last = slot(player, count - 1);
+        System.arraycopy(subjects, slot + 1, subjects, slot, last - slot);
+        System.arraycopy(difficulties, slot + 1, difficulties, slot, last - slot);
+        System.arraycopy(times, slot + 1, times, slot, last - slot);
+        for (int s = slot; s < last; s++) {
+            passed.set(s, passed.get(s + 1));
+        }
+        passed.clear(last);
+        courseCounts[player] = (short) (count - 1);
+        return true;
+    }
+
+    /**
+     * Uses up the retake option and finds the first course that has not been
+     * passed, as Player.useRetakeOption() does.
+     *
+     * @param player The player number.
+     * @return The course's position, or -1 if the option is used up or there is none.
+     */
+    public int useRetakeOption(int player) {
+        if ((flags[player] & CAN_RETAKE) == 0) {
+            return -1;
+        }
+        flags[player] &= ~CAN_RETAKE;
+        int first = slot(player, 0);
+        int unpassed = passed.nextClearBit(first);
+        return unpassed < first + courseCounts[player] ? unpassed - first : -1;
+    }
+
+    /**
+     * Gets the extra credit the course's professor gives, without comparing strings.
+     *
+     * @param player   The player number.
+     * @param position The course's position.
+     * @param rules    The game rules.
+     * @return The extra credit, negative for a deduction.
+     */
+    public int getExtraCredit(int player, int position, GameRules rules) {
+        return difficulties[slot(player, position)] == HARD ? rules.getHardExtraCredit() : rules.getEasyExtraCredit();
+    }
+
+    /**
+     * Scores an exam with GameRules.scoreExam(), as ExamSession does.
+     *
+     * @param player     The player number.
+     * @param position   The course's position.
+     * @param rules      The game rules.
+     * @param firstExam  The number of questions right on the first exam.
+     * @param secondExam The number right on the second exam; ignored for easy courses.
+     * @return The final score.
+     */
+    public int scoreExam(int player, int position, GameRules rules, int firstExam, int secondExam) {
+        return rules.scoreExam(difficulties[slot(player, position)] == HARD, firstExam, secondExam);
+    }
+
+    /**
+     * Scores an exam and records its result: a pass marks the course passed and
+     * earns its credits, a fail counts as a failed exam.
+     *
+     * @param player     The player number.
+     * @param position   The course's position.
+     * @param rules      The game rules.
+     * @param firstExam  The number of questions right on the first exam.
+     * @param secondExam The number right on the second exam; ignored for easy courses.
+     * @return True if the exam was passed.
+     */
+    public boolean finishExam(int player, int position, GameRules rules, int firstExam, int secondExam) {
+        boolean pass = rules.isPassing(scoreExam(player, position, rules, firstExam, secondExam));
+        if (pass) {
+            recordExamResult(player, position, true);
+        } else {
+            failedExams[player]++;
+        }
+        return pass;
+    }
+
+    /**
+     * Records an exam result, as Player.recordExamResult() does.
+     *
+     * @param player   The player number.
+     * @param position The course's position.
+     * @param pass     True if the exam was passed.
+     */
+    public void recordExamResult(int player, int position, boolean pass) {
+        if (pass) {
+            int slot = slot(player, position);
+            credits[player] += GameRules.CREDITS_PER_COURSE;
+            if (!passed.get(slot)) {
+                passed.set(slot);
+                passedCounts[player]++;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the player can graduate with GameRules.canGraduate(), as
+     * Player.canGraduate() does.
+     *
+     * @param player The player number.
+     * @return True if the player can graduate.
+     */
+    public boolean canGraduate(int player) {
+        return GameRules.canGraduate(credits[player], passedCounts[player], (flags[player] & HAS_DROPPED) != 0);
+    }
+
+    public void addCredits(int player, int points) {
+        credits[player] += points;
+    }
+
+    public void incrementFailedExams(int player) {
+        failedExams[player]++;
+    }
+
+    public void setGameWon(int player, boolean won) {
+        flags[player] = (byte) (won ? flags[player] | GAME_WON : flags[player] & ~GAME_WON);
+    }
+
+    public boolean isGameWon(int player) {
+        return (flags[player] & GAME_WON) != 0;
+    }
+
+    public int getCredits(int player) {
+        return credits[player];
+    }
+
+    public int getFailedExams(int player) {
+        return failedExams[player];
+    }
+
+    public int getCourseCount(int player) {
+        return courseCounts[player];
+    }
+
+    public int getPassedCourseCount(int player) {
+        return passedCounts[player];
+    }
+
+    public boolean canDrop(int player) {
+        return (flags[player] & CAN_DROP) != 0;
+    }
+
+    public boolean canRetake(int player) {
+        return (flags[player] & CAN_RETAKE) != 0;
+    }
+
+    public boolean hasDroppedCourse(int player) {
+        return (flags[player] & HAS_DROPPED) != 0;
+    }
+
+    public int getSubject(int player, int position) {
+        return subjects[slot(player, position)];
+    }
+
+    public int getDifficulty(int player, int position) {
+        return difficulties[slot(player, position)];
+    }
+
+    public int getTime(int player, int position) {
+        return times[slot(player, position)];
+    }
+
+    public boolean isPassed(int player, int position) {
+        return passed.get(slot(player, position));
+    }
+
+    /**
+     * Gets the number of players in the store.
+     *
+     * @return The player count.
+     */
+    public int size() {
+        return players;
+    }
+
+    /**
+     * Builds a Course object for a stored course, for display or to run a real exam.
+     *
+     * @param player   The player number.
+     * @param position The course's position.
+     * @return A new Course with the stored subject, difficulty and passed flag.
+     */
+    public Course toCourse(int player, int position) {
+        int slot = slot(player, position);
+        Course course = new Course(subjects[slot], new Professor(difficulties[slot] == HARD ? "Hard" : "Easy"));
+        course.setPassed(passed.get(slot));
+        return course;
+    }
+
+    private int slot(int player, int position) {
+        if (player < 0 || player >= players || position < 0 || position >= slotsPerPlayer) {
+            throw new IndexOutOfBoundsException("Player " + player + ", course " + position);
+        }
+        return player * slotsPerPlayer + position;
+    }
+}
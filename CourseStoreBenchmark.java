@@ -0,0 +1,155 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * @Class: CourseStoreBenchmark
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/15/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The CourseStoreBenchmark class builds the same population of players
+ * twice, once as Player and Course objects and once in a CourseStore, checks that
+ * both models agree on every player, then reports the heap used per player and
+ * the time to check graduation across the population.
+ * Run with: java CourseStoreBenchmark [players] [coursesPerPlayer]
+ */
+public class CourseStoreBenchmark {
+    private static final GameRules RULES = GameRules.DEFAULT;
+
+    /**
+     * Runs the benchmark and prints the results.
+     *
+     * @param args Optional player count (default 200000) and courses per player (default 8).
+     */
+    public static void main(String[] args) {
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int coursesPerPlayer = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+
+        long before = usedHeap();
+        List<Player> objects = buildObjects(players, coursesPerPlayer);
+        long objectBytes = usedHeap() - before;
+
+        before = usedHeap();
+        CourseStore store = buildStore(players, coursesPerPlayer);
+        long storeBytes = usedHeap() - before;
+
+        for (int p = 0; p < players; p++) {
+            Player player = objects.get(p);
+            if (player.getCredits() != store.getCredits(p) || player.getFailedExams() != store.getFailedExams(p)
+                    || player.getCourseList().size() != store.getCourseCount(p)
+                    || player.getPassedCourseCount() != store.getPassedCourseCount(p)
+                    || player.canGraduate() != store.canGraduate(p)) {
+                System.err.println("Player " + p + " differs between the object model and the store");
+                System.exit(1);
+            }
+        }
+
+        System.out.println(players + " players, " + coursesPerPlayer + " courses each; both models agree");
+        System.out.printf("%-14s %14s %16s%n", "model", "bytes/player", "canGraduate ns");
+        System.out.printf("%-14s %14.1f %16.2f%n", "objects", (double) objectBytes / players, timeObjects(objects));
+        System.out.printf("%-14s %14.1f %16.2f%n", "CourseStore", (double) storeBytes / players, timeStore(store));
+    }
+
+    /**
+     * Plays the same registrations, exams and drops for each player number in
+     * both models, drawing from a generator seeded by the player number.
+     */
+    private static List<Player> buildObjects(int players, int coursesPerPlayer) {
+        List<Player> objects = new ArrayList<>(players);
+        for (int p = 0; p < players; p++) {
+            SplittableRandom random = new SplittableRandom(p);
+            Player player = new Player();
+            player.setMessageHandler(CourseStoreBenchmark::ignore);
+            player.setCourseFactory(type -> new Course(type, new Professor(random.nextBoolean() ? "Hard" : "Easy")));
+            for (int c = 0; c < coursesPerPlayer; c++) {
+                Course course = player.registerCourse();
+                int first = random.nextInt(RULES.getExamSize() + 1);
+                int second = random.nextInt(RULES.getExamSize() + 1);
+                boolean hard = course.getProfessorDifficulty().equalsIgnoreCase("Hard");
+                if (RULES.isPassing(RULES.scoreExam(hard, first, second))) {
+                    player.recordExamResult(course, true);
+                } else {
+                    player.incrementFailedExams();
+                }
+                if (c == 2) {
+                    player.dropCourse(player.getCourseList().get(0));
+                }
+            }
+            objects.add(player);
+        }
+        return objects;
+    }
+
+    private static CourseStore buildStore(int players, int coursesPerPlayer) {
+        CourseStore store = new CourseStore(coursesPerPlayer, players);
+        for (int p = 0; p < players; p++) {
+            SplittableRandom random = new SplittableRandom(p);
+            int player = store.addPlayer();
+            for (int c = 0; c < coursesPerPlayer; c++) {
+                int position = store.registerCourse(player, random::nextBoolean);
+                int first = random.nextInt(RULES.getExamSize() + 1);
+                int second = random.nextInt(RULES.getExamSize() + 1);
+                store.finishExam(player, position, RULES, first, second);
+                if (c == 2) {
+                    store.dropCourse(player, 0);
+                }
+            }
+        }
+        return store;
+    }
+
+    private static double timeObjects(List<Player> objects) {
+        int graduates = 0;
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < 20; round++) {
+            long start = System.nanoTime();
+            for (Player player : objects) {
+                if (player.canGraduate()) {
+                    graduates++;
+                }
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        sink(graduates);
+        return (double) best / objects.size();
+    }
+
+    private static double timeStore(CourseStore store) {
+        int graduates = 0;
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < 20; round++) {
+            long start = System.nanoTime();
+            for (int p = 0; p < store.size(); p++) {
+                if (store.canGraduate(p)) {
+                    graduates++;
+                }
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        sink(graduates);
+        return (double) best / store.size();
+    }
+
+    /**
+     * Measures the live heap after asking the collector to run until it settles.
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+
+    private static void ignore(String message) {
+    }
+
+    private static void sink(int value) {
+        if (value == Integer.MIN_VALUE) {
+            System.out.println(value);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @Class: DistractorBenchmark
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/5/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The DistractorBenchmark class times Quizzes.questionsWithChoices on large
+ * generated banks, including a degenerate bank where every question has the same
+ * answer. Run with: java DistractorBenchmark [questions]
+ */
+public class DistractorBenchmark {
+
+    /**
+     * Builds the banks, warms up and prints the time per bank and per question.
+     *
+     * @param args Optional number of questions per bank (default 1000000).
+     */
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Map<String, String> distinct = new HashMap<>();
+        Map<String, String> duplicated = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            distinct.put("Question " + i + "?", "Answer " + i);
+            duplicated.put("Question " + i + "?", "Same answer");
+        }
+
+        Quizzes quizzes = new Quizzes();
+        for (int i = 0; i < 3; i++) {
+            quizzes.questionsWithChoices(distinct);
+        }
+
+        System.out.printf("Bank size: %d questions%n", size);
+        run(quizzes, "distinct answers", distinct);
+        run(quizzes, "one shared answer", duplicated);
+    }
+
+    private static void run(Quizzes quizzes, String name, Map<String, String> bank) {
+        long start = System.nanoTime();
+        int count = quizzes.questionsWithChoices(bank).size();
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-18s %8.1f ms  %6.1f ns/question%n", name, elapsed / 1e6, (double) elapsed / count);
+    }
+}
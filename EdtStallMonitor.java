@@ -0,0 +1,99 @@
+import javax.swing.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @Class: EdtStallMonitor
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/16/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The EdtStallMonitor class measures how long the Swing event dispatch
+ * thread is unable to respond. A daemon thread posts a small probe to the event
+ * queue every few milliseconds and records how long each probe waited to run;
+ * the longest wait since the last reset is the worst stall a player could have
+ * seen as a frozen window.
+ */
+public final class EdtStallMonitor implements AutoCloseable {
+    private static final long PROBE_INTERVAL_MILLIS = 5;
+
+    private final AtomicLong worstStallNanos = new AtomicLong();
+    private final AtomicLong probes = new AtomicLong();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    /**
+     * Creates a monitor and starts probing.
+     */
+    public EdtStallMonitor() {
+        thread = new Thread(this::probe, "edt-stall-monitor");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void probe() {
+        while (running) {
+            CountDownLatch ran = new CountDownLatch(1);
+            long posted = System.nanoTime();
+            SwingUtilities.invokeLater(() -> {
+                worstStallNanos.accumulateAndGet(System.nanoTime() - posted, Math::max);
+                probes.incrementAndGet();
+                ran.countDown();
+            });
+            try {
+                // Wait for this probe before posting the next, so a stall is counted once
+                while (running && !ran.await(100, TimeUnit.MILLISECONDS)) {
+                    worstStallNanos.accumulateAndGet(System.nanoTime() - posted, Math::max);
+                }
+                Thread.sleep(PROBE_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets the longest time a probe waited for the event dispatch thread since the
+     * monitor started or was last reset.
+     *
+     * @return The worst stall in milliseconds.
+     */
+    public double getWorstStallMillis() {
+        return worstStallNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Gets the worst stall in nanoseconds, as getWorstStallMillis() does.
+     *
+     * @return The worst stall in nanoseconds.
+     */
+    public long getWorstStallNanos() {
+        return worstStallNanos.get();
+    }
+
+    /**
+     * Gets the number of probes that have run.
+     *
+     * @return The probe count.
+     */
+    public long getProbeCount() {
+        return probes.get();
+    }
+
+    /**
+     * Forgets the worst stall so far, for example at the start of an exam.
+     */
+    public void reset() {
+        worstStallNanos.set(0);
+    }
+
+    /**
+     * Stops probing.
+     */
+    @Override
+    public void close() {
+        running = false;
+        thread.interrupt();
+    }
+}
@@ -1,6 +1,5 @@
 import javax.swing.*;
 import java.util.List;
-import java.util.Collections;
 
 /**
  * @Class: Exam
@@ -9,12 +8,42 @@ import java.util.Collections;
  * @Written: 11/1/2024
  * @Course: CSE 201B: Intro to Software Engineering
  * @Purpose: The Exam class manages the exam process in the MiamiQuest game.
- * It handles fetching questions, conducting the exam, scoring,
- * and determining if the player has passed or failed a course based on exam results.
+ * It presents an ExamSession through Swing dialogs: it shows each question,
+ * collects answers, offers the drop option on hard courses and reports the result.
+ * Fetching questions, scoring and pass/fail rules live in ExamSession.
  */
 public class Exam {
-    private List<Question> questions; // List of questions for the exam
+    public static final int DEFAULT_EXAM_SIZE = 10; // Questions per exam unless configured
+
     private int score; // The player's score for the exam
+    private final int examSize; // Number of questions drawn for each exam
+    private final GameRules rules; // Passing score and extra credit for this exam size
+
+    /**
+     * Creates an exam with the default number of questions.
+     */
+    public Exam() {
+        this(DEFAULT_EXAM_SIZE);
+    }
+
+    /**
+     * Creates an exam that draws the given number of questions.
+     *
+     * @param examSize The number of questions per exam.
+     */
+    public Exam(int examSize) {
+        this.rules = GameRules.forExamSize(examSize);
+        this.examSize = examSize;
+    }
+
+    /**
+     * Gets the lowest score that passes, 60% of the exam size (6 out of 10).
+     *
+     * @return The passing score.
+     */
+    public int getPassingScore() {
+        return rules.getPassingScore();
+    }
 
     /**
      * Starts the exam for the given course and player.
@@ -24,105 +53,68 @@ public class Exam {
      * @return True if the player passes the course, false otherwise.
      */
     public boolean startExam(Course currentCourse, Player player) {
-        Professor professor = currentCourse.getProfessor();
-        this.score = professor.assignExtraCredit();
-
-        // Fetch questions
-        questions = currentCourse.getQuestions();
+        ExamSession session = new ExamSession(currentCourse, player, rules, player.getRandom().forShuffles());
 
-        // Limit to 10 questions
-        if (questions.size() > 10) {
-            questions = questions.subList(0, 10);
-        }
-
-        // Shuffle questions
-        Collections.shuffle(questions);
-
-        // Check the difficulty level of the professor
-        if (currentCourse.getProfessorDifficulty().equalsIgnoreCase("Hard")) {
+        if (session.isHardCourse()) {
             // For hard courses, the player needs to take two exams
             JOptionPane.showMessageDialog(null, "This is a hard course. You need to take two exams.");
+        }
 
-            // Take the first exam
-            int firstExamScore = conductExam(questions, "First Exam");
-
-            JOptionPane.showMessageDialog(null, "You scored " + firstExamScore + " out of 10 on the first exam.");
-
-            // Option to drop the course or continue
-            int choice = JOptionPane.showConfirmDialog(null, "Do you want to drop the course or continue to the second exam?", "Choose an Option", JOptionPane.YES_NO_OPTION, JOptionPane.QUESTION_MESSAGE, null);
-
-            if (choice == JOptionPane.YES_OPTION) {
-                // Player chooses to drop the course
-                player.dropCourse(currentCourse);
-                JOptionPane.showMessageDialog(null, "You have dropped the course.");
-                return false;
-            }
-
-            // Proceed to the second exam
-            int secondExamScore = conductExam(questions, "Second Exam");
-
-            JOptionPane.showMessageDialog(null, "You scored " + secondExamScore + " out of 10 on the second exam.");
-
-            // Calculate the average score
-            double averageScore = (firstExamScore + secondExamScore) / 2.0;
-
-            // Apply extra credit
-            this.score += (int) averageScore;
-
-            JOptionPane.showMessageDialog(null, "Your total average score after extra credit is " + this.score + " out of 10.");
-
-            // Determine pass/fail
-            if (this.score >= 6) {
-                JOptionPane.showMessageDialog(null, "You have passed the " + currentCourse.getName() + " class!");
-                currentCourse.setPassed(true);
-                return true;
+        while (!session.isFinished()) {
+            if (session.getState() == ExamSession.State.QUESTION) {
+                String examTitle = !session.isHardCourse() ? "Exam" : session.getPart() == 1 ? "First Exam" : "Second Exam";
+                conductExam(session, examTitle);
+                if (session.isHardCourse() && session.getState() != ExamSession.State.QUESTION) {
+                    String which = session.getPart() == 1 ? "first" : "second";
+                    JOptionPane.showMessageDialog(null, "You scored " + session.getPartScore(session.getPart()) + " out of " + examSize + " on the " + which + " exam.");
+                }
             } else {
-                JOptionPane.showMessageDialog(null, "You have failed the " + currentCourse.getName() + " class.");
-                player.incrementFailedExams();
-                return false;
+                // Option to drop the course or continue
+                int choice = JOptionPane.showConfirmDialog(null, "Do you want to drop the course or continue to the second exam?", "Choose an Option", JOptionPane.YES_NO_OPTION, JOptionPane.QUESTION_MESSAGE, null);
+
+                if (choice == JOptionPane.YES_OPTION) {
+                    // Player chooses to drop the course
+                    session.drop();
+                    JOptionPane.showMessageDialog(null, "You have dropped the course.");
+                    return false;
+                }
+                session.continueExam();
             }
+        }
 
+        this.score = session.getScore();
+        if (session.isHardCourse()) {
+            JOptionPane.showMessageDialog(null, "Your total average score after extra credit is " + this.score + " out of " + examSize + ".");
         } else {
-            // For easy courses, the player needs to take one exam
-            int examScore = conductExam(questions, "Exam");
-
-            this.score += examScore;
-
-            JOptionPane.showMessageDialog(null, "You scored " + this.score + " out of 10 on the exam.");
+            JOptionPane.showMessageDialog(null, "You scored " + this.score + " out of " + examSize + " on the exam.");
+        }
 
-            // Determine pass/fail
-            if (this.score >= 6) {
-                JOptionPane.showMessageDialog(null, "You have passed the " + currentCourse.getName() + " class!");
-                currentCourse.setPassed(true);
-                return true;
-            } else {
-                JOptionPane.showMessageDialog(null, "You have failed the " + currentCourse.getName() + " class.");
-                player.incrementFailedExams();
-                return false;
-            }
+        // Report pass/fail
+        if (session.isPassed()) {
+            JOptionPane.showMessageDialog(null, "You have passed the " + currentCourse.getName() + " class!");
+            return true;
+        } else {
+            JOptionPane.showMessageDialog(null, "You have failed the " + currentCourse.getName() + " class.");
+            return false;
         }
     }
 
     /**
-     * Conducts the exam by presenting questions via GUI dialogs.
+     * Conducts one exam of the session by presenting its questions via GUI dialogs.
      *
-     * @param questionsWithChoices The list of questions with choices.
-     * @param examTitle            The title of the exam (e.g., "First Exam", "Second Exam").
-     * @return The player's score for the exam.
+     * @param session   The exam session being taken.
+     * @param examTitle The title of the exam (e.g., "First Exam", "Second Exam").
      */
-    private int conductExam(List<Question> questionsWithChoices, String examTitle) {
-        int examScore = 0;
+    private void conductExam(ExamSession session, String examTitle) {
+        int part = session.getPart();
 
-        for (int i = 0; i < questionsWithChoices.size(); i++) {
-            Question question = questionsWithChoices.get(i);
+        while (session.getState() == ExamSession.State.QUESTION && session.getPart() == part) {
+            Question question = session.nextQuestion();
             List<String> choices = question.getChoices();
 
-            // Shuffle choices
-            Collections.shuffle(choices);
-
             // Build question string
             StringBuilder questionText = new StringBuilder();
-            questionText.append(examTitle).append(" - Question ").append(i + 1).append(": ").append(question.getQuestionText()).append("\n\n");
+            questionText.append(examTitle).append(" - Question ").append(session.getQuestionNumber()).append(": ").append(question.getQuestionText()).append("\n\n");
             for (int j = 0; j < choices.size(); j++) {
                 questionText.append((char) ('A' + j)).append(") ").append(choices.get(j)).append("\n");
             }
@@ -132,31 +124,22 @@ public class Exam {
 
             if (userAnswer == null) {
                 JOptionPane.showMessageDialog(null, "Exam cancelled.");
+                session.cancel();
                 break;
             }
 
-            userAnswer = userAnswer.trim().toUpperCase();
-
-            // Check for special answers "MOHAMED" or "MESSI"
-            if (userAnswer.equalsIgnoreCase("MOHAMED") || userAnswer.equalsIgnoreCase("MESSI")) {
-                JOptionPane.showMessageDialog(null, "Correct!");
-                examScore++;
-            } else if (userAnswer.length() == 1 && userAnswer.charAt(0) >= 'A' && userAnswer.charAt(0) <= 'D') {
-                int answerIndex = userAnswer.charAt(0) - 'A';
-                String selectedChoice = choices.get(answerIndex);
-                if (selectedChoice.equals(question.getCorrectAnswer())) {
+            switch (session.submit(userAnswer)) {
+                case CORRECT:
                     JOptionPane.showMessageDialog(null, "Correct!");
-                    examScore++;
-                } else {
+                    break;
+                case INCORRECT:
                     JOptionPane.showMessageDialog(null, "Incorrect. The correct answer was '" + question.getCorrectAnswer() + "'.");
-                }
-            } else {
-                JOptionPane.showMessageDialog(null, "Invalid answer. Please enter A, B, C, D, 'Mohamed', or 'Messi'.");
-                // Repeat the question
-                i--;
+                    break;
+                default:
+                    // The session repeats the question
+                    JOptionPane.showMessageDialog(null, "Invalid answer. Please enter A, B, C, D, 'Mohamed', or 'Messi'.");
+                    break;
             }
         }
-
-        return examScore;
     }
 }
@@ -0,0 +1,140 @@
+import javax.swing.*;
+import java.awt.*;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Class: ExamFlowBenchmark
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/16/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The ExamFlowBenchmark class plays many exams through an ExamPanel by
+ * clicking its buttons, with the question bank cache cleared before each exam so
+ * every exam loads its bank from disk, and reports the worst event dispatch
+ * thread stall measured by an EdtStallMonitor. For comparison it also times
+ * creating the same exams directly, which is what the event dispatch thread used
+ * to do before the first question appeared. The first exam of each run also pays
+ * for class loading and Swing's first layout, so it is reported separately.
+ * Runs headless.
+ * Run with: java ExamFlowBenchmark [exams]
+ */
+public class ExamFlowBenchmark {
+
+    /**
+     * Runs the benchmark and prints the results.
+     *
+     * @param args Optional number of exams (default 200).
+     * @throws Exception If an exam does not finish.
+     */
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        int exams = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        SplittableRandom random = new SplittableRandom(16);
+        SplittableRandom answers = new SplittableRandom(17); // Only used on the event dispatch thread
+
+        // What the event dispatch thread used to wait for before the first question
+        long firstSynchronousNanos = 0;
+        long worstSynchronousNanos = 0;
+        long totalSynchronousNanos = 0;
+        for (int i = 0; i <= exams; i++) {
+            QuestionBank.clear();
+            Player player = newPlayer(random.nextLong());
+            Course course = player.registerCourse();
+            long start = System.nanoTime();
+            new ExamSession(course, player, GameRules.DEFAULT, player.getRandom().forShuffles());
+            long elapsed = System.nanoTime() - start;
+            if (i == 0) {
+                firstSynchronousNanos = elapsed;
+            } else {
+                worstSynchronousNanos = Math.max(worstSynchronousNanos, elapsed);
+                totalSynchronousNanos += elapsed;
+            }
+        }
+
+        ExecutorService worker = Executors.newSingleThreadExecutor();
+        ExamPanel[] panel = new ExamPanel[1];
+        SwingUtilities.invokeAndWait(() -> {
+            panel[0] = new ExamPanel(worker);
+            panel[0].setStepListener(step -> SwingUtilities.invokeLater(() -> play(panel[0], step, answers)));
+        });
+
+        try (EdtStallMonitor monitor = new EdtStallMonitor()) {
+            Thread.sleep(50); // Let the first probes run before measuring
+            monitor.reset();
+            playExam(panel[0], random.nextLong(), 0);
+            double firstStall = monitor.getWorstStallMillis();
+            monitor.reset();
+            long start = System.nanoTime();
+            for (int i = 1; i <= exams; i++) {
+                playExam(panel[0], random.nextLong(), i);
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("%d exams through ExamPanel in %.2f s, cold bank load for every exam%n", exams, seconds);
+            System.out.printf("Worst EDT stall with the panel:              %8.2f ms (%d probes); first exam %.2f ms%n",
+                    monitor.getWorstStallMillis(), monitor.getProbeCount(), firstStall);
+            System.out.printf("Exam setup on the caller thread, worst/mean: %8.2f ms / %.2f ms; first exam %.2f ms%n",
+                    worstSynchronousNanos / 1e6, totalSynchronousNanos / 1e6 / exams, firstSynchronousNanos / 1e6);
+        } finally {
+            worker.shutdown();
+        }
+    }
+
+    /**
+     * Starts an exam for a new player with a cold bank cache and waits until the
+     * step listener has played it through and closed the result.
+     */
+    private static void playExam(ExamPanel panel, long seed, int exam) throws Exception {
+        QuestionBank.clear();
+        Player player = newPlayer(seed);
+        CountDownLatch finished = new CountDownLatch(1);
+        SwingUtilities.invokeAndWait(() ->
+                panel.start(player.registerCourse(), player, GameRules.DEFAULT, session -> finished.countDown()));
+        if (!finished.await(30, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Exam " + exam + " did not finish");
+        }
+    }
+
+    private static Player newPlayer(long seed) {
+        Player player = new Player();
+        player.setRandom(new GameRandom(seed));
+        player.setMessageHandler(message -> { });
+        return player;
+    }
+
+    /**
+     * Reacts to a rendered step the way a player would: answers a random choice,
+     * continues after the first exam of a hard course, and closes the result.
+     */
+    private static void play(ExamPanel panel, ExamPanel.Step step, SplittableRandom random) {
+        switch (step.state) {
+            case QUESTION:
+                String letter = String.valueOf((char) ('A' + random.nextInt(step.question.getChoices().size())));
+                click(panel, letter + ")");
+                break;
+            case DROP_DECISION:
+                click(panel, "Continue");
+                break;
+            default:
+                click(panel, "Close");
+                break;
+        }
+    }
+
+    private static boolean click(Container container, String textPrefix) {
+        for (Component component : container.getComponents()) {
+            if (component instanceof JButton && component.isVisible() && ((JButton) component).getText().startsWith(textPrefix)) {
+                ((JButton) component).doClick(0);
+                return true;
+            }
+            if (component instanceof Container && click((Container) component, textPrefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
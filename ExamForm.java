@@ -0,0 +1,73 @@
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * @Class: ExamForm
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/6/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The ExamForm class draws the questions for one exam from a course's
+ * question bank. It picks K questions uniformly at random using Floyd's sampling
+ * algorithm, which needs O(K) time and memory whatever the bank size, and it never
+ * copies or reorders the shared bank.
+ */
+public final class ExamForm {
+
+    private ExamForm() {
+    }
+
+    /**
+     * Picks up to the given number of distinct questions from the bank, in random order.
+     *
+     * @param bank   The shared question bank; it is only read.
+     * @param size   The number of questions wanted on the form.
+     * @param random The random generator to draw with.
+     * @return A new list holding min(size, bank size) questions.
+     */
+    public static List<Question> sample(List<Question> bank, int size, Random random) {
+        int[] indices = sampleIndices(bank.size(), size, random);
+        List<Question> form = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            form.add(bank.get(index));
+        }
+        return form;
+    }
+
+    /**
+     * Picks up to the given number of distinct positions in a bank, in random order.
+     *
+     * @param bankSize The number of questions in the bank.
+     * @param size     The number of questions wanted on the form.
+     * @param random   The random generator to draw with.
+     * @return min(size, bankSize) distinct indices into the bank.
+     */
+    public static int[] sampleIndices(int bankSize, int size, Random random) {
+        int k = Math.max(0, Math.min(size, bankSize));
+        Set<Integer> picked = new HashSet<>(k * 2);
+        int[] form = new int[k];
+
+        // Floyd's algorithm: each j adds one new index, chosen uniformly among the unpicked ones
+        int count = 0;
+        for (int j = bankSize - k; j < bankSize; j++) {
+            int t = random.nextInt(j + 1);
+            int index = picked.add(t) ? t : j;
+            if (index == j) {
+                picked.add(j);
+            }
+            form[count++] = index;
+        }
+
+        // Floyd's draw is not in uniform order, so shuffle the small form itself
+        for (int i = k - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = form[i];
+            form[i] = form[j];
+            form[j] = swap;
+        }
+        return form;
+    }
+}
@@ -0,0 +1,315 @@
+import javax.swing.*;
+import java.awt.*;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * @Class: ExamPanel
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/16/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The ExamPanel class shows an ExamSession inside the game window instead
+ * of a chain of modal dialogs. Loading the question bank, drawing the exam form and
+ * submitting answers run on a background worker; the panel only renders the
+ * result of each step on the event dispatch thread, so the window keeps painting
+ * and the event dispatch thread never touches the question files.
+ */
+public class ExamPanel extends JPanel {
+    private static final long serialVersionUID = 1L;
+
+    private final Executor worker; // Runs every ExamSession call, one at a time
+    private final Executor edt = SwingUtilities::invokeLater;
+
+    private final JLabel titleLabel = new JLabel(" ");
+    private final JTextArea questionArea = new JTextArea(4, 40);
+    private final JPanel choicePanel = new JPanel(new GridLayout(0, 1, 4, 4));
+    private final JTextField answerField = new JTextField(10);
+    private final JButton submitButton = new JButton("Submit");
+    private final JButton cancelButton = new JButton("Cancel Exam");
+    private final JButton dropButton = new JButton("Drop Course");
+    private final JButton continueButton = new JButton("Continue to Second Exam");
+    private final JButton closeButton = new JButton("Close");
+    private final JLabel feedbackLabel = new JLabel(" ");
+
+    private ExamSession session; // Set and driven on the worker; the event dispatch thread only hands it to onFinished
+    private Consumer<ExamSession> onFinished; // Called on the event dispatch thread when the player closes the result
+    private Consumer<Step> stepListener; // Sees each rendered step, for tests and benchmarks
+    private boolean busy; // A worker task is running; input is ignored until it renders
+
+    /**
+     * Creates an empty, hidden exam panel.
+     *
+     * @param worker The executor that runs exam work; it must run tasks one at a time.
+     */
+    public ExamPanel(Executor worker) {
+        super(new BorderLayout(8, 8));
+        this.worker = worker;
+        setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        setVisible(false);
+
+        titleLabel.setFont(titleLabel.getFont().deriveFont(Font.BOLD, 16f));
+        questionArea.setEditable(false);
+        questionArea.setLineWrap(true);
+        questionArea.setWrapStyleWord(true);
+        questionArea.setFont(new Font("Monospaced", Font.PLAIN, 14));
+
+        JPanel answerRow = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        answerRow.add(new JLabel("Answer:"));
+        answerRow.add(answerField);
+        answerRow.add(submitButton);
+        answerRow.add(cancelButton);
+        answerRow.add(dropButton);
+        answerRow.add(continueButton);
+        answerRow.add(closeButton);
+
+        JPanel south = new JPanel(new BorderLayout());
+        south.add(answerRow, BorderLayout.NORTH);
+        south.add(feedbackLabel, BorderLayout.SOUTH);
+
+        JPanel center = new JPanel(new BorderLayout(8, 8));
+        center.add(questionArea, BorderLayout.CENTER);
+        center.add(choicePanel, BorderLayout.SOUTH);
+
+        add(titleLabel, BorderLayout.NORTH);
+        add(center, BorderLayout.CENTER);
+        add(south, BorderLayout.SOUTH);
+
+        submitButton.addActionListener(e -> answer(answerField.getText()));
+        answerField.addActionListener(e -> answer(answerField.getText()));
+        cancelButton.addActionListener(e -> run(() -> {
+            session.cancel();
+            return Step.of(session, null, "Exam cancelled.");
+        }));
+        dropButton.addActionListener(e -> run(() -> {
+            session.drop();
+            return Step.of(session, null, "You have dropped the course.");
+        }));
+        continueButton.addActionListener(e -> run(() -> {
+            session.continueExam();
+            return Step.of(session, null, " ");
+        }));
+        closeButton.addActionListener(e -> close());
+    }
+
+    /**
+     * Starts an exam. The panel shows a loading message while the worker loads the
+     * bank and draws the form, then shows the first question. Must be called on the
+     * event dispatch thread.
+     *
+     * @param course     The course being examined.
+     * @param player     The player taking the exam.
+     * @param rules      The exam rules.
+     * @param onFinished Called on the event dispatch thread when the player closes the
+     *                   result, with the finished session, or null if the exam failed to load.
+     */
+    public void start(Course course, Player player, GameRules rules, Consumer<ExamSession> onFinished) {
+        if (session != null || busy) {
+            throw new IllegalStateException("An exam is already in progress.");
+        }
+        this.onFinished = onFinished;
+        titleLabel.setText(course.getName() + " Exam");
+        questionArea.setText("Loading questions...");
+        feedbackLabel.setText(" ");
+        choicePanel.removeAll();
+        showControls(false, false, false);
+        setVisible(true);
+        run(() -> {
+            session = new ExamSession(course, player, rules, player.getRandom().forShuffles());
+            return Step.of(session, null, session.isHardCourse() ? "This is a hard course. You need to take two exams." : " ");
+        });
+    }
+
+    /**
+     * Checks whether an exam is open in the panel.
+     *
+     * @return True from start() until the player closes the result.
+     */
+    public boolean isExamOpen() {
+        return isVisible();
+    }
+
+    /**
+     * Sets a listener that sees every step after it is rendered.
+     *
+     * @param stepListener The listener, called on the event dispatch thread, or null.
+     */
+    void setStepListener(Consumer<Step> stepListener) {
+        this.stepListener = stepListener;
+    }
+
+    private void answer(String answer) {
+        run(() -> {
+            Question question = session.nextQuestion();
+            ExamSession.Outcome outcome = session.submit(answer);
+            String feedback;
+            switch (outcome) {
+                case CORRECT:
+                    feedback = "Correct!";
+                    break;
+                case INCORRECT:
+                    feedback = "Incorrect. The correct answer was '" + question.getCorrectAnswer() + "'.";
+                    break;
+                default:
+                    feedback = "Invalid answer. Please enter A, B, C, D, 'Mohamed', or 'Messi'.";
+                    break;
+            }
+            return Step.of(session, outcome, feedback);
+        });
+    }
+
+    /**
+     * Runs one exam action on the worker and renders its step on the event
+     * dispatch thread. Input is ignored until the step is shown.
+     */
+    private void run(Supplier<Step> action) {
+        if (busy) {
+            return;
+        }
+        busy = true;
+        setInputEnabled(false);
+        CompletableFuture.supplyAsync(action, worker).whenCompleteAsync((step, error) -> {
+            busy = false;
+            if (error != null) {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                questionArea.setText("The exam could not continue: " + cause.getMessage());
+                session = null;
+                showControls(false, false, true);
+                return;
+            }
+            render(step);
+        }, edt);
+    }
+
+    /**
+     * Shows a step. Runs on the event dispatch thread and only reads the step.
+     */
+    private void render(Step step) {
+        String examTitle = !step.hardCourse ? "Exam" : step.part == 1 ? "First Exam" : "Second Exam";
+        String feedback = step.feedback;
+        if (step.partEnded && step.hardCourse) {
+            String which = step.part == 1 ? "first" : "second";
+            feedback += "  You scored " + step.partScore + " out of " + step.examSize + " on the " + which + " exam.";
+        }
+        feedbackLabel.setText(feedback);
+        choicePanel.removeAll();
+
+        switch (step.state) {
+            case QUESTION:
+                titleLabel.setText(step.courseName + " - " + examTitle);
+                questionArea.setText("Question " + step.questionNumber + ": " + step.question.getQuestionText());
+                List<String> choices = step.question.getChoices();
+                for (int i = 0; i < choices.size(); i++) {
+                    String letter = String.valueOf((char) ('A' + i));
+                    JButton choice = new JButton(letter + ") " + choices.get(i));
+                    choice.setHorizontalAlignment(SwingConstants.LEFT);
+                    choice.addActionListener(e -> answer(letter));
+                    choicePanel.add(choice);
+                }
+                answerField.setText("");
+                showControls(true, false, false);
+                break;
+            case DROP_DECISION:
+                questionArea.setText("Do you want to drop the course or continue to the second exam?");
+                showControls(false, true, false);
+                break;
+            default:
+                if (step.dropped) {
+                    questionArea.setText("You have dropped the course.");
+                } else {
+                    String scoreLine = step.hardCourse
+                            ? "Your total average score after extra credit is " + step.score + " out of " + step.examSize + "."
+                            : "You scored " + step.score + " out of " + step.examSize + " on the exam.";
+                    String result = step.passed
+                            ? "You have passed the " + step.courseName + " class!"
+                            : "You have failed the " + step.courseName + " class.";
+                    questionArea.setText(scoreLine + "\n" + result);
+                }
+                showControls(false, false, true);
+                break;
+        }
+        revalidate();
+        repaint();
+        if (stepListener != null) {
+            stepListener.accept(step);
+        }
+    }
+
+    private void showControls(boolean question, boolean decision, boolean finished) {
+        answerField.setVisible(question);
+        submitButton.setVisible(question);
+        cancelButton.setVisible(question);
+        dropButton.setVisible(decision);
+        continueButton.setVisible(decision);
+        closeButton.setVisible(finished);
+        setInputEnabled(true);
+    }
+
+    private void setInputEnabled(boolean enabled) {
+        for (Component button : choicePanel.getComponents()) {
+            button.setEnabled(enabled);
+        }
+        answerField.setEnabled(enabled);
+        submitButton.setEnabled(enabled);
+        cancelButton.setEnabled(enabled);
+        dropButton.setEnabled(enabled);
+        continueButton.setEnabled(enabled);
+    }
+
+    private void close() {
+        ExamSession finished = session;
+        session = null;
+        setVisible(false);
+        if (onFinished != null) {
+            onFinished.accept(finished);
+        }
+    }
+
+    /**
+     * Everything the panel shows about one step of the exam, captured on the worker
+     * so the event dispatch thread never reads the live session.
+     */
+    static final class Step {
+        final ExamSession.State state;
+        final ExamSession.Outcome outcome; // Null if the step was not an answer
+        final String courseName;
+        final boolean hardCourse;
+        final int part;
+        final int questionNumber;
+        final Question question; // Null unless the state is QUESTION
+        final int examSize;
+        final boolean partEnded; // The step finished the current exam (part)
+        final int partScore; // Raw score of the current exam
+        final int score;
+        final boolean passed;
+        final boolean dropped;
+        final String feedback;
+
+        private Step(ExamSession session, ExamSession.Outcome outcome, String feedback) {
+            this.state = session.getState();
+            this.outcome = outcome;
+            this.courseName = session.getCourse().getName();
+            this.hardCourse = session.isHardCourse();
+            this.part = session.getPart();
+            this.questionNumber = session.getQuestionNumber();
+            this.question = session.nextQuestion();
+            this.examSize = session.getExamSize();
+            this.partEnded = state != ExamSession.State.QUESTION && !session.isDropped();
+            this.partScore = session.getPartScore(part);
+            this.score = session.getScore();
+            this.passed = session.isPassed();
+            this.dropped = session.isDropped();
+            this.feedback = feedback;
+        }
+
+        /**
+         * Captures the session after an action. Must run on the worker.
+         */
+        static Step of(ExamSession session, ExamSession.Outcome outcome, String feedback) {
+            return new Step(session, outcome, feedback);
+        }
+    }
+}
@@ -0,0 +1,497 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @Class: ExamSession
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/7/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The ExamSession class runs the exam for one course as a headless state
+ * machine. A caller asks for the next question, submits answers, decides whether
+ * to drop or continue after the first exam of a hard course, and reads the final
+ * result. It has no user interface, so the Swing client, servers and simulations
+ * can all drive it. Exams report to GameMetrics, QuestionStats and the flight
+ * recorder unless they are started unrecorded, as simulated games are.
+ */
+public class ExamSession {
+
+    /**
+     * The step the session is waiting on.
+     */
+    public enum State {
+        QUESTION, // Waiting for an answer to the current question
+        DROP_DECISION, // Hard course: waiting for drop or continue after the first exam
+        FINISHED // The course has been passed, failed or dropped
+    }
+
+    /**
+     * The result of submitting one answer.
+     */
+    public enum Outcome {
+        CORRECT,
+        INCORRECT,
+        INVALID // Not a choice letter; the same question is asked again
+    }
+
+    // Special answers that are always correct, in any case
+    private static final String MOHAMED = "Mohamed";
+    private static final String MESSI = "Messi";
+
+    private final Course course; // The course being examined
+    private final Player player; // The player taking the exam
+    private final Random random; // Source for choice shuffling
+    private final List<Question> bank; // The course's shared question bank
+    private final int[] form; // Positions in the bank of the questions drawn for this exam
+    private final boolean hardCourse; // Hard courses take two exams
+    private final GameRules rules; // Exam size, passing score and extra credit
+
+    private State state;
+    private int part; // 1 for the first exam, 2 for the second
+    private int index; // Position of the current question in the exam
+    private Question current; // Current question with its choices in display order
+    private int[] choiceOrder; // Bank position of each shown choice of the current question
+    private long shownAt; // System.nanoTime() when the current question became current
+    private final int[] partScores = new int[2]; // Raw score of each exam
+    private int score; // Extra credit plus the exam score(s)
+    private boolean passed;
+    private boolean dropped;
+    private final boolean recorded; // Whether the exam reports to GameMetrics, QuestionStats and the flight recorder
+    private final GameEvents.ExamTaken examEvent; // Flight recorder event spanning the whole exam, if recorded
+    private GameEvents.QuestionAnswered answerEvent; // Flight recorder event for the current question
+
+    /**
+     * Starts an exam session for a course. The professor's extra credit is applied
+     * immediately and the first question becomes current.
+     *
+     * @param course   The course for which the exam is being taken.
+     * @param player   The player taking the exam.
+     * @param examSize The number of questions per exam.
+     * @param random   The random generator for question and choice order.
+     */
+    public ExamSession(Course course, Player player, int examSize, Random random) {
+        this(course, player, GameRules.forExamSize(examSize), random);
+    }
+
+    /**
+     * Starts an exam session for a course under the given rules.
+     *
+     * @param course The course for which the exam is being taken.
+     * @param player The player taking the exam.
+     * @param rules  The rules for exam size, passing score and extra credit.
+     * @param random The random generator for question and choice order.
+     */
+    public ExamSession(Course course, Player player, GameRules rules, Random random) {
+        this(course, player, rules, random, true);
+    }
+
+    /**
+     * Starts an exam session for a course under the given rules, optionally
+     * leaving the process-wide metrics, question statistics and flight recorder
+     * alone, so simulated games do not show up as real play.
+     *
+     * @param course   The course for which the exam is being taken.
+     * @param player   The player taking the exam.
+     * @param rules    The rules for exam size, passing score and extra credit.
+     * @param random   The random generator for question and choice order.
+     * @param recorded Whether to report the exam and its answers.
+     */
+    public ExamSession(Course course, Player player, GameRules rules, Random random, boolean recorded) {
+        GameEvents.ExamSetup setup = recorded ? new GameEvents.ExamSetup() : null;
+        if (recorded) {
+            setup.begin();
+        }
+        this.recorded = recorded;
+        this.examEvent = recorded ? new GameEvents.ExamTaken() : null;
+        if (recorded) {
+            examEvent.begin();
+        }
+        this.course = course;
+        this.player = player;
+        this.random = random;
+        this.rules = rules;
+        this.score = course.getProfessor().assignExtraCredit(rules);
+        this.bank = course.getQuestions();
+        this.form = ExamForm.sampleIndices(bank.size(), rules.getExamSize(), random);
+        this.hardCourse = course.getProfessorDifficulty().equalsIgnoreCase("Hard");
+        this.part = 1;
+        if (recorded) {
+            GameMetrics.get().examStarted();
+        }
+        beginPart();
+        if (recorded) {
+            setup.end();
+        }
+        if (recorded && setup.shouldCommit()) {
+            setup.subject = course.getName();
+            setup.difficulty = course.getProfessorDifficulty();
+            setup.bankSize = bank.size();
+            setup.examSize = form.length;
+            setup.commit();
+        }
+    }
+
+    /**
+     * Recreates a saved session at the position it was saved, for GameSnapshot.
+     */
+    ExamSession(Course course, Player player, GameRules rules, Random random, int[] form, State state, int part,
+                int index, int[] partScores, int score, boolean passed, boolean dropped, int[] choiceOrder) {
+        this.recorded = true;
+        this.examEvent = new GameEvents.ExamTaken();
+        examEvent.begin();
+        this.course = course;
+        this.player = player;
+        this.random = random;
+        this.rules = rules;
+        this.bank = course.getQuestions();
+        this.form = form;
+        this.hardCourse = course.getProfessorDifficulty().equalsIgnoreCase("Hard");
+        this.state = state;
+        this.part = part;
+        this.index = index;
+        this.partScores[0] = partScores[0];
+        this.partScores[1] = partScores[1];
+        this.score = score;
+        this.passed = passed;
+        this.dropped = dropped;
+        if (state == State.QUESTION) {
+            this.choiceOrder = choiceOrder.clone();
+            current = showChoices(bank.get(form[index]));
+            shownAt = System.nanoTime();
+            answerEvent = new GameEvents.QuestionAnswered();
+            answerEvent.begin();
+        }
+    }
+
+    /**
+     * Gets the current question, with its choices in the order they should be shown.
+     *
+     * @return The current question, or null if the session is not waiting for an answer.
+     */
+    public Question nextQuestion() {
+        return state == State.QUESTION ? current : null;
+    }
+
+    /**
+     * Submits an answer to the current question. An answer is a choice letter
+     * (A, B, ...) or one of the special answers "Mohamed" or "Messi".
+     *
+     * @param answer The player's answer.
+     * @return Whether the answer was correct, incorrect or invalid.
+     */
+    public Outcome submit(String answer) {
+        requireState(State.QUESTION);
+        Outcome outcome;
+
+        int choice;
+        if (isSpecialAnswer(answer)) {
+            choice = -1;
+            outcome = Outcome.CORRECT;
+        } else {
+            choice = choiceIndex(answer, current.getChoices().size());
+            if (choice < 0) {
+                return Outcome.INVALID;
+            }
+            outcome = current.isCorrectChoice(choice) ? Outcome.CORRECT : Outcome.INCORRECT;
+        }
+
+        long answerNanos = System.nanoTime() - shownAt;
+        if (recorded) {
+            long questionId = QuestionStats.get().record(course.file(), bank.get(form[index]), choice < 0 ? -1 : choiceOrder[choice],
+                    outcome == Outcome.CORRECT, answerNanos);
+            GameMetrics.get().answered(questionId, answerNanos);
+        }
+        commitAnswer(outcome == Outcome.CORRECT);
+        if (outcome == Outcome.CORRECT) {
+            partScores[part - 1]++;
+        }
+        index++;
+        nextOrEndPart();
+        return outcome;
+    }
+
+    /**
+     * Checks for one of the special answers, trimmed and ignoring case as the
+     * original exam did.
+     */
+    private static boolean isSpecialAnswer(String answer) {
+        if (answer == null) {
+            return false;
+        }
+        String trimmed = answer.trim();
+        return trimmed.equalsIgnoreCase(MOHAMED) || trimmed.equalsIgnoreCase(MESSI);
+    }
+
+    /**
+     * Reads a choice letter, ignoring case and surrounding whitespace.
+     *
+     * @return The choice index, or -1 if the answer is not one of the choice letters.
+     */
+    private static int choiceIndex(String answer, int choiceCount) {
+        if (answer == null) {
+            return -1;
+        }
+        int letter = -1;
+        for (int i = 0; i < answer.length(); i++) {
+            char c = answer.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            if (letter >= 0) {
+                return -1; // More than one character
+            }
+            letter = Character.toUpperCase(c) - 'A';
+            if (letter < 0 || letter >= choiceCount) {
+                return -1;
+            }
+        }
+        return letter;
+    }
+
+    /**
+     * Cancels the rest of the current exam. Questions answered so far still count.
+     */
+    public void cancel() {
+        requireState(State.QUESTION);
+        endPart();
+    }
+
+    /**
+     * Drops the course after the first exam of a hard course.
+     */
+    public void drop() {
+        requireState(State.DROP_DECISION);
+        player.dropCourse(course);
+        dropped = true;
+        state = State.FINISHED;
+        if (recorded) {
+            GameMetrics.get().examFinished(course.getCourseType(), hardCourse, GameMetrics.DROPPED);
+        }
+        commitExam("dropped");
+    }
+
+    /**
+     * Continues to the second exam of a hard course.
+     */
+    public void continueExam() {
+        requireState(State.DROP_DECISION);
+        part = 2;
+        beginPart();
+    }
+
+    private void beginPart() {
+        index = 0;
+        nextOrEndPart();
+    }
+
+    private void nextOrEndPart() {
+        if (index < form.length) {
+            Question question = bank.get(form[index]);
+            choiceOrder = new int[question.getChoices().size()];
+            for (int i = 0; i < choiceOrder.length; i++) {
+                choiceOrder[i] = i;
+            }
+            // The same swaps as Collections.shuffle, so recorded seeds still replay
+            for (int i = choiceOrder.length; i > 1; i--) {
+                int j = random.nextInt(i);
+                int swapped = choiceOrder[i - 1];
+                choiceOrder[i - 1] = choiceOrder[j];
+                choiceOrder[j] = swapped;
+            }
+            current = showChoices(question);
+            shownAt = System.nanoTime();
+            if (recorded) {
+                answerEvent = new GameEvents.QuestionAnswered();
+                answerEvent.begin();
+            }
+            state = State.QUESTION;
+        } else {
+            endPart();
+        }
+    }
+
+    /**
+     * Copies a bank question with its choices in the order of choiceOrder.
+     */
+    private Question showChoices(Question question) {
+        List<String> choices = new ArrayList<>(choiceOrder.length);
+        for (int i : choiceOrder) {
+            choices.add(question.getChoices().get(i));
+        }
+        return question.withChoices(choices);
+    }
+
+    private void endPart() {
+        current = null;
+        choiceOrder = null;
+        if (hardCourse && part == 1) {
+            state = State.DROP_DECISION;
+        } else {
+            finish();
+        }
+    }
+
+    private void finish() {
+        score = rules.scoreExam(hardCourse, partScores[0], partScores[1]);
+        passed = rules.isPassing(score);
+        if (!passed) {
+            player.incrementFailedExams();
+        }
+        state = State.FINISHED;
+        if (recorded) {
+            GameMetrics.get().examFinished(course.getCourseType(), hardCourse, passed ? GameMetrics.PASSED : GameMetrics.FAILED);
+        }
+        commitExam(passed ? "passed" : "failed");
+    }
+
+    /**
+     * Records the answered question in the flight recorder, if a recording wants it.
+     */
+    private void commitAnswer(boolean correct) {
+        if (!recorded) {
+            return;
+        }
+        answerEvent.end();
+        if (answerEvent.shouldCommit()) {
+            answerEvent.subject = course.getName();
+            answerEvent.difficulty = course.getProfessorDifficulty();
+            answerEvent.part = part;
+            answerEvent.questionNumber = index + 1;
+            answerEvent.correct = correct;
+            answerEvent.commit();
+        }
+        answerEvent = null;
+    }
+
+    /**
+     * Records the finished exam in the flight recorder, if a recording wants it.
+     */
+    private void commitExam(String outcome) {
+        if (!recorded) {
+            return;
+        }
+        examEvent.end();
+        if (examEvent.shouldCommit()) {
+            examEvent.subject = course.getName();
+            examEvent.difficulty = course.getProfessorDifficulty();
+            examEvent.bankSize = bank.size();
+            examEvent.examSize = form.length;
+            examEvent.outcome = outcome;
+            examEvent.score = score;
+            examEvent.commit();
+        }
+    }
+
+    private void requireState(State expected) {
+        if (state != expected) {
+            throw new IllegalStateException("Exam session is " + state + ", not " + expected);
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public boolean isFinished() {
+        return state == State.FINISHED;
+    }
+
+    public Course getCourse() {
+        return course;
+    }
+
+    public boolean isHardCourse() {
+        return hardCourse;
+    }
+
+    /**
+     * Gets the exam currently being taken: 1 for the first exam, 2 for the second.
+     *
+     * @return The exam number.
+     */
+    public int getPart() {
+        return part;
+    }
+
+    /**
+     * Gets the 1-based number of the current question within its exam.
+     *
+     * @return The question number.
+     */
+    public int getQuestionNumber() {
+        return index + 1;
+    }
+
+    public int getExamSize() {
+        return rules.getExamSize();
+    }
+
+    public GameRules getRules() {
+        return rules;
+    }
+
+    /**
+     * Gets the positions in the course's bank of the questions on this exam.
+     *
+     * @return The form's bank indices, in exam order.
+     */
+    int[] getForm() {
+        return form.clone();
+    }
+
+    /**
+     * Gets the bank the form's indices refer to, as it was when the exam began.
+     *
+     * @return The exam's question bank.
+     */
+    List<Question> getBank() {
+        return bank;
+    }
+
+    /**
+     * Gets the 0-based position of the current question within its exam.
+     *
+     * @return The question index.
+     */
+    int getQuestionIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the order the current question's choices are shown in, as positions in
+     * the bank question's choice list.
+     *
+     * @return The choice order, or an empty array if no question is current.
+     */
+    int[] getChoiceOrder() {
+        return choiceOrder == null ? new int[0] : choiceOrder.clone();
+    }
+
+    /**
+     * Gets the raw score of one exam, without extra credit.
+     *
+     * @param examNumber 1 for the first exam, 2 for the second.
+     * @return The number of correct answers in that exam.
+     */
+    public int getPartScore(int examNumber) {
+        return partScores[examNumber - 1];
+    }
+
+    /**
+     * Gets the final score including extra credit. Only meaningful once finished.
+     *
+     * @return The final score.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    public boolean isPassed() {
+        return passed;
+    }
+
+    public boolean isDropped() {
+        return dropped;
+    }
+}
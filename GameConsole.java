@@ -0,0 +1,236 @@
+import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @Class: GameConsole
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/16/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The GameConsole class is the read-only text console of the game window.
+ * It keeps the most recent lines in a fixed-size ring buffer, so its memory stays
+ * the same however long the game runs, and paints only the rows that are visible.
+ * append() can be called from any thread: text is queued and added on the event
+ * dispatch thread at most once per frame, followed by a single repaint.
+ */
+public class GameConsole extends JComponent implements Scrollable {
+    private static final long serialVersionUID = 1L;
+    public static final int DEFAULT_CAPACITY = 5000; // Lines kept before the oldest are discarded
+    private static final int MAX_LINE_LENGTH = 1000; // Longer lines are wrapped
+    private static final int FRAME_MILLIS = 16; // Appends are applied at most this often
+
+    private final String[] lines; // Ring buffer of lines; the newest line is still open for appends
+    private int first; // Index of the oldest line
+    private int count; // Number of lines in the buffer, including the open line
+    private final StringBuilder openLine = new StringBuilder(); // Text of the newest line
+    private int widestLine; // Longest line seen since the last clear, in characters
+    private final ConcurrentLinkedQueue<String> pending = new ConcurrentLinkedQueue<>(); // Text appended since the last frame
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final Timer flushTimer;
+
+    /**
+     * Creates a console that keeps the default number of lines.
+     */
+    public GameConsole() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a console that keeps the given number of lines.
+     *
+     * @param capacity The number of lines kept before the oldest are discarded.
+     */
+    public GameConsole(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        lines = new String[capacity];
+        count = 1; // The empty open line
+        lines[0] = "";
+        flushTimer = new Timer(FRAME_MILLIS, e -> flush());
+        flushTimer.setRepeats(false);
+        setFont(new Font("Monospaced", Font.PLAIN, 14));
+        setOpaque(true);
+        setBackground(UIManager.getColor("TextArea.background"));
+        setForeground(UIManager.getColor("TextArea.foreground"));
+        setBorder(BorderFactory.createEmptyBorder(2, 4, 2, 4));
+    }
+
+    /**
+     * Appends text to the console, as JTextArea.append() does. Safe to call from
+     * any thread; the text appears on the next frame.
+     *
+     * @param text The text to append; '\n' starts a new line.
+     */
+    public void append(String text) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        pending.add(text);
+        if (flushScheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(flushTimer::restart);
+        }
+    }
+
+    /**
+     * Removes all text, including text appended but not yet shown. Must be called
+     * on the event dispatch thread.
+     */
+    public void clear() {
+        pending.clear();
+        first = 0;
+        count = 1;
+        lines[0] = "";
+        openLine.setLength(0);
+        widestLine = 0;
+        revalidate();
+        repaint();
+    }
+
+    /**
+     * Gets the text currently held by the console, oldest line first.
+     *
+     * @return The console text, lines separated by '\n'.
+     */
+    public String getText() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(i > 0 ? "\n" : "").append(line(i));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Gets the number of lines held, including the last, possibly empty, line.
+     *
+     * @return The line count.
+     */
+    public int getLineCount() {
+        return count;
+    }
+
+    /**
+     * Applies every queued append, then resizes and repaints once. Runs on the
+     * event dispatch thread.
+     */
+    private void flush() {
+        flushScheduled.set(false);
+        JViewport viewport = (JViewport) SwingUtilities.getAncestorOfClass(JViewport.class, this);
+        boolean atBottom = viewport == null
+                || viewport.getViewPosition().y + viewport.getExtentSize().height >= getHeight() - lineHeight();
+
+        String text;
+        while ((text = pending.poll()) != null) {
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '\n') {
+                    newLine();
+                } else {
+                    if (openLine.length() == MAX_LINE_LENGTH) {
+                        newLine();
+                    }
+                    openLine.append(c);
+                }
+            }
+            setOpenLine();
+        }
+
+        revalidate();
+        repaint();
+        if (atBottom) {
+            // Follow new text unless the player has scrolled up to read
+            SwingUtilities.invokeLater(() -> scrollRectToVisible(new Rectangle(0, getHeight() - 1, 1, 1)));
+        }
+    }
+
+    /**
+     * Closes the open line and starts a new one, discarding the oldest line when
+     * the buffer is full.
+     */
+    private void newLine() {
+        setOpenLine();
+        openLine.setLength(0);
+        if (count == lines.length) {
+            first = (first + 1) % lines.length;
+        } else {
+            count++;
+        }
+        lines[(first + count - 1) % lines.length] = "";
+    }
+
+    private void setOpenLine() {
+        lines[(first + count - 1) % lines.length] = openLine.toString();
+        widestLine = Math.max(widestLine, openLine.length());
+    }
+
+    private String line(int row) {
+        return lines[(first + row) % lines.length];
+    }
+
+    private int lineHeight() {
+        return getFontMetrics(getFont()).getHeight();
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        FontMetrics metrics = getFontMetrics(getFont());
+        Insets insets = getInsets();
+        return new Dimension(widestLine * metrics.charWidth('m') + insets.left + insets.right,
+                count * metrics.getHeight() + insets.top + insets.bottom);
+    }
+
+    /**
+     * Paints only the rows inside the clip, so the cost does not grow with the
+     * number of lines held.
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        g.setColor(getBackground());
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        FontMetrics metrics = getFontMetrics(getFont());
+        Insets insets = getInsets();
+        int lineHeight = metrics.getHeight();
+        int firstRow = Math.max(0, (clip.y - insets.top) / lineHeight);
+        int lastRow = Math.min(count - 1, (clip.y + clip.height - insets.top) / lineHeight);
+        g.setFont(getFont());
+        g.setColor(getForeground());
+        for (int row = firstRow; row <= lastRow; row++) {
+            g.drawString(line(row), insets.left, insets.top + row * lineHeight + metrics.getAscent());
+        }
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return getPreferredSize();
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? lineHeight() : getFontMetrics(getFont()).charWidth('m');
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? visibleRect.height : visibleRect.width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        // Fill the viewport when the text is narrower than it
+        Container parent = getParent();
+        return parent instanceof JViewport && parent.getWidth() > getPreferredSize().width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        Container parent = getParent();
+        return parent instanceof JViewport && parent.getHeight() > getPreferredSize().height;
+    }
+}
@@ -1,4 +1,6 @@
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.function.Consumer;
 
 /**
  * @Class: GameController
@@ -7,41 +9,84 @@ import java.time.LocalDateTime;
  * @Written: 11/1/2024
  * @Course: CSE 201B: Intro to Software Engineering
  * @Purpose: The GameController class manages the overall game state, including starting,
- * pausing, restarting, and ending the game.
+ * pausing, restarting, and ending the game. Status messages such as "Game paused."
+ * go to its message handler, which prints them unless a host such as GameSession
+ * replaces it.
  */
 public class GameController {
     private String gameStatus;
     private LocalDateTime startTime;
+    private Consumer<String> messageHandler = System.out::println; // Where status messages go
 
     // Starts the game
     public void startGame() {
         gameStatus = "In Progress";
         startTime = LocalDateTime.now();
-        System.out.println("Game started.\n");
+        GameMetrics.get().gameStarted();
+        messageHandler.accept("Game started.");
     }
 
     // Ends the game
     public void endGame() {
+        if (!"Ended".equals(gameStatus) && startTime != null) {
+            GameMetrics.get().gameEnded(Duration.between(startTime, LocalDateTime.now()).toMillis());
+        }
         gameStatus = "Ended";
-        System.out.println("Game ended.");
+        messageHandler.accept("Game ended.");
     }
 
     // Restarts the game
     public void restartGame() {
         gameStatus = "In Progress";
         startTime = LocalDateTime.now();
-        System.out.println("Game restarted.");
+        GameMetrics.get().gameStarted();
+        messageHandler.accept("Game restarted.");
     }
 
     // Pauses the game and returns true if successful
     public boolean pauseGame() {
         if ("In Progress".equals(gameStatus)) {
             gameStatus = "Paused";
-            System.out.println("Game paused.");
+            GameMetrics.get().gamePaused();
+            messageHandler.accept("Game paused.");
+            return true;
+        } else {
+            messageHandler.accept("Game is not in progress. Cannot pause.");
+            return false;
+        }
+    }
+
+    // Resumes a paused game and returns true if successful
+    public boolean resumeGame() {
+        if ("Paused".equals(gameStatus)) {
+            gameStatus = "In Progress";
+            GameMetrics.get().gameResumed();
+            messageHandler.accept("Game resumed.");
             return true;
         } else {
-            System.out.println("Game is not in progress. Cannot pause.");
+            messageHandler.accept("Game is not paused. Cannot resume.");
             return false;
         }
     }
+
+    // Sets where status messages go instead of standard output
+    public void setMessageHandler(Consumer<String> messageHandler) {
+        this.messageHandler = messageHandler;
+    }
+
+    // Restores the status and start time of a saved game
+    void restore(String gameStatus, LocalDateTime startTime) {
+        this.gameStatus = gameStatus;
+        this.startTime = startTime;
+    }
+
+    // Returns the current game status ("In Progress", "Paused" or "Ended"), or null before the game starts
+    public String getGameStatus() {
+        return gameStatus;
+    }
+
+    // Returns when the game was started or last restarted, or null before the game starts
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
 }
@@ -0,0 +1,163 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * @Class: GameEvents
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/17/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The GameEvents class holds the JDK Flight Recorder events the game
+ * emits: course registration, reading a question bank, building its choices, the
+ * setup and the whole run of each exam, and every answered question. Each event
+ * is timed and carries the subject, and where it applies the professor difficulty
+ * and bank size, so a recording taken when a player reports a freeze shows which
+ * step was slow. When no recording is running an event costs a field check.
+ */
+public final class GameEvents {
+    private GameEvents() {
+    }
+
+    /**
+     * Gets the subject name of a question bank file, for example "Computer Science"
+     * for "Computer_Science.txt".
+     *
+     * @param filePath The bank's file path.
+     * @return The subject name.
+     */
+    static String subjectOf(String filePath) {
+        Path name = Paths.get(filePath).getFileName();
+        String file = name == null ? filePath : name.toString();
+        int dot = file.lastIndexOf('.');
+        return (dot > 0 ? file.substring(0, dot) : file).replace('_', ' ');
+    }
+
+    @Name("miamiquest.CourseRegistration")
+    @Label("Course Registration")
+    @Category({ "MiamiQuest", "Player" })
+    @Description("A player registered for a new course or re-registered for a dropped one")
+    public static final class CourseRegistration extends Event {
+        @Label("Subject")
+        String subject;
+
+        @Label("Difficulty")
+        String difficulty;
+
+        @Label("Retake")
+        @Description("True if a dropped course was taken again")
+        boolean retake;
+
+        @Label("Courses")
+        @Description("Courses on the player's list after registering")
+        int courseCount;
+    }
+
+    @Name("miamiquest.BankRead")
+    @Label("Question Bank Read")
+    @Category({ "MiamiQuest", "Question Bank" })
+    @Description("Questions and answers were read from a bank file")
+    public static final class BankRead extends Event {
+        @Label("Subject")
+        String subject;
+
+        @Label("File")
+        String file;
+
+        @Label("Source")
+        @Description("\"compiled\" for the binary bank, \"text\" for the question file")
+        String source;
+
+        @Label("Bank Size")
+        @Description("Questions read")
+        int bankSize;
+    }
+
+    @Name("miamiquest.ChoicesBuilt")
+    @Label("Choices Built")
+    @Category({ "MiamiQuest", "Question Bank" })
+    @Description("Multiple-choice options were generated for a bank, or only its distractor pool when the bank is compiled and builds each question on first use")
+    @StackTrace(false)
+    public static final class ChoicesBuilt extends Event {
+        @Label("Bank Size")
+        int bankSize;
+
+        @Label("Distinct Answers")
+        @Description("Answers available as distractors")
+        int distinctAnswers;
+    }
+
+    @Name("miamiquest.ExamSetup")
+    @Label("Exam Setup")
+    @Category({ "MiamiQuest", "Exam" })
+    @Description("An exam fetched its question bank, drew its questions and showed the first one")
+    public static final class ExamSetup extends Event {
+        @Label("Subject")
+        String subject;
+
+        @Label("Difficulty")
+        String difficulty;
+
+        @Label("Bank Size")
+        int bankSize;
+
+        @Label("Exam Size")
+        int examSize;
+    }
+
+    @Name("miamiquest.ExamTaken")
+    @Label("Exam Taken")
+    @Category({ "MiamiQuest", "Exam" })
+    @Description("An exam from its setup to being passed, failed or dropped")
+    @StackTrace(false)
+    public static final class ExamTaken extends Event {
+        @Label("Subject")
+        String subject;
+
+        @Label("Difficulty")
+        String difficulty;
+
+        @Label("Bank Size")
+        int bankSize;
+
+        @Label("Exam Size")
+        int examSize;
+
+        @Label("Outcome")
+        @Description("passed, failed or dropped")
+        String outcome;
+
+        @Label("Score")
+        @Description("Final score including extra credit")
+        int score;
+    }
+
+    @Name("miamiquest.QuestionAnswered")
+    @Label("Question Answered")
+    @Category({ "MiamiQuest", "Exam" })
+    @Description("A question from being shown to being answered")
+    @StackTrace(false)
+    public static final class QuestionAnswered extends Event {
+        @Label("Subject")
+        String subject;
+
+        @Label("Difficulty")
+        String difficulty;
+
+        @Label("Part")
+        @Description("1 for the first exam, 2 for the second exam of a hard course")
+        int part;
+
+        @Label("Question Number")
+        int questionNumber;
+
+        @Label("Correct")
+        boolean correct;
+    }
+}
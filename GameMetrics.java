@@ -0,0 +1,550 @@
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @Class: GameMetrics
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/17/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The GameMetrics class counts what happens across every game in the
+ * process: hosted sessions, games started, paused and ended, exams and their
+ * outcomes per subject and professor difficulty, question bank load and reload
+ * times, how long players take to answer, as one histogram per question and one
+ * across every question, and the desktop game's startup times and worst event
+ * thread stall during an exam. Every counter is a LongAdder or LongAccumulator, so
+ * recording from many game threads at once does not contend on a shared field. The
+ * single instance is registered as a platform MBean.
+ */
+public final class GameMetrics implements GameMetricsMXBean {
+    public static final String OBJECT_NAME = "MiamiQuest:type=GameMetrics";
+
+    public static final int PASSED = 0;
+    public static final int FAILED = 1;
+    public static final int DROPPED = 2;
+    private static final String[] OUTCOMES = { "passed", "failed", "dropped" };
+    private static final String[] DIFFICULTIES = { "Easy", "Hard" };
+    private static final String DESCRIPTION = "Live MiamiQuest game and exam counters for this process. Answer latency has one "
+            + "histogram per question, keyed by its QuestionStats ID in hex, and one across every question.";
+    private static final long[] LATENCY_BOUNDS_MILLIS = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10_000, 30_000, 60_000 };
+
+    private static final GameMetrics INSTANCE = new GameMetrics();
+
+    private final LongAdder activeSessions = new LongAdder();
+    private final LongAdder gamesStarted = new LongAdder();
+    private final LongAdder gamesEnded = new LongAdder();
+    private final LongAdder gamesPaused = new LongAdder();
+    private final LongAdder gamesResumed = new LongAdder();
+    private final LongAdder gameDurationMillis = new LongAdder(); // Sum over ended games
+    private final LongAdder examsTaken = new LongAdder();
+    private final LongAdder[][][] outcomes = new LongAdder[Course.COURSE_TYPES + 1][2][3]; // [course type][hard][outcome]; type 0 is unknown
+    private final LongAdder bankLoads = new LongAdder();
+    private final LongAdder bankLoadNanos = new LongAdder();
+    private final LongAccumulator maxBankLoadNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder bankReloads = new LongAdder();
+    private final LongAdder bankReloadNanos = new LongAdder(); // From the file change being seen to the new bank being published
+    private final LongAccumulator maxBankReloadNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder bankReloadFailures = new LongAdder();
+    private final LatencyHistogram answerLatency = new LatencyHistogram(); // Every answer
+    private final Map<Long, LatencyHistogram> questionLatency = new ConcurrentHashMap<>(); // By QuestionStats ID
+    private final LongAccumulator maxExamStallNanos = new LongAccumulator(Math::max, 0); // Worst event thread stall during a desktop exam
+    private volatile StartupMetrics startup; // This process's startup times, or null if it is not the desktop game
+
+    private GameMetrics() {
+        for (LongAdder[][] byType : outcomes) {
+            for (LongAdder[] byDifficulty : byType) {
+                for (int i = 0; i < byDifficulty.length; i++) {
+                    byDifficulty[i] = new LongAdder();
+                }
+            }
+        }
+        register();
+    }
+
+    /**
+     * Gets the process-wide metrics.
+     *
+     * @return The shared instance.
+     */
+    public static GameMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers the instance with the platform MBean server. Metrics still count if
+     * registration is not possible, for example under a restrictive security policy.
+     */
+    private void register() {
+        try {
+            // Wrapped only to give JMX clients the descriptions
+            StandardMBean mbean = new StandardMBean(this, GameMetricsMXBean.class, true) {
+                @Override
+                protected String getDescription(MBeanInfo info) {
+                    return DESCRIPTION;
+                }
+
+                @Override
+                protected String getDescription(MBeanAttributeInfo info) {
+                    return info.getName().contains("AnswerLatency")
+                            ? info.getName().endsWith("ByQuestion")
+                                    ? "From each question's answer latency histogram, keyed by its QuestionStats ID in hex"
+                                    : "From the answer latency histogram across every question, subject and game"
+                            : super.getDescription(info);
+                }
+            };
+            ManagementFactory.getPlatformMBeanServer().registerMBean(mbean, new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // Another class loader in this JVM registered first; keep counting locally
+        } catch (JMException | SecurityException e) {
+            System.err.println("Game metrics are not available over JMX: " + e.getMessage());
+        }
+    }
+
+    public void sessionOpened() {
+        activeSessions.increment();
+    }
+
+    public void sessionClosed() {
+        activeSessions.decrement();
+    }
+
+    public void gameStarted() {
+        gamesStarted.increment();
+    }
+
+    /**
+     * Records a game that has ended.
+     *
+     * @param durationMillis How long the game ran, from its start time.
+     */
+    public void gameEnded(long durationMillis) {
+        gamesEnded.increment();
+        gameDurationMillis.add(durationMillis);
+    }
+
+    public void gamePaused() {
+        gamesPaused.increment();
+    }
+
+    public void gameResumed() {
+        gamesResumed.increment();
+    }
+
+    public void examStarted() {
+        examsTaken.increment();
+    }
+
+    /**
+     * Records how an exam ended.
+     *
+     * @param courseType The course type, 1 to Course.COURSE_TYPES.
+     * @param hard       True if the professor was hard.
+     * @param outcome    PASSED, FAILED or DROPPED.
+     */
+    public void examFinished(int courseType, boolean hard, int outcome) {
+        int type = courseType >= 1 && courseType <= Course.COURSE_TYPES ? courseType : 0;
+        outcomes[type][hard ? 1 : 0][outcome].increment();
+    }
+
+    /**
+     * Records one question bank load.
+     *
+     * @param nanos How long the load took.
+     */
+    public void bankLoaded(long nanos) {
+        bankLoads.increment();
+        bankLoadNanos.add(nanos);
+        maxBankLoadNanos.accumulate(nanos);
+    }
+
+    /**
+     * Records a bank rebuilt and published after its file changed.
+     *
+     * @param nanos The time from the change being seen to the new bank being published.
+     */
+    public void bankReloaded(long nanos) {
+        bankReloads.increment();
+        bankReloadNanos.add(nanos);
+        maxBankReloadNanos.accumulate(nanos);
+    }
+
+    public void bankReloadFailed() {
+        bankReloadFailures.increment();
+    }
+
+    /**
+     * Publishes the desktop game's startup times. They are not cleared by reset().
+     *
+     * @param startup The startup metrics for this run.
+     */
+    public void startupMeasured(StartupMetrics startup) {
+        this.startup = startup;
+    }
+
+    /**
+     * Records the worst event dispatch thread stall seen during one exam of the
+     * desktop game.
+     *
+     * @param nanos The longest the window was unable to respond, from EdtStallMonitor.
+     */
+    public void examStallMeasured(long nanos) {
+        maxExamStallNanos.accumulate(nanos);
+    }
+
+    /**
+     * Records how long a player took to answer a question, in the question's own
+     * histogram and in the one across every question.
+     *
+     * @param questionId The question's ID from QuestionStats.questionId().
+     * @param nanos      The time from the question being shown to the answer.
+     */
+    public void answered(long questionId, long nanos) {
+        int bucket = LatencyHistogram.bucketOf(nanos);
+        answerLatency.record(bucket, nanos);
+        LatencyHistogram question = questionLatency.get(questionId);
+        if (question == null) {
+            question = questionLatency.computeIfAbsent(questionId, id -> new LatencyHistogram());
+        }
+        question.record(bucket, nanos);
+    }
+
+    @Override
+    public long getActiveSessions() {
+        return activeSessions.sum();
+    }
+
+    @Override
+    public long getGamesStarted() {
+        return gamesStarted.sum();
+    }
+
+    @Override
+    public long getGamesEnded() {
+        return gamesEnded.sum();
+    }
+
+    @Override
+    public long getGamesPaused() {
+        return gamesPaused.sum();
+    }
+
+    @Override
+    public long getGamesResumed() {
+        return gamesResumed.sum();
+    }
+
+    @Override
+    public double getMeanGameDurationSeconds() {
+        long ended = gamesEnded.sum();
+        return ended == 0 ? 0 : gameDurationMillis.sum() / 1000.0 / ended;
+    }
+
+    @Override
+    public long getExamsTaken() {
+        return examsTaken.sum();
+    }
+
+    @Override
+    public long getExamsPassed() {
+        return countOutcome(PASSED);
+    }
+
+    @Override
+    public long getExamsFailed() {
+        return countOutcome(FAILED);
+    }
+
+    @Override
+    public long getExamsDropped() {
+        return countOutcome(DROPPED);
+    }
+
+    private long countOutcome(int outcome) {
+        long total = 0;
+        for (LongAdder[][] byType : outcomes) {
+            for (LongAdder[] byDifficulty : byType) {
+                total += byDifficulty[outcome].sum();
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public Map<String, Long> getExamOutcomesBySubject() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int type = 1; type <= Course.COURSE_TYPES; type++) {
+            String subject = Course.fileFor(type).replace(".txt", "").replace('_', ' ');
+            for (int outcome = 0; outcome < OUTCOMES.length; outcome++) {
+                counts.put(subject + "." + OUTCOMES[outcome], outcomes[type][0][outcome].sum() + outcomes[type][1][outcome].sum());
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getExamOutcomesByDifficulty() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int hard = 0; hard < DIFFICULTIES.length; hard++) {
+            for (int outcome = 0; outcome < OUTCOMES.length; outcome++) {
+                long total = 0;
+                for (LongAdder[][] byType : outcomes) {
+                    total += byType[hard][outcome].sum();
+                }
+                counts.put(DIFFICULTIES[hard] + "." + OUTCOMES[outcome], total);
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public long getBankLoads() {
+        return bankLoads.sum();
+    }
+
+    @Override
+    public double getMeanBankLoadMillis() {
+        long loads = bankLoads.sum();
+        return loads == 0 ? 0 : bankLoadNanos.sum() / 1e6 / loads;
+    }
+
+    @Override
+    public double getMaxBankLoadMillis() {
+        return maxBankLoadNanos.get() / 1e6;
+    }
+
+    @Override
+    public long getBankReloads() {
+        return bankReloads.sum();
+    }
+
+    @Override
+    public double getMeanBankReloadMillis() {
+        long reloads = bankReloads.sum();
+        return reloads == 0 ? 0 : bankReloadNanos.sum() / 1e6 / reloads;
+    }
+
+    @Override
+    public double getMaxBankReloadMillis() {
+        return maxBankReloadNanos.get() / 1e6;
+    }
+
+    @Override
+    public long getBankReloadFailures() {
+        return bankReloadFailures.sum();
+    }
+
+    @Override
+    public long getAnswers() {
+        return answerLatency.count();
+    }
+
+    @Override
+    public Map<String, Long> getAnswerLatencyHistogram() {
+        return answerLatency.toMap();
+    }
+
+    @Override
+    public Map<String, Long> answerLatencyHistogram(String questionId) {
+        LatencyHistogram question;
+        try {
+            question = questionLatency.get(Long.parseUnsignedLong(questionId.trim(), 16));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a question ID: " + questionId);
+        }
+        return question == null ? new LatencyHistogram().toMap() : question.toMap();
+    }
+
+    @Override
+    public Map<String, Long> getAnswersByQuestion() {
+        Map<String, Long> counts = new TreeMap<>();
+        questionLatency.forEach((id, histogram) -> counts.put(hex(id), histogram.count()));
+        return counts;
+    }
+
+    @Override
+    public Map<String, Double> getAnswerLatencyP99MillisByQuestion() {
+        Map<String, Double> latencies = new TreeMap<>();
+        questionLatency.forEach((id, histogram) -> latencies.put(hex(id), histogram.percentileMillis(0.99)));
+        return latencies;
+    }
+
+    private static String hex(long questionId) {
+        return String.format("%016x", questionId);
+    }
+
+    @Override
+    public boolean isStartupWarmUp() {
+        StartupMetrics current = startup;
+        return current != null && current.isWarmUp();
+    }
+
+    @Override
+    public double getStartupFirstFrameMillis() {
+        StartupMetrics current = startup;
+        return current == null ? -1 : current.getTimeToFirstFrameMillis();
+    }
+
+    @Override
+    public double getStartupBanksReadyMillis() {
+        StartupMetrics current = startup;
+        return current == null ? -1 : current.getTimeToBanksReadyMillis();
+    }
+
+    @Override
+    public double getStartupFirstQuestionMillis() {
+        StartupMetrics current = startup;
+        return current == null ? -1 : current.getTimeToFirstQuestionMillis();
+    }
+
+    @Override
+    public double getFirstQuestionLatencyMillis() {
+        StartupMetrics current = startup;
+        return current == null ? -1 : current.getFirstQuestionLatencyMillis();
+    }
+
+    @Override
+    public double getMaxExamEdtStallMillis() {
+        return maxExamStallNanos.get() / 1e6;
+    }
+
+    @Override
+    public double getMaxAnswerLatencyMillis() {
+        return answerLatency.maxMillis();
+    }
+
+    @Override
+    public double getAnswerLatencyP50Millis() {
+        return answerLatency.percentileMillis(0.50);
+    }
+
+    @Override
+    public double getAnswerLatencyP99Millis() {
+        return answerLatency.percentileMillis(0.99);
+    }
+
+    @Override
+    public void reset() {
+        gamesStarted.reset();
+        gamesEnded.reset();
+        gamesPaused.reset();
+        gamesResumed.reset();
+        gameDurationMillis.reset();
+        examsTaken.reset();
+        for (LongAdder[][] byType : outcomes) {
+            for (LongAdder[] byDifficulty : byType) {
+                for (LongAdder count : byDifficulty) {
+                    count.reset();
+                }
+            }
+        }
+        bankLoads.reset();
+        bankLoadNanos.reset();
+        maxBankLoadNanos.reset();
+        bankReloads.reset();
+        bankReloadNanos.reset();
+        maxBankReloadNanos.reset();
+        bankReloadFailures.reset();
+        answerLatency.reset();
+        questionLatency.clear();
+        maxExamStallNanos.reset();
+    }
+
+    /**
+     * A histogram of answer times in fixed buckets, with the slowest answer kept
+     * for the unbounded top bucket. Buckets are LongAdders, so answers recorded
+     * from many exams at once do not contend.
+     */
+    private static final class LatencyHistogram {
+        private final LongAdder[] buckets = new LongAdder[LATENCY_BOUNDS_MILLIS.length + 1]; // Last bucket is unbounded
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0); // Slowest answer, for the unbounded bucket
+
+        LatencyHistogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        static int bucketOf(long nanos) {
+            long millis = nanos / 1_000_000;
+            int bucket = 0;
+            while (bucket < LATENCY_BOUNDS_MILLIS.length && millis > LATENCY_BOUNDS_MILLIS[bucket]) {
+                bucket++;
+            }
+            return bucket;
+        }
+
+        void record(int bucket, long nanos) {
+            buckets[bucket].increment();
+            maxNanos.accumulate(nanos);
+        }
+
+        long count() {
+            long total = 0;
+            for (LongAdder bucket : buckets) {
+                total += bucket.sum();
+            }
+            return total;
+        }
+
+        double maxMillis() {
+            return maxNanos.get() / 1e6;
+        }
+
+        /**
+         * Gets the count in each bucket, keyed by its upper bound ("<= 1000 ms", "> 60000 ms").
+         */
+        Map<String, Long> toMap() {
+            Map<String, Long> histogram = new LinkedHashMap<>();
+            for (int i = 0; i < LATENCY_BOUNDS_MILLIS.length; i++) {
+                histogram.put("<= " + LATENCY_BOUNDS_MILLIS[i] + " ms", buckets[i].sum());
+            }
+            histogram.put("> " + LATENCY_BOUNDS_MILLIS[LATENCY_BOUNDS_MILLIS.length - 1] + " ms", buckets[LATENCY_BOUNDS_MILLIS.length].sum());
+            return histogram;
+        }
+
+        /**
+         * Estimates a percentile as the upper bound of the bucket it falls in. The
+         * unbounded bucket has no upper bound, so the slowest answer seen stands in.
+         *
+         * @return The bound in milliseconds, the slowest answer for the unbounded bucket, or 0 with no answers.
+         */
+        double percentileMillis(double percentile) {
+            long[] counts = new long[buckets.length];
+            long total = 0;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = buckets[i].sum();
+                total += counts[i];
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(percentile * total);
+            long seen = 0;
+            for (int i = 0; i < LATENCY_BOUNDS_MILLIS.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return LATENCY_BOUNDS_MILLIS[i];
+                }
+            }
+            return Math.max(maxMillis(), LATENCY_BOUNDS_MILLIS[LATENCY_BOUNDS_MILLIS.length - 1]);
+        }
+
+        void reset() {
+            for (LongAdder bucket : buckets) {
+                bucket.reset();
+            }
+            maxNanos.reset();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+import java.util.Map;
+
+/**
+ * @Class: GameMetricsMXBean
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/17/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The GameMetricsMXBean interface is the management view of GameMetrics,
+ * registered as the platform MBean "MiamiQuest:type=GameMetrics" so JConsole,
+ * VisualVM or any JMX client can read live game and exam counters. Answer
+ * latency has one histogram per question, keyed by the question's QuestionStats
+ * ID in hex, and one across every question, subject and game.
+ */
+public interface GameMetricsMXBean {
+
+    long getActiveSessions();
+
+    long getGamesStarted();
+
+    long getGamesEnded();
+
+    long getGamesPaused();
+
+    long getGamesResumed();
+
+    double getMeanGameDurationSeconds();
+
+    long getExamsTaken();
+
+    long getExamsPassed();
+
+    long getExamsFailed();
+
+    long getExamsDropped();
+
+    /**
+     * Gets exam outcomes per subject, keyed "History.passed", "Math.dropped" and so on.
+     *
+     * @return The outcome counts.
+     */
+    Map<String, Long> getExamOutcomesBySubject();
+
+    /**
+     * Gets exam outcomes per professor difficulty, keyed "Easy.passed", "Hard.failed" and so on.
+     *
+     * @return The outcome counts.
+     */
+    Map<String, Long> getExamOutcomesByDifficulty();
+
+    long getBankLoads();
+
+    double getMeanBankLoadMillis();
+
+    double getMaxBankLoadMillis();
+
+    long getBankReloads();
+
+    double getMeanBankReloadMillis();
+
+    double getMaxBankReloadMillis();
+
+    /**
+     * Gets the number of background bank rebuilds that failed and left the old bank in place.
+     *
+     * @return The failure count.
+     */
+    long getBankReloadFailures();
+
+    long getAnswers();
+
+    /**
+     * Gets the answer latency histogram: the time from a question being shown to
+     * its answer, keyed by each bucket's upper bound ("<= 1000 ms", "> 60000 ms").
+     * This histogram counts every answer, across every question and game.
+     *
+     * @return The count in each bucket.
+     */
+    Map<String, Long> getAnswerLatencyHistogram();
+
+    /**
+     * Gets one question's answer latency histogram, keyed like getAnswerLatencyHistogram().
+     *
+     * @param questionId The question's QuestionStats ID in hex, as in getAnswersByQuestion().
+     * @return The count in each bucket; all zero if the question has not been answered.
+     */
+    Map<String, Long> answerLatencyHistogram(String questionId);
+
+    /**
+     * Gets how many times each answered question has been answered, keyed by its
+     * QuestionStats ID in hex.
+     *
+     * @return The answer counts.
+     */
+    Map<String, Long> getAnswersByQuestion();
+
+    /**
+     * Gets each answered question's 99th percentile answer latency from its own
+     * histogram, keyed by its QuestionStats ID in hex.
+     *
+     * @return The latencies in milliseconds.
+     */
+    Map<String, Double> getAnswerLatencyP99MillisByQuestion();
+
+    double getMaxAnswerLatencyMillis();
+
+    /**
+     * Gets the median answer latency across every question, as the upper bound
+     * of its bucket.
+     *
+     * @return The latency in milliseconds, or 0 with no answers.
+     */
+    double getAnswerLatencyP50Millis();
+
+    /**
+     * Gets the 99th percentile answer latency across every question, as the upper
+     * bound of its bucket. In the unbounded top bucket it is the slowest
+     * answer seen, so it is always finite.
+     *
+     * @return The latency in milliseconds, or 0 with no answers.
+     */
+    double getAnswerLatencyP99Millis();
+
+    boolean isStartupWarmUp();
+
+    /**
+     * Gets the time from JVM start to the desktop game's first frame.
+     *
+     * @return The time in milliseconds, or -1 if it has not happened or this is not the desktop game.
+     */
+    double getStartupFirstFrameMillis();
+
+    /**
+     * Gets the time from JVM start to the end of the bank warm-up.
+     *
+     * @return The time in milliseconds, or -1 if it has not happened.
+     */
+    double getStartupBanksReadyMillis();
+
+    /**
+     * Gets the time from JVM start to the first exam question on screen.
+     *
+     * @return The time in milliseconds, or -1 if it has not happened.
+     */
+    double getStartupFirstQuestionMillis();
+
+    /**
+     * Gets the time from asking for the first exam to its first question.
+     *
+     * @return The time in milliseconds, or -1 if it has not happened.
+     */
+    double getFirstQuestionLatencyMillis();
+
+    /**
+     * Gets the longest the desktop game's window was unable to respond during any
+     * exam, as measured by an EdtStallMonitor while the exam ran.
+     *
+     * @return The stall in milliseconds, or 0 if no exam has been measured.
+     */
+    double getMaxExamEdtStallMillis();
+
+    /**
+     * Sets every counter back to zero, except active sessions and startup times.
+     */
+    void reset();
+}
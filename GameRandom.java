@@ -0,0 +1,198 @@
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * @Class: GameRandom
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/12/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The GameRandom class gives one game its own tree of random streams, all
+ * split from a single recorded root seed. Professors, distractor generation and
+ * shuffling (exam forms and choice order) each draw from a separate child stream,
+ * so replaying a game with the same seed repeats it exactly, and games never
+ * share a generator. The streams use SplitMix64, the generator behind
+ * SplittableRandom, with its state kept in a plain long so a paused game can save
+ * and restore the exact stream positions. The streams are not thread-safe; each
+ * belongs to one game.
+ */
+public final class GameRandom {
+    private static final long BANK_SEED = 0x4D69616D69517565L; // Fixed seed for shared bank distractors
+
+    private final long seed; // The recorded root seed
+    private final StreamRandom root; // Source of child stream seeds
+    private final StreamRandom professors;
+    private final StreamRandom distractors;
+    private final StreamRandom shuffles;
+
+    /**
+     * Creates streams from a fresh, unpredictable root seed.
+     */
+    public GameRandom() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Creates streams from a given root seed, for example to replay a game.
+     *
+     * @param seed The root seed.
+     */
+    public GameRandom(long seed) {
+        this.seed = seed;
+        this.root = new StreamRandom(seed);
+        this.professors = new StreamRandom(root.nextLong());
+        this.distractors = new StreamRandom(root.nextLong());
+        this.shuffles = new StreamRandom(root.nextLong());
+    }
+
+    /**
+     * Recreates streams at saved positions.
+     *
+     * @param seed   The root seed.
+     * @param states The stream states returned by getStates().
+     */
+    GameRandom(long seed, long[] states) {
+        this.seed = seed;
+        this.root = new StreamRandom(states[0]);
+        this.professors = new StreamRandom(states[1]);
+        this.distractors = new StreamRandom(states[2]);
+        this.shuffles = new StreamRandom(states[3]);
+    }
+
+    /**
+     * Gets the current positions of the root, professor, distractor and shuffle
+     * streams, for saving a paused game.
+     *
+     * @return The four stream states.
+     */
+    long[] getStates() {
+        return new long[] { root.state, professors.state, distractors.state, shuffles.state };
+    }
+
+    /**
+     * Moves one stream to a saved position, for example when replaying a PlayerLog.
+     *
+     * @param stream The stream's index in getStates().
+     * @param state  The stream's state.
+     */
+    void setState(int stream, long state) {
+        switch (stream) {
+            case 0:
+                root.state = state;
+                break;
+            case 1:
+                professors.state = state;
+                break;
+            case 2:
+                distractors.state = state;
+                break;
+            case 3:
+                shuffles.state = state;
+                break;
+            default:
+                throw new IllegalArgumentException("No random stream " + stream);
+        }
+    }
+
+    /**
+     * Gets the root seed. Passing it to GameRandom(long) replays the same streams.
+     *
+     * @return The root seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the stream that chooses professor difficulty.
+     *
+     * @return The professor stream.
+     */
+    public Random forProfessors() {
+        return professors;
+    }
+
+    /**
+     * Gets the stream for distractors in banks built privately for this game.
+     *
+     * @return The distractor stream.
+     */
+    public Random forDistractors() {
+        return distractors;
+    }
+
+    /**
+     * Gets the stream that samples exam forms and shuffles choices.
+     *
+     * @return The shuffle stream.
+     */
+    public Random forShuffles() {
+        return shuffles;
+    }
+
+    /**
+     * Splits off another independent stream, for example for a simulated player's
+     * answers. Streams are split in call order, so the order must be the same on replay.
+     *
+     * @return A new child stream.
+     */
+    public Random split() {
+        return new StreamRandom(root.nextLong());
+    }
+
+    /**
+     * Gets the generator used for the distractors of one question of a shared bank.
+     * It is seeded from the file's name alone, so "History.txt", "./History.txt"
+     * and an absolute path to it build the same choices, in every process and
+     * working directory, and from the question's index, so each question's choices
+     * can be built on its own, in any order.
+     *
+     * @param filePath The bank's file path.
+     * @param question The question's index in the bank.
+     * @return A new generator for that question.
+     */
+    public static Random forBankQuestion(String filePath, int question) {
+        Path name = Paths.get(filePath).getFileName();
+        long bankSeed = BANK_SEED ^ (name == null ? filePath : name.toString()).hashCode();
+        return new StreamRandom(new StreamRandom(bankSeed + question).nextLong());
+    }
+
+    @Override
+    public String toString() {
+        return "GameRandom[seed=" + seed + "]";
+    }
+
+    /**
+     * A java.util.Random running SplitMix64 on a plain long, so existing APIs that
+     * take a Random can use a game stream. It skips Random's shared atomic seed.
+     */
+    private static final class StreamRandom extends Random {
+        private static final long serialVersionUID = 1L;
+        private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+        private long state;
+
+        StreamRandom(long seed) {
+            this.state = seed;
+        }
+
+        @Override
+        public synchronized void setSeed(long seed) {
+            // Called by Random's constructor; the state lives in the state field instead
+        }
+
+        @Override
+        protected int next(int bits) {
+            return (int) (nextLong() >>> (64 - bits));
+        }
+
+        @Override
+        public long nextLong() {
+            long z = (state += GOLDEN_GAMMA);
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
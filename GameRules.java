@@ -0,0 +1,138 @@
+/**
+ * @Class: GameRules
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/10/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The GameRules class holds the tunable numbers of the MiamiQuest game:
+ * questions per exam, the passing score, the extra credit given by easy and hard
+ * professors, and how many failed exams the player can survive. DEFAULT is the
+ * game as played in the GUI; the simulator builds other rule sets to compare.
+ * It also scores exams and decides graduation, so Player, ExamSession and
+ * CourseStore all play by the same rules. The credit and graduation numbers are
+ * fixed for every rule set.
+ */
+public final class GameRules {
+    public static final GameRules DEFAULT = new GameRules(10, 6, 2, -2, 2);
+    public static final int CREDITS_PER_COURSE = 3; // Earned by passing a course, lost again by dropping it
+    public static final int CREDITS_TO_GRADUATE = 12;
+    public static final int COURSES_TO_GRADUATE = 4; // Passed courses needed to graduate
+
+    private final int examSize; // Questions per exam
+    private final int passingScore; // Lowest final score that passes a course
+    private final int easyExtraCredit; // Extra credit from an easy professor
+    private final int hardExtraCredit; // Extra credit (deduction) from a hard professor
+    private final int maxFailedExams; // Failing more exams than this flunks the player out
+
+    /**
+     * Creates a rule set.
+     *
+     * @param examSize        The number of questions per exam.
+     * @param passingScore    The lowest final score that passes a course.
+     * @param easyExtraCredit The extra credit from an easy professor.
+     * @param hardExtraCredit The extra credit from a hard professor.
+     * @param maxFailedExams  The most failed exams allowed before flunking out.
+     */
+    public GameRules(int examSize, int passingScore, int easyExtraCredit, int hardExtraCredit, int maxFailedExams) {
+        if (examSize <= 0) {
+            throw new IllegalArgumentException("Exam size must be positive: " + examSize);
+        }
+        this.examSize = examSize;
+        this.passingScore = passingScore;
+        this.easyExtraCredit = easyExtraCredit;
+        this.hardExtraCredit = hardExtraCredit;
+        this.maxFailedExams = maxFailedExams;
+    }
+
+    /**
+     * Creates the default rules for a different exam size, with the passing score
+     * kept at 60% of the exam (6 out of 10).
+     *
+     * @param examSize The number of questions per exam.
+     * @return The rule set.
+     */
+    public static GameRules forExamSize(int examSize) {
+        return new GameRules(examSize, (examSize * 6 + 9) / 10, DEFAULT.easyExtraCredit, DEFAULT.hardExtraCredit, DEFAULT.maxFailedExams);
+    }
+
+    /**
+     * Gets the extra credit for a professor difficulty.
+     *
+     * @param difficulty "Easy" or "Hard".
+     * @return The extra credit, negative for a deduction.
+     */
+    public int getExtraCredit(String difficulty) {
+        return difficulty.equalsIgnoreCase("Easy") ? easyExtraCredit : hardExtraCredit;
+    }
+
+    /**
+     * Scores a course's exams: the professor's extra credit plus the first exam's
+     * score, or plus the average of both exams (rounded down) for a hard course.
+     *
+     * @param hardCourse True if the course's professor is hard.
+     * @param firstExam  The number of questions right on the first exam.
+     * @param secondExam The number right on the second exam; ignored for easy courses.
+     * @return The final score.
+     */
+    public int scoreExam(boolean hardCourse, int firstExam, int secondExam) {
+        return hardCourse ? hardExtraCredit + (firstExam + secondExam) / 2 : easyExtraCredit + firstExam;
+    }
+
+    /**
+     * Checks whether a final score passes the course.
+     *
+     * @param score The final score from scoreExam().
+     * @return True if the course is passed.
+     */
+    public boolean isPassing(int score) {
+        return score >= passingScore;
+    }
+
+    /**
+     * Checks whether a player can graduate: no dropped course left to retake, at
+     * least CREDITS_TO_GRADUATE credits and at least COURSES_TO_GRADUATE passed courses.
+     *
+     * @param credits          The player's credits.
+     * @param passedCourses    The number of registered courses the player has passed.
+     * @param hasDroppedCourse True if a dropped course still has to be retaken.
+     * @return True if the player can graduate.
+     */
+    public static boolean canGraduate(int credits, int passedCourses, boolean hasDroppedCourse) {
+        return !hasDroppedCourse && credits >= CREDITS_TO_GRADUATE && passedCourses >= COURSES_TO_GRADUATE;
+    }
+
+    /**
+     * Checks whether the player has failed too many exams to continue.
+     *
+     * @param failedExams The number of exams failed so far.
+     * @return True if the player has flunked out.
+     */
+    public boolean hasFlunkedOut(int failedExams) {
+        return failedExams > maxFailedExams;
+    }
+
+    public int getExamSize() {
+        return examSize;
+    }
+
+    public int getPassingScore() {
+        return passingScore;
+    }
+
+    public int getEasyExtraCredit() {
+        return easyExtraCredit;
+    }
+
+    public int getHardExtraCredit() {
+        return hardExtraCredit;
+    }
+
+    public int getMaxFailedExams() {
+        return maxFailedExams;
+    }
+
+    @Override
+    public String toString() {
+        return "exam " + examSize + ", pass " + passingScore + ", extra credit +" + easyExtraCredit + "/" + hardExtraCredit + ", max failures " + maxFailedExams;
+    }
+}
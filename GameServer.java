@@ -0,0 +1,643 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Class: GameServer
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/9/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The GameServer class hosts many MiamiQuest games in one JVM behind a
+ * small local HTTP API. Games are kept in a registry keyed by session ID, each runs
+ * on its own GameSession thread, and idle games are evicted. When the server has a
+ * snapshot directory, idle games are paged out to GameSnapshot files instead of
+ * being lost, and paged back in on their next request. With a player log, every
+ * player's changes are written to a PlayerLog before they are answered, and a
+ * restarted server rebuilds the games still being played from the log before it
+ * accepts requests; a rebuilt game is between exams and its clock restarts. Logged
+ * games are named by their log ID and seed, so they keep their IDs across restarts.
+ * Snapshot files are read and written outside the registry's locks; a game being
+ * paged in or out is marked so other requests for it wait for the move instead of
+ * blocking the registry. Responses are JSON snapshots of the game. Leaderboard
+ * queries read the shared Leaderboard directly, without waiting on any game's
+ * thread.
+ *
+ * Endpoints:
+ *   POST   /games?seed=N                   start a game (seed optional, to replay a game)
+ *   GET    /games/{id}                     graduation status and current exam
+ *   POST   /games/{id}/register            register the next course and start its exam
+ *   GET    /games/{id}/question            the current exam question
+ *   POST   /games/{id}/answer?choice=A     answer the current question
+ *   POST   /games/{id}/decision?drop=true  drop or continue a hard course after the first exam
+ *   POST   /games/{id}/drop?course=N       use the drop option on course N
+ *   POST   /games/{id}/retake              use the retake option
+ *   POST   /games/{id}/pause               pause the game
+ *   POST   /games/{id}/resume              resume a paused game
+ *   DELETE /games/{id}                     end the game
+ *   GET    /leaderboard?top=10             the best players
+ *   GET    /leaderboard/{id}               a game's rank and standing
+ */
+public class GameServer {
+    private static final long IDLE_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(30);
+    private static final int MAX_TOP = 1000; // Most players one leaderboard query lists
+    private static final int LOG_SNAPSHOT_EVERY = 100_000; // Player log events between log snapshots
+    public static final String DEFAULT_LOG_DIRECTORY = "server_player_log"; // Player log used by main
+
+    private final Map<String, GameSession> sessions = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Void>> moving = new ConcurrentHashMap<>(); // Games being paged in or out, done when moved
+    private final Path snapshotDirectory; // Where idle games are paged out, or null to discard them
+    private final PlayerLog playerLog; // Logs every hosted player, or null
+    private final HttpServer server;
+    private final ExecutorService requestExecutor;
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "game-session-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Creates a server bound to the given local port. Use port 0 for any free port.
+     *
+     * @param port The port to listen on.
+     * @throws IOException If the port cannot be bound.
+     */
+    public GameServer(int port) throws IOException {
+        this(port, null);
+    }
+
+    /**
+     * Creates a server that pages idle games out to a directory instead of
+     * discarding them. Games left there by an earlier server are picked up too.
+     *
+     * @param port              The port to listen on.
+     * @param snapshotDirectory The directory for paged-out games, or null to discard them.
+     * @throws IOException If the port cannot be bound or the directory cannot be created.
+     */
+    public GameServer(int port, Path snapshotDirectory) throws IOException {
+        this(port, snapshotDirectory, null);
+    }
+
+    /**
+     * Creates a server that also logs every player to a PlayerLog, first rebuilding
+     * the games left in the log by an earlier server.
+     *
+     * @param port              The port to listen on.
+     * @param snapshotDirectory The directory for paged-out games, or null to discard them.
+     * @param logDirectory      The player log directory, or null for no log.
+     * @throws IOException If the port cannot be bound, a directory cannot be created
+     *                     or the log cannot be replayed.
+     */
+    public GameServer(int port, Path snapshotDirectory, Path logDirectory) throws IOException {
+        this.snapshotDirectory = snapshotDirectory;
+        if (snapshotDirectory != null) {
+            Files.createDirectories(snapshotDirectory);
+        }
+        if (logDirectory != null) {
+            playerLog = new PlayerLog(logDirectory, LOG_SNAPSHOT_EVERY);
+            recoverGames();
+        } else {
+            playerLog = null;
+        }
+        // Small JSON responses otherwise wait on Nagle's algorithm and delayed ACKs (~40 ms each)
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        server.createContext("/games", this::handle);
+        server.createContext("/leaderboard", GameServer::handleLeaderboard);
+        requestExecutor = requestExecutor();
+        server.setExecutor(requestExecutor);
+    }
+
+    /**
+     * Rebuilds the games in the player log that are still being played. A game with
+     * a paged-out snapshot is left for lookup, since the snapshot also has its exam;
+     * finished games are removed from the log.
+     */
+    private void recoverGames() throws IOException {
+        for (Map.Entry<Long, Player> entry : playerLog.getRecoveredPlayers().entrySet()) {
+            long logId = entry.getKey();
+            Player player = entry.getValue();
+            String id = sessionId(logId, player.getRandom().getSeed());
+            if (player.isGameWon() || GameRules.DEFAULT.hasFlunkedOut(player.getFailedExams())) {
+                playerLog.remove(logId, null);
+            } else if (snapshotDirectory == null || !Files.exists(snapshotFile(id))) {
+                playerLog.attach(logId, player);
+                sessions.put(id, new GameSession(id, player));
+            }
+        }
+    }
+
+    /**
+     * Starts a new game, logging its player if the server has a log.
+     */
+    private GameSession newSession(GameRandom random) throws IOException {
+        if (playerLog == null) {
+            return new GameSession(UUID.randomUUID().toString(), random);
+        }
+        Player player = new Player();
+        player.setRandom(random);
+        long logId = playerLog.attach(player);
+        return new GameSession(sessionId(logId, random.getSeed()), player);
+    }
+
+    /**
+     * Removes a game that is gone for good from the leaderboard and the player log.
+     * A paged-out game can come back, so it keeps its place on the leaderboard.
+     */
+    private void forget(GameSession session) {
+        Leaderboard.get().remove(session.getId());
+        if (playerLog == null) {
+            return;
+        }
+        try {
+            playerLog.remove(logIdOf(session.getId()), session.getPlayer());
+        } catch (IOException e) {
+            System.err.println("Could not remove game " + session.getId() + " from the player log: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Names a logged game by its log ID and seed.
+     */
+    private static String sessionId(long logId, long seed) {
+        return new UUID(logId, seed).toString();
+    }
+
+    private static long logIdOf(String id) {
+        return UUID.fromString(id).getMostSignificantBits();
+    }
+
+    /**
+     * Uses a virtual thread per request when the runtime supports it, otherwise a
+     * cached pool of platform threads.
+     */
+    private static ExecutorService requestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Starts accepting requests and evicting idle games.
+     */
+    public void start() {
+        server.start();
+        sweeper.scheduleWithFixedDelay(this::evictIdleSessions, 1, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stops the server and every hosted game. With a snapshot directory, every game
+     * is paged out first so a later server can resume it; with a player log, the
+     * log is closed and the games stay in it.
+     */
+    public void stop() {
+        server.stop(0);
+        sweeper.shutdownNow();
+        requestExecutor.shutdown();
+        for (String id : sessions.keySet()) {
+            GameSession session = sessions.remove(id);
+            if (session != null) {
+                pageOut(session);
+            }
+        }
+        if (playerLog != null) {
+            try {
+                playerLog.close();
+            } catch (IOException e) {
+                System.err.println("Could not close the player log: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Gets the port the server is listening on.
+     *
+     * @return The bound port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Gets the number of games currently hosted.
+     *
+     * @return The active session count.
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    private void evictIdleSessions() {
+        long now = System.nanoTime();
+        for (String id : sessions.keySet()) {
+            GameSession session = sessions.get(id);
+            if (session == null || now - session.getLastAccess() <= IDLE_TIMEOUT_NANOS) {
+                continue;
+            }
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            if (moving.putIfAbsent(id, done) != null) {
+                continue; // Already being paged in or out
+            }
+            try {
+                // A lookup that misses the game from here on waits for done, then reads the file
+                if (now - session.getLastAccess() > IDLE_TIMEOUT_NANOS && sessions.remove(id, session) && !pageOut(session)) {
+                    forget(session); // The game is lost, so the log need not keep it
+                }
+            } finally {
+                moving.remove(id);
+                done.complete(null);
+            }
+        }
+    }
+
+    /**
+     * Saves a game to the snapshot directory, if there is one and the game has not
+     * ended, and closes it.
+     *
+     * @return True if the game was saved.
+     */
+    private boolean pageOut(GameSession session) {
+        try {
+            if (snapshotDirectory != null) {
+                Path file = snapshotFile(session.getId());
+                return session.call(() -> {
+                    if ("Ended".equals(session.getGameController().getGameStatus())) {
+                        return false;
+                    }
+                    session.toSnapshot().save(file);
+                    return true;
+                });
+            }
+        } catch (Exception e) {
+            System.err.println("Could not page out game " + session.getId() + ": " + e.getMessage());
+        } finally {
+            session.close();
+        }
+        return false;
+    }
+
+    /**
+     * Finds a hosted game, paging it back in from the snapshot directory if needed.
+     *
+     * @return The game, or null if there is no game with that ID.
+     */
+    private GameSession lookup(String id) {
+        while (true) {
+            GameSession session = sessions.get(id);
+            if (session != null || snapshotDirectory == null || !isSessionId(id)) {
+                return session;
+            }
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            CompletableFuture<Void> other = moving.putIfAbsent(id, done);
+            if (other != null) {
+                other.join(); // Another request is paging the game in, or the sweeper is paging it out
+                continue;
+            }
+            try {
+                session = sessions.get(id); // Paged in between the first look and marking it
+                return session != null ? session : pageIn(id);
+            } finally {
+                moving.remove(id);
+                done.complete(null);
+            }
+        }
+    }
+
+    /**
+     * Restores a paged-out game from its snapshot file and publishes it. Only the
+     * request that marked the game as moving calls this.
+     *
+     * @return The game, or null if it has no readable snapshot.
+     */
+    private GameSession pageIn(String id) {
+        Path file = snapshotFile(id);
+        GameSession restored;
+        try {
+            restored = new GameSession(id, GameSnapshot.load(file));
+        } catch (IOException e) {
+            return null;
+        }
+        try {
+            if (playerLog != null) {
+                playerLog.attach(logIdOf(id), restored.getPlayer());
+            }
+            Files.delete(file);
+        } catch (IOException e) {
+            restored.close();
+            return null;
+        }
+        sessions.put(id, restored);
+        return restored;
+    }
+
+    private Path snapshotFile(String id) {
+        return snapshotDirectory.resolve(id + ".mqgs");
+    }
+
+    /**
+     * Checks that an ID from a URL is a UUID, so it cannot name a file outside the
+     * snapshot directory.
+     */
+    private static boolean isSessionId(String id) {
+        try {
+            return UUID.fromString(id).toString().equals(id);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Routes a request to the matching game action.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            String[] path = exchange.getRequestURI().getPath().split("/");
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+
+            // path is ["", "games", id?, action?]
+            if (path.length == 2 && method.equals("POST")) {
+                String seed = query.get("seed");
+                GameSession session = newSession(seed == null ? new GameRandom() : new GameRandom(Long.parseLong(seed)));
+                sessions.put(session.getId(), session);
+                send(exchange, 201, session.call(() -> snapshot(session, null)));
+                return;
+            }
+            if (path.length < 3 || path.length > 4) {
+                send(exchange, 404, error("Unknown path."));
+                return;
+            }
+
+            GameSession session = lookup(path[2]);
+            if (session == null) {
+                send(exchange, 404, error("No game with ID " + path[2] + "."));
+                return;
+            }
+
+            String action = path.length == 4 ? path[3] : "";
+            String route = method + " " + action;
+            String body;
+            switch (route) {
+                case "GET ":
+                case "GET question":
+                    body = session.call(() -> snapshot(session, null));
+                    break;
+                case "DELETE ":
+                    body = session.call(() -> {
+                        session.endGame();
+                        return snapshot(session, null);
+                    });
+                    sessions.remove(session.getId());
+                    session.close();
+                    forget(session);
+                    break;
+                case "POST register":
+                    body = session.call(() -> snapshot(session, "\"course\":" + quote(session.registerCourse().getName())));
+                    break;
+                case "POST answer":
+                    body = session.call(() -> snapshot(session, "\"outcome\":" + quote(session.answer(query.get("choice")).name())));
+                    break;
+                case "POST decision":
+                    body = session.call(() -> {
+                        session.decide(Boolean.parseBoolean(query.get("drop")));
+                        return snapshot(session, null);
+                    });
+                    break;
+                case "POST drop":
+                    body = session.call(() -> snapshot(session, "\"dropped\":" + session.dropCourse(Integer.parseInt(query.getOrDefault("course", "0")))));
+                    break;
+                case "POST retake":
+                    body = session.call(() -> {
+                        Course course = session.retakeExam();
+                        return snapshot(session, "\"course\":" + (course == null ? "null" : quote(course.getName())));
+                    });
+                    break;
+                case "POST pause":
+                    body = session.call(() -> snapshot(session, "\"paused\":" + session.pause()));
+                    break;
+                case "POST resume":
+                    body = session.call(() -> snapshot(session, "\"resumed\":" + session.resume()));
+                    break;
+                default:
+                    send(exchange, 404, error("Unknown action " + route + "."));
+                    return;
+            }
+            send(exchange, 200, body);
+        } catch (IllegalStateException e) {
+            send(exchange, 409, error(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, error(e.getMessage()));
+        } catch (Exception e) {
+            send(exchange, 500, error(String.valueOf(e.getMessage())));
+        }
+    }
+
+    /**
+     * Answers a leaderboard query: the top players, or one game's standing.
+     */
+    private static void handleLeaderboard(HttpExchange exchange) throws IOException {
+        try {
+            String[] path = exchange.getRequestURI().getPath().split("/");
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            if (!exchange.getRequestMethod().equals("GET") || path.length > 3) {
+                send(exchange, 404, error("Unknown path."));
+                return;
+            }
+
+            Leaderboard leaderboard = Leaderboard.get();
+            // path is ["", "leaderboard", id?]
+            if (path.length == 3) {
+                Leaderboard.Standing standing = leaderboard.standingOf(path[2]);
+                if (standing == null) {
+                    send(exchange, 404, error("No game with ID " + path[2] + " on the leaderboard."));
+                } else {
+                    send(exchange, 200, "{\"players\":" + leaderboard.size() + "," + standing(standing) + "}");
+                }
+                return;
+            }
+
+            int top = Integer.parseInt(query.getOrDefault("top", "10"));
+            if (top < 1 || top > MAX_TOP) {
+                throw new IllegalArgumentException("top must be from 1 to " + MAX_TOP);
+            }
+            StringBuilder json = new StringBuilder("{\"players\":").append(leaderboard.size()).append(",\"top\":[");
+            List<Leaderboard.Standing> standings = leaderboard.top(top);
+            for (int i = 0; i < standings.size(); i++) {
+                json.append(i > 0 ? ",{" : "{").append(standing(standings.get(i))).append("}");
+            }
+            send(exchange, 200, json.append("]}").toString());
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, error(e.getMessage()));
+        } catch (Exception e) {
+            send(exchange, 500, error(String.valueOf(e.getMessage())));
+        }
+    }
+
+    /**
+     * Describes a leaderboard standing as JSON object members.
+     */
+    private static String standing(Leaderboard.Standing standing) {
+        return "\"rank\":" + standing.getRank()
+                + ",\"id\":" + quote(standing.getPlayerId())
+                + ",\"credits\":" + standing.getCredits()
+                + ",\"coursesPassed\":" + standing.getCoursesPassed()
+                + ",\"failedExams\":" + standing.getFailedExams()
+                + ",\"graduateMillis\":" + (standing.isGraduated() ? String.valueOf(standing.getGraduateMillis()) : "null");
+    }
+
+    /**
+     * Describes the game as JSON. Must run on the session's thread.
+     */
+    private static String snapshot(GameSession session, String extra) {
+        Player player = session.getPlayer();
+        StringBuilder json = new StringBuilder("{");
+        json.append("\"id\":").append(quote(session.getId()));
+        json.append(",\"seed\":").append(player.getRandom().getSeed());
+        json.append(",\"status\":").append(quote(session.getGameController().getGameStatus()));
+        json.append(",\"credits\":").append(player.getCredits());
+        json.append(",\"failedExams\":").append(player.getFailedExams());
+        json.append(",\"coursesRegistered\":").append(player.getCourseList().size());
+        json.append(",\"droppedCourses\":").append(player.getDroppedCourses().size());
+        json.append(",\"canDrop\":").append(player.canDrop());
+        json.append(",\"canRetake\":").append(player.canRetake());
+        json.append(",\"canGraduate\":").append(player.canGraduate());
+        json.append(",\"gameWon\":").append(player.isGameWon());
+
+        ExamSession exam = session.getExam();
+        if (exam == null) {
+            json.append(",\"exam\":null");
+        } else {
+            json.append(",\"exam\":{\"course\":").append(quote(exam.getCourse().getName()));
+            json.append(",\"hard\":").append(exam.isHardCourse());
+            json.append(",\"part\":").append(exam.getPart());
+            json.append(",\"state\":").append(quote(exam.getState().name()));
+            Question question = exam.nextQuestion();
+            if (question != null) {
+                json.append(",\"number\":").append(exam.getQuestionNumber());
+                json.append(",\"question\":").append(quote(question.getQuestionText()));
+                json.append(",\"choices\":[");
+                List<String> choices = question.getChoices();
+                for (int i = 0; i < choices.size(); i++) {
+                    json.append(i > 0 ? "," : "").append(quote(choices.get(i)));
+                }
+                json.append("]");
+            }
+            json.append("}");
+        }
+
+        json.append(",\"messages\":[");
+        List<String> messages = session.drainMessages();
+        for (int i = 0; i < messages.size(); i++) {
+            json.append(i > 0 ? "," : "").append(quote(messages.get(i)));
+        }
+        json.append("]");
+        if (extra != null) {
+            json.append(",").append(extra);
+        }
+        return json.append("}").toString();
+    }
+
+    private static String error(String message) {
+        return "{\"error\":" + quote(message) + "}";
+    }
+
+    /**
+     * Quotes a string as a JSON string literal.
+     */
+    static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder out = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        return out.append('"').toString();
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String key = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            query.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Starts a server on localhost, after rebuilding the games in its player log.
+     * Run with: java GameServer [port] [snapshotDirectory] [logDirectory]
+     *
+     * @param args Optional port (default 8080), directory for paged-out games and
+     *             player log directory (default DEFAULT_LOG_DIRECTORY).
+     * @throws IOException If the port cannot be bound or the log cannot be replayed.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        Path snapshotDirectory = args.length > 1 && !args[1].isEmpty() ? Path.of(args[1]) : null;
+        Path logDirectory = Path.of(args.length > 2 ? args[2] : DEFAULT_LOG_DIRECTORY);
+        GameServer gameServer = new GameServer(port, snapshotDirectory, logDirectory);
+        gameServer.start();
+        QuestionStats.get().startSnapshots(Path.of(QuestionStats.DEFAULT_FILE), Duration.ofMinutes(1));
+        BankWatcher.start(Path.of(Course.fileFor(1)).toAbsolutePath().getParent());
+        System.out.println("MiamiQuest server listening on http://127.0.0.1:" + gameServer.getPort() + "/games");
+    }
+}
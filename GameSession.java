@@ -0,0 +1,325 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @Class: GameSession
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/9/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The GameSession class is one student's game hosted by the GameServer.
+ * It owns a Player, a GameController and the exam in progress, and runs every
+ * action for that game on its own thread so a game is never touched by two
+ * requests at once. On Java 21 and later the thread is a virtual thread. The
+ * player's standing is reported to the Leaderboard as exams finish.
+ */
+public class GameSession {
+    private static final ThreadFactory THREAD_FACTORY = sessionThreadFactory();
+
+    private final String id; // The session's ID in the server registry
+    private final Player player;
+    private final GameController gameController;
+    private final ExecutorService executor; // Runs this session's actions one at a time
+    private final List<String> messages = new ArrayList<>(); // Player and game messages since the last request
+    private ExamSession exam; // The exam in progress, or null
+    private volatile long lastAccess; // System.nanoTime() of the last request
+    private final AtomicBoolean closed = new AtomicBoolean(); // Set once by close()
+
+    /**
+     * Creates a session and starts its game.
+     *
+     * @param id     The session ID.
+     * @param random The game's random streams; reuse a recorded seed to replay a game.
+     */
+    public GameSession(String id, GameRandom random) {
+        this(id, playerWith(random));
+    }
+
+    /**
+     * Creates a session for an existing player, such as one attached to a
+     * PlayerLog or recovered from one, and starts its game.
+     *
+     * @param id     The session ID.
+     * @param player The player.
+     */
+    public GameSession(String id, Player player) {
+        this.id = id;
+        this.player = player;
+        this.player.setMessageHandler(messages::add);
+        this.gameController = new GameController();
+        this.gameController.setMessageHandler(messages::add);
+        this.executor = Executors.newSingleThreadExecutor(THREAD_FACTORY);
+        this.lastAccess = System.nanoTime();
+        GameMetrics.get().sessionOpened();
+        gameController.startGame();
+        Leaderboard.get().record(id, player, gameController);
+    }
+
+    /**
+     * Recreates a session from a saved game, for example one paged out while idle.
+     *
+     * @param id       The session ID.
+     * @param snapshot The saved game.
+     */
+    public GameSession(String id, GameSnapshot snapshot) {
+        this.id = id;
+        this.player = snapshot.getPlayer();
+        this.player.setMessageHandler(messages::add);
+        this.gameController = snapshot.getGameController();
+        this.gameController.setMessageHandler(messages::add);
+        this.exam = snapshot.getExam();
+        if (snapshot.isExamDiscarded()) {
+            messages.add("Your exam was cancelled because its questions changed while the game was saved.");
+        }
+        this.executor = Executors.newSingleThreadExecutor(THREAD_FACTORY);
+        this.lastAccess = System.nanoTime();
+        GameMetrics.get().sessionOpened();
+        Leaderboard.get().record(id, player, gameController);
+    }
+
+    private static Player playerWith(GameRandom random) {
+        Player player = new Player();
+        player.setRandom(random);
+        return player;
+    }
+
+    /**
+     * Builds a virtual thread factory when the runtime has one, otherwise a daemon
+     * platform thread factory.
+     */
+    private static ThreadFactory sessionThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            return runnable -> {
+                Thread thread = new Thread(runnable, "game-session");
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+    }
+
+    /**
+     * Runs an action on this session's thread and waits for its result.
+     *
+     * @param action The action to run against the session.
+     * @param <T>    The action's result type.
+     * @return The action's result.
+     * @throws Exception The exception the action threw, or a timeout.
+     */
+    public <T> T call(Callable<T> action) throws Exception {
+        lastAccess = System.nanoTime();
+        try {
+            return executor.submit(action).get(10, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof Exception ? (Exception) cause : e;
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Session " + id + " did not respond in time", e);
+        }
+    }
+
+    /**
+     * Registers the next course (a dropped course first) and starts its exam.
+     *
+     * @return The course that was registered.
+     */
+    public Course registerCourse() {
+        requireInProgress();
+        if (exam != null) {
+            throw new IllegalStateException("Finish the current exam first.");
+        }
+        Course course = player.registerCourse();
+        exam = new ExamSession(course, player, GameRules.DEFAULT, player.getRandom().forShuffles());
+        return course;
+    }
+
+    /**
+     * Uses the retake option on the first course that has not been passed.
+     *
+     * @return The course being retaken, or null if no retake was possible.
+     */
+    public Course retakeExam() {
+        requireInProgress();
+        if (exam != null) {
+            throw new IllegalStateException("Finish the current exam first.");
+        }
+        Course course = player.useRetakeOption();
+        if (course != null) {
+            exam = new ExamSession(course, player, GameRules.DEFAULT, player.getRandom().forShuffles());
+        }
+        return course;
+    }
+
+    /**
+     * Answers the current exam question.
+     *
+     * @param answer The choice letter or special answer.
+     * @return Whether the answer was correct, incorrect or invalid.
+     */
+    public ExamSession.Outcome answer(String answer) {
+        requireInProgress();
+        ExamSession.Outcome outcome = requireExam().submit(answer);
+        finishExamIfDone();
+        return outcome;
+    }
+
+    /**
+     * Makes the drop or continue decision after the first exam of a hard course.
+     *
+     * @param drop True to drop the course, false to take the second exam.
+     */
+    public void decide(boolean drop) {
+        requireInProgress();
+        ExamSession session = requireExam();
+        if (drop) {
+            session.drop();
+        } else {
+            session.continueExam();
+        }
+        finishExamIfDone();
+    }
+
+    /**
+     * Uses the drop option on a registered course, outside of an exam.
+     *
+     * @param courseNumber The 1-based position of the course in the course list.
+     * @return True if the course was dropped.
+     */
+    public boolean dropCourse(int courseNumber) {
+        requireInProgress();
+        if (exam != null) {
+            throw new IllegalStateException("Finish the current exam first.");
+        }
+        List<Course> courses = player.getCourseList();
+        if (courseNumber < 1 || courseNumber > courses.size()) {
+            throw new IllegalArgumentException("No course number " + courseNumber);
+        }
+        boolean dropped = player.dropCourse(courses.get(courseNumber - 1));
+        if (dropped) {
+            Leaderboard.get().record(id, player, gameController); // Dropping a passed course costs credits
+        }
+        return dropped;
+    }
+
+    /**
+     * Pauses the game. Actions other than resume are refused while it is paused.
+     *
+     * @return True if the game was in progress.
+     */
+    public boolean pause() {
+        return gameController.pauseGame();
+    }
+
+    /**
+     * Resumes a paused game.
+     *
+     * @return True if the game was paused.
+     */
+    public boolean resume() {
+        return gameController.resumeGame();
+    }
+
+    /**
+     * Captures the game for saving. Must run on the session's thread.
+     *
+     * @return A snapshot of the game.
+     */
+    public GameSnapshot toSnapshot() {
+        return new GameSnapshot(gameController, player, exam);
+    }
+
+    /**
+     * Ends the game.
+     */
+    public void endGame() {
+        if (!"Ended".equals(gameController.getGameStatus())) {
+            gameController.endGame();
+        }
+    }
+
+    /**
+     * Stops the session's thread. The session cannot be used afterwards.
+     */
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            GameMetrics.get().sessionClosed();
+        }
+        executor.shutdown();
+    }
+
+    private ExamSession requireExam() {
+        if (exam == null) {
+            throw new IllegalStateException("No exam in progress.");
+        }
+        return exam;
+    }
+
+    private void requireInProgress() {
+        if (!"In Progress".equals(gameController.getGameStatus())) {
+            throw new IllegalStateException("The game is " + gameController.getGameStatus() + ".");
+        }
+    }
+
+    /**
+     * Credits a finished exam and checks whether the player graduated or flunked out,
+     * as MiamiQuestGUI.checkGameStatus does, then updates the player's leaderboard standing.
+     */
+    private void finishExamIfDone() {
+        if (exam == null || !exam.isFinished()) {
+            return;
+        }
+        if (!exam.isDropped()) {
+            player.recordExamResult(exam.getCourse(), exam.isPassed());
+        }
+        exam = null;
+
+        if (player.canGraduate()) {
+            player.setGameWon(true);
+            gameController.endGame();
+        } else if (GameRules.DEFAULT.hasFlunkedOut(player.getFailedExams())) {
+            gameController.endGame();
+        }
+        Leaderboard.get().record(id, player, gameController);
+    }
+
+    /**
+     * Takes the player messages collected since the last call.
+     *
+     * @return The messages, oldest first.
+     */
+    public List<String> drainMessages() {
+        List<String> drained = new ArrayList<>(messages);
+        messages.clear();
+        return drained;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public GameController getGameController() {
+        return gameController;
+    }
+
+    public ExamSession getExam() {
+        return exam;
+    }
+
+    public long getLastAccess() {
+        return lastAccess;
+    }
+}
@@ -0,0 +1,302 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BooleanSupplier;
+
+/**
+ * @Class: GameSimulator
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/10/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The GameSimulator class plays many complete MiamiQuest games headlessly
+ * to help balance the game rules. Bots register courses, take exams through
+ * ExamSession and make drop decisions using a BotStrategy. The exams are
+ * unrecorded, so simulated answers stay out of GameMetrics, QuestionStats and the
+ * flight recorder. Games are split across all cores with fork/join. Each game has
+ * its own GameRandom whose seed comes from the root seed and the game number, so
+ * any single game or whole run can be replayed. runOnStore() plays the same games
+ * with each batch's players kept in a CourseStore instead of Player and Course
+ * objects; both models score exams and check graduation through GameRules.
+ * Run with: java GameSimulator [gamesPerScenario] [seed] [objects|store]
+ */
+public class GameSimulator {
+    private static final int GAMES_PER_TASK = 2_000; // Leaf size for fork/join splitting
+    private static final int MAX_COURSES = 100; // Games taking more courses are counted as stalled
+
+    private final GameRules rules;
+    private final BotStrategy strategy;
+    private final double hardShare; // Probability that a professor is hard
+
+    /**
+     * Creates a simulator for one scenario.
+     *
+     * @param rules     The rules the games are played under.
+     * @param strategy  How the bots answer and decide.
+     * @param hardShare The probability that a course's professor is hard.
+     */
+    public GameSimulator(GameRules rules, BotStrategy strategy, double hardShare) {
+        this.rules = rules;
+        this.strategy = strategy;
+        this.hardShare = hardShare;
+    }
+
+    /**
+     * Totals for a batch of simulated games.
+     */
+    public static final class Result {
+        long games;
+        long graduated;
+        long flunkedOut;
+        long stalled;
+        long coursesTaken;
+
+        Result add(Result other) {
+            games += other.games;
+            graduated += other.graduated;
+            flunkedOut += other.flunkedOut;
+            stalled += other.stalled;
+            coursesTaken += other.coursesTaken;
+            return this;
+        }
+
+        public long getGames() {
+            return games;
+        }
+
+        public double getGraduationRate() {
+            return games == 0 ? 0 : (double) graduated / games;
+        }
+
+        public double getFlunkOutRate() {
+            return games == 0 ? 0 : (double) flunkedOut / games;
+        }
+
+        public double getStallRate() {
+            return games == 0 ? 0 : (double) stalled / games;
+        }
+
+        public double getAverageCoursesTaken() {
+            return games == 0 ? 0 : (double) coursesTaken / games;
+        }
+    }
+
+    /**
+     * Plays the given number of games on the common fork/join pool.
+     *
+     * @param games The number of games to play.
+     * @param seed  The root seed; the same seed gives the same result.
+     * @return The totals.
+     */
+    public Result run(long games, long seed) {
+        return ForkJoinPool.commonPool().invoke(new Batch(0, games, seed, false));
+    }
+
+    /**
+     * Plays the given number of games on the common fork/join pool, keeping each
+     * batch's players in a CourseStore.
+     *
+     * @param games The number of games to play.
+     * @param seed  The root seed; the same seed gives the same result.
+     * @return The totals.
+     */
+    public Result runOnStore(long games, long seed) {
+        return ForkJoinPool.commonPool().invoke(new Batch(0, games, seed, true));
+    }
+
+    /**
+     * Splits a range of games in half until it is small enough to play directly.
+     */
+    private final class Batch extends RecursiveTask<Result> {
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+        private final long seed;
+        private final boolean onStore; // Keep the players in a CourseStore
+
+        Batch(long from, long to, long seed, boolean onStore) {
+            this.from = from;
+            this.to = to;
+            this.seed = seed;
+            this.onStore = onStore;
+        }
+
+        @Override
+        protected Result compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                Result result = new Result();
+                CourseStore store = onStore ? new CourseStore(MAX_COURSES, (int) (to - from)) : null;
+                for (long i = from; i < to; i++) {
+                    GameRandom gameRandom = new GameRandom(gameSeed(seed, i));
+                    if (store != null) {
+                        playGameOnStore(store, gameRandom, result);
+                    } else {
+                        playGame(gameRandom, result);
+                    }
+                }
+                return result;
+            }
+            long middle = (from + to) >>> 1;
+            Batch left = new Batch(from, middle, seed, onStore);
+            left.fork();
+            Result right = new Batch(middle, to, seed, onStore).compute();
+            return right.add(left.join());
+        }
+    }
+
+    /**
+     * Gets the root seed of one game in a run, so that game can be replayed alone.
+     *
+     * @param seed The run's root seed.
+     * @param game The game number within the run.
+     * @return The game's root seed.
+     */
+    public static long gameSeed(long seed, long game) {
+        return seed * 0x9E3779B97F4A7C15L + game;
+    }
+
+    /**
+     * Plays one game to graduation, flunking out or the course limit.
+     */
+    private void playGame(GameRandom gameRandom, Result result) {
+        Random professors = gameRandom.forProfessors();
+        Random shuffles = gameRandom.forShuffles();
+        Random random = gameRandom.split(); // The bot's own answers and decisions
+        Player player = new Player();
+        player.setRandom(gameRandom);
+        player.setMessageHandler(message -> { });
+        player.setRecorded(false);
+        player.setCourseFactory(type -> new Course(type, new Professor(professors.nextDouble() < hardShare ? "Hard" : "Easy")));
+
+        int courses = 0;
+        while (true) {
+            if (courses == MAX_COURSES) {
+                result.stalled++;
+                break;
+            }
+            Course course = player.registerCourse();
+            courses++;
+
+            ExamSession exam = new ExamSession(course, player, rules, shuffles, false);
+            while (!exam.isFinished()) {
+                if (exam.getState() == ExamSession.State.QUESTION) {
+                    exam.submit(strategy.answer(exam.nextQuestion(), random));
+                } else if (strategy.dropAfterFirstExam(exam.getPartScore(1), random)) {
+                    exam.drop();
+                } else {
+                    exam.continueExam();
+                }
+            }
+            if (!exam.isDropped()) {
+                player.recordExamResult(course, exam.isPassed());
+            }
+
+            if (player.canGraduate()) {
+                result.graduated++;
+                break;
+            }
+            if (rules.hasFlunkedOut(player.getFailedExams())) {
+                result.flunkedOut++;
+                break;
+            }
+        }
+        result.games++;
+        result.coursesTaken += courses;
+    }
+
+    /**
+     * Plays one game like playGame(), with the player kept in a CourseStore. The
+     * exam draws its questions from the same banks and is scored by the same rules;
+     * the bot sees the choices in bank order, which does not change how it answers.
+     */
+    private void playGameOnStore(CourseStore store, GameRandom gameRandom, Result result) {
+        Random professors = gameRandom.forProfessors();
+        Random shuffles = gameRandom.forShuffles();
+        Random random = gameRandom.split(); // The bot's own answers and decisions
+        BooleanSupplier hardProfessor = () -> professors.nextDouble() < hardShare;
+        int player = store.addPlayer();
+
+        int courses = 0;
+        while (true) {
+            if (courses == MAX_COURSES) {
+                result.stalled++;
+                break;
+            }
+            int position = store.registerCourse(player, hardProfessor);
+            courses++;
+
+            List<Question> bank = QuestionBank.forFile(Course.fileFor(store.getSubject(player, position))).getQuestions();
+            List<Question> form = ExamForm.sample(bank, rules.getExamSize(), shuffles);
+            boolean hard = store.getDifficulty(player, position) == CourseStore.HARD;
+            int first = takeExam(form, random);
+            if (hard && strategy.dropAfterFirstExam(first, random)) {
+                store.dropCourse(player, position);
+            } else {
+                store.finishExam(player, position, rules, first, hard ? takeExam(form, random) : 0);
+            }
+
+            if (store.canGraduate(player)) {
+                result.graduated++;
+                break;
+            }
+            if (rules.hasFlunkedOut(store.getFailedExams(player))) {
+                result.flunkedOut++;
+                break;
+            }
+        }
+        result.games++;
+        result.coursesTaken += courses;
+    }
+
+    /**
+     * Lets the bot answer every question on a form.
+     *
+     * @return The number of questions answered correctly.
+     */
+    private int takeExam(List<Question> form, Random random) {
+        int right = 0;
+        for (Question question : form) {
+            if (question.isCorrectChoice(strategy.answer(question, random).charAt(0) - 'A')) {
+                right++;
+            }
+        }
+        return right;
+    }
+
+    /**
+     * Runs every strategy against several difficulty mixes and prints a table.
+     *
+     * @param args Optional games per scenario (default 100000), root seed (default 42)
+     *             and player model: objects (default) or store.
+     */
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42;
+        boolean onStore = args.length > 2 && args[2].equals("store");
+        GameRules rules = GameRules.DEFAULT;
+        List<BotStrategy> strategies = Arrays.asList(
+                BotStrategy.random(),
+                BotStrategy.fixedAccuracy(0.5),
+                BotStrategy.fixedAccuracy(0.75),
+                BotStrategy.alwaysDropOnHard(BotStrategy.fixedAccuracy(0.75)));
+        double[] hardShares = { 0.0, 0.25, 0.5, 0.75, 1.0 };
+
+        System.out.println("Rules: " + rules + "; " + games + " games per scenario, seed " + seed
+                + ", " + ForkJoinPool.commonPool().getParallelism() + " workers");
+        System.out.printf("%-28s %6s %11s %11s %9s %12s %12s%n", "Strategy", "Hard", "Graduated", "Flunked", "Stalled", "Avg courses", "Games/sec");
+        for (BotStrategy strategy : strategies) {
+            for (double hardShare : hardShares) {
+                GameSimulator simulator = new GameSimulator(rules, strategy, hardShare);
+                long start = System.nanoTime();
+                Result result = onStore ? simulator.runOnStore(games, seed) : simulator.run(games, seed);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("%-28s %5.0f%% %10.1f%% %10.1f%% %8.1f%% %12.2f %12.0f%n",
+                        strategy.name(), hardShare * 100, result.getGraduationRate() * 100, result.getFlunkOutRate() * 100,
+                        result.getStallRate() * 100, result.getAverageCoursesTaken(), result.getGames() / seconds);
+            }
+        }
+    }
+}
@@ -0,0 +1,302 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * @Class: GameSnapshot
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/14/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The GameSnapshot class saves a whole paused game to a compact, versioned
+ * binary form and restores it, in this process or another one. A snapshot holds
+ * the GameController status and start time, the Player (through PlayerCodec), each
+ * course's professor difficulty and passed flag, the position of an exam in
+ * progress including the shown choice order, and (inside the player) the exact
+ * positions of the game's random streams. A typical game is a few hundred bytes.
+ *
+ * An exam refers to its questions by position in the course's bank, so it also
+ * stores a stamp of the questions and choices it drew. If the bank has changed by
+ * the time the game is restored, for example by a hot reload, the exam is left
+ * out and the game resumes between exams.
+ *
+ * Layout (big-endian): int magic, short version, byte status, long startSecond,
+ * int startNano, int playerLength, player, byte hasExam, exam
+ */
+public final class GameSnapshot {
+    private static final int MAGIC = 0x4D514753; // "MQGS"
+    private static final short VERSION = 3;
+    private static final String[] STATUSES = { null, "In Progress", "Paused", "Ended" };
+    private static final byte IN_COURSE_LIST = 0;
+    private static final byte IN_DROPPED_COURSES = 1;
+    private static final byte DETACHED = 2;
+
+    private final GameController gameController;
+    private final Player player;
+    private final ExamSession exam;
+    private final boolean examDiscarded; // Whether a saved exam was left out because its bank changed
+
+    /**
+     * Creates a snapshot of a game. Nothing is copied until the snapshot is written.
+     *
+     * @param gameController The game's controller.
+     * @param player         The game's player.
+     * @param exam           The exam in progress, or null.
+     */
+    public GameSnapshot(GameController gameController, Player player, ExamSession exam) {
+        this(gameController, player, exam, false);
+    }
+
+    private GameSnapshot(GameController gameController, Player player, ExamSession exam, boolean examDiscarded) {
+        this.gameController = gameController;
+        this.player = player;
+        this.exam = exam;
+        this.examDiscarded = examDiscarded;
+    }
+
+    public GameController getGameController() {
+        return gameController;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public ExamSession getExam() {
+        return exam;
+    }
+
+    /**
+     * Tells whether the saved game had an exam in progress that was left out
+     * because the course's questions changed since it was saved.
+     *
+     * @return True if the exam was left out.
+     */
+    public boolean isExamDiscarded() {
+        return examDiscarded;
+    }
+
+    /**
+     * Writes the game to a file through a FileChannel, replacing any earlier snapshot.
+     * The game is written beside the target, forced to disk and moved into place,
+     * so a crash leaves either the old snapshot or the new one, never half of one.
+     *
+     * @param file The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public void save(Path file) throws IOException {
+        ByteBuffer out = toBytes();
+        Path parent = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (out.hasRemaining()) {
+                    channel.write(out);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Reads a game saved by save().
+     *
+     * @param file The file to read.
+     * @return The restored game.
+     * @throws IOException If the file cannot be read or is not a game snapshot.
+     */
+    public static GameSnapshot load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer in = ByteBuffer.allocate((int) channel.size());
+            while (in.hasRemaining() && channel.read(in) >= 0) {
+                // Keep reading until the buffer is full
+            }
+            in.flip();
+            return fromBytes(in);
+        }
+    }
+
+    /**
+     * Encodes the game.
+     *
+     * @return A buffer ready to be read, holding the encoded game.
+     */
+    public ByteBuffer toBytes() {
+        int[] form = exam == null ? null : exam.getForm();
+        int[] choiceOrder = exam == null ? null : exam.getChoiceOrder();
+        int size = 4 + 2 + 1 + 8 + 4 + 4 + PlayerCodec.sizeOf(player) + 1;
+        if (exam != null) {
+            size += 1 + 4 + 3 + 5 * 4 + 1 + 1 + 2 + 2 + 2 + 4 + 1 + 8 + 2 + 4 * form.length + 1 + choiceOrder.length;
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.putInt(MAGIC).putShort(VERSION);
+        out.put(statusCode(gameController.getGameStatus()));
+        LocalDateTime startTime = gameController.getStartTime();
+        out.putLong(startTime == null ? Long.MIN_VALUE : startTime.toEpochSecond(ZoneOffset.UTC));
+        out.putInt(startTime == null ? 0 : startTime.getNano());
+        out.putInt(PlayerCodec.sizeOf(player));
+        PlayerCodec.write(out, player);
+
+        out.put((byte) (exam == null ? 0 : 1));
+        if (exam != null) {
+            writeCourseRef(out, exam.getCourse());
+            GameRules rules = exam.getRules();
+            out.putInt(rules.getExamSize()).putInt(rules.getPassingScore()).putInt(rules.getEasyExtraCredit())
+                    .putInt(rules.getHardExtraCredit()).putInt(rules.getMaxFailedExams());
+            out.put((byte) exam.getState().ordinal());
+            out.put((byte) exam.getPart());
+            out.putShort((short) exam.getQuestionIndex());
+            out.putShort((short) exam.getPartScore(1)).putShort((short) exam.getPartScore(2));
+            out.putInt(exam.getScore());
+            out.put((byte) ((exam.isPassed() ? 1 : 0) | (exam.isDropped() ? 2 : 0)));
+            out.putLong(stampOf(exam.getBank(), form));
+            out.putShort((short) form.length);
+            for (int index : form) {
+                out.putInt(index);
+            }
+            out.put((byte) choiceOrder.length);
+            for (int choice : choiceOrder) {
+                out.put((byte) choice);
+            }
+        }
+        out.flip();
+        return out;
+    }
+
+    /**
+     * Decodes a game written by toBytes().
+     *
+     * @param in The buffer to read from.
+     * @return The restored game.
+     * @throws IOException If the buffer does not hold a supported game snapshot.
+     */
+    public static GameSnapshot fromBytes(ByteBuffer in) throws IOException {
+        try {
+            return decode(in);
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt game snapshot: " + e, e);
+        }
+    }
+
+    private static GameSnapshot decode(ByteBuffer in) throws IOException {
+        if (in.remaining() < 6 || in.getInt() != MAGIC) {
+            throw new IOException("Not a game snapshot");
+        }
+        short version = in.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported game snapshot version " + version);
+        }
+
+        String status = STATUSES[in.get()];
+        long startSecond = in.getLong();
+        int startNano = in.getInt();
+        GameController gameController = new GameController();
+        gameController.restore(status, startSecond == Long.MIN_VALUE ? null : LocalDateTime.ofEpochSecond(startSecond, startNano, ZoneOffset.UTC));
+
+        int playerLength = in.getInt();
+        ByteBuffer playerBytes = in.slice();
+        playerBytes.limit(playerLength);
+        Player player = PlayerCodec.read(playerBytes);
+        in.position(in.position() + playerLength);
+
+        ExamSession exam = null;
+        if (in.get() == 1) {
+            Course course = readCourseRef(in, player);
+            GameRules rules = new GameRules(in.getInt(), in.getInt(), in.getInt(), in.getInt(), in.getInt());
+            ExamSession.State state = ExamSession.State.values()[in.get()];
+            int part = in.get();
+            int index = in.getShort();
+            int[] partScores = { in.getShort(), in.getShort() };
+            int score = in.getInt();
+            int flags = in.get();
+            long stamp = in.getLong();
+            int[] form = new int[in.getShort()];
+            for (int i = 0; i < form.length; i++) {
+                form[i] = in.getInt();
+            }
+            int[] choiceOrder = new int[in.get()];
+            for (int i = 0; i < choiceOrder.length; i++) {
+                choiceOrder[i] = in.get();
+            }
+            List<Question> bank = course.getQuestions();
+            if (stamp != stampOf(bank, form)) {
+                return new GameSnapshot(gameController, player, null, true);
+            }
+            exam = new ExamSession(course, player, rules, player.getRandom().forShuffles(), form, state, part, index,
+                    partScores, score, (flags & 1) != 0, (flags & 2) != 0, choiceOrder);
+        }
+        return new GameSnapshot(gameController, player, exam);
+    }
+
+    /**
+     * Hashes the text, choices and answer of each question on an exam form, in form
+     * order, so a restore can tell whether the bank still holds the same questions
+     * at the same positions.
+     *
+     * @return The stamp, or 0 if a position is outside the bank.
+     */
+    private static long stampOf(List<Question> bank, int[] form) {
+        long stamp = 1;
+        for (int index : form) {
+            if (index < 0 || index >= bank.size()) {
+                return 0;
+            }
+            Question question = bank.get(index);
+            stamp = 1_000_003 * stamp + question.getQuestionText().hashCode();
+            stamp = 1_000_003 * stamp + question.getCorrectAnswer().hashCode();
+            stamp = 1_000_003 * stamp + question.getChoices().hashCode();
+        }
+        return stamp;
+    }
+
+    /**
+     * Writes where the exam's course sits in the player's lists, so the restored
+     * exam refers to the same course object as the restored player.
+     */
+    private void writeCourseRef(ByteBuffer out, Course course) {
+        int index = player.indexOfCourse(course);
+        if (index >= 0) {
+            out.put(IN_COURSE_LIST).putInt(index);
+            out.put(new byte[3]);
+            return;
+        }
+        index = player.indexOfDroppedCourse(course);
+        if (index >= 0) {
+            out.put(IN_DROPPED_COURSES).putInt(index);
+            out.put(new byte[3]);
+            return;
+        }
+        out.put(DETACHED).putInt(0);
+        PlayerCodec.writeCourse(out, course);
+    }
+
+    private static Course readCourseRef(ByteBuffer in, Player player) {
+        byte where = in.get();
+        int index = in.getInt();
+        if (where == DETACHED) {
+            return PlayerCodec.readCourse(in);
+        }
+        in.position(in.position() + 3);
+        return where == IN_COURSE_LIST ? player.getCourseList().get(index) : player.getDroppedCourses().get(index);
+    }
+
+    private static byte statusCode(String status) {
+        for (byte i = 1; i < STATUSES.length; i++) {
+            if (STATUSES[i].equals(status)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,103 @@
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * @Class: JfrEventCheck
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/17/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The JfrEventCheck class starts a flight recording, plays a few players
+ * through course registrations and exams, reads the recording back and prints
+ * how many of each MiamiQuest event it holds, with one example of each. The same
+ * events can be recorded from the real game with
+ * java -XX:StartFlightRecording=filename=game.jfr MiamiQuestGUI
+ * and viewed with: jfr print --categories MiamiQuest game.jfr
+ * Run with: java JfrEventCheck [players]
+ */
+public class JfrEventCheck {
+    private static final String[] EVENTS = {
+            "miamiquest.CourseRegistration", "miamiquest.BankRead", "miamiquest.ChoicesBuilt",
+            "miamiquest.ExamSetup", "miamiquest.ExamTaken", "miamiquest.QuestionAnswered" };
+
+    /**
+     * Runs the check. Exits with status 1 if any event type is missing from the recording.
+     *
+     * @param args Optional number of players (default 20).
+     */
+    public static void main(String[] args) throws IOException {
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        Path file = Files.createTempFile("miamiquest", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String event : EVENTS) {
+                recording.enable(event).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+            play(players);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        Map<String, Integer> counts = new TreeMap<>();
+        Map<String, RecordedEvent> examples = new TreeMap<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            String name = event.getEventType().getName();
+            counts.merge(name, 1, Integer::sum);
+            examples.putIfAbsent(name, event);
+        }
+        Files.delete(file);
+
+        boolean missing = false;
+        for (String name : EVENTS) {
+            int count = counts.getOrDefault(name, 0);
+            System.out.printf("%-32s %6d%n", name, count);
+            missing |= count == 0;
+        }
+        for (RecordedEvent event : examples.values()) {
+            System.out.println(event);
+        }
+        if (missing) {
+            System.err.println("JfrEventCheck: some events were not recorded");
+            System.exit(1);
+        }
+        System.out.println("JfrEventCheck: every event type was recorded");
+    }
+
+    /**
+     * Registers every player for each subject and answers their exams at random,
+     * dropping half of the hard courses after the first exam.
+     */
+    private static void play(int players) {
+        Random answers = new Random(20241217L);
+        // Not used by the game itself, which reads banks through QuestionBank
+        new Quizzes().readQuestions(Course.fileFor(1));
+        for (int p = 0; p < players; p++) {
+            Player player = new Player();
+            player.setRandom(new GameRandom(p));
+            player.setMessageHandler(message -> { });
+            for (int c = 0; c < Course.COURSE_TYPES; c++) {
+                Course course = player.registerCourse();
+                ExamSession session = new ExamSession(course, player, GameRules.forExamSize(Exam.DEFAULT_EXAM_SIZE),
+                        player.getRandom().forShuffles());
+                while (!session.isFinished()) {
+                    if (session.getState() == ExamSession.State.QUESTION) {
+                        session.submit(String.valueOf((char) ('A' + answers.nextInt(4))));
+                    } else if (answers.nextBoolean()) {
+                        session.drop();
+                    } else {
+                        session.continueExam();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,303 @@
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * @Class: Leaderboard
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/20/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The Leaderboard class ranks every player in the process. Graduates come
+ * first, fastest time to graduate (whole seconds from GameController's start time)
+ * first; everyone else is ranked by credits, then courses passed, then fewest
+ * failed exams. Players with the same standing share a rank.
+ *
+ * There is no global lock. Each player's standing is swapped under its own key in
+ * a ConcurrentHashMap, the board is a ConcurrentSkipListMap for top-K queries, and
+ * "my rank" comes from a Fenwick tree of atomic counts over every possible
+ * standing, so it costs about 18 reads however many players there are. A query
+ * racing an update may see the moving player in both places or in neither; every
+ * other player is counted exactly.
+ */
+public final class Leaderboard {
+    private static final int GRADUATE_SLOTS = 1 << 17; // Whole seconds to graduate; slower graduates share the last slot
+    private static final int MAX_CREDITS = 63; // Credits, courses passed and failures above these share a slot
+    private static final int MAX_PASSED = 31;
+    private static final int MAX_FAILED = 7;
+    private static final int SLOTS = GRADUATE_SLOTS + (MAX_CREDITS + 1) * (MAX_PASSED + 1) * (MAX_FAILED + 1);
+
+    private static final Leaderboard INSTANCE = new Leaderboard();
+
+    private final ConcurrentHashMap<String, Entry> players = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Entry, Entry> board = new ConcurrentSkipListMap<>( // Latest entry by slot and ID
+            Comparator.comparingInt((Entry entry) -> entry.slot).thenComparing(entry -> entry.playerId));
+    private final AtomicIntegerArray counts = new AtomicIntegerArray(SLOTS + 1); // Fenwick tree of players per slot, 1-based
+
+    /**
+     * One player's standing as stored on the board.
+     */
+    private static final class Entry {
+        final String playerId;
+        final int credits;
+        final int coursesPassed;
+        final int failedExams;
+        final long graduateMillis; // Time to graduate, or -1 if not graduated
+        final int slot; // Position of the standing in rank order; lower is better
+
+        Entry(String playerId, int credits, int coursesPassed, int failedExams, long graduateMillis) {
+            this.playerId = playerId;
+            this.credits = credits;
+            this.coursesPassed = coursesPassed;
+            this.failedExams = failedExams;
+            this.graduateMillis = graduateMillis;
+            this.slot = slotOf(credits, coursesPassed, failedExams, graduateMillis);
+        }
+
+        boolean sameAs(Entry other) {
+            return credits == other.credits && coursesPassed == other.coursesPassed
+                    && failedExams == other.failedExams && graduateMillis == other.graduateMillis;
+        }
+    }
+
+    /**
+     * A player's standing and rank at the time of a query.
+     */
+    public static final class Standing {
+        private final int rank;
+        private final String playerId;
+        private final int credits;
+        private final int coursesPassed;
+        private final int failedExams;
+        private final long graduateMillis;
+
+        private Standing(Entry entry, int rank) {
+            this.rank = rank;
+            this.playerId = entry.playerId;
+            this.credits = entry.credits;
+            this.coursesPassed = entry.coursesPassed;
+            this.failedExams = entry.failedExams;
+            this.graduateMillis = entry.graduateMillis;
+        }
+
+        /**
+         * Gets the rank, where 1 is best and tied players share a rank.
+         *
+         * @return The rank.
+         */
+        public int getRank() {
+            return rank;
+        }
+
+        public String getPlayerId() {
+            return playerId;
+        }
+
+        public int getCredits() {
+            return credits;
+        }
+
+        public int getCoursesPassed() {
+            return coursesPassed;
+        }
+
+        public int getFailedExams() {
+            return failedExams;
+        }
+
+        public boolean isGraduated() {
+            return graduateMillis >= 0;
+        }
+
+        /**
+         * Gets how long the player took to graduate.
+         *
+         * @return The time in milliseconds, or -1 if the player has not graduated.
+         */
+        public long getGraduateMillis() {
+            return graduateMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%5d  %-36s %3d credits %2d passed %d failed%s", rank, playerId, credits, coursesPassed,
+                    failedExams, isGraduated() ? String.format("  graduated in %.1f s", graduateMillis / 1000.0) : "");
+        }
+    }
+
+    /**
+     * Creates an empty leaderboard. The game uses the shared one from get().
+     */
+    public Leaderboard() {
+    }
+
+    /**
+     * Gets the process-wide leaderboard that game sessions report to.
+     *
+     * @return The shared leaderboard.
+     */
+    public static Leaderboard get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Records a player's current standing. Must run on the thread that owns the
+     * player, such as its GameSession thread. A player who has won keeps the time
+     * to graduate from the first update that saw the win.
+     *
+     * @param playerId       The player's ID, such as the session ID.
+     * @param player         The player.
+     * @param gameController The player's game, for its start time.
+     */
+    public void record(String playerId, Player player, GameController gameController) {
+        long graduateMillis = -1;
+        LocalDateTime startTime = gameController.getStartTime();
+        if (player.isGameWon() && startTime != null) {
+            graduateMillis = Math.max(0, Duration.between(startTime, LocalDateTime.now()).toMillis());
+        }
+        update(playerId, player.getCredits(), player.getPassedCourseCount(), player.getFailedExams(), graduateMillis);
+    }
+
+    /**
+     * Sets a player's standing, adding the player if needed. Only updates to the
+     * same player, or to players sharing a hash bin, wait for each other.
+     *
+     * @param playerId       The player's ID.
+     * @param credits        Credits earned.
+     * @param coursesPassed  Courses passed.
+     * @param failedExams    Exams failed.
+     * @param graduateMillis Time to graduate, or -1 if not graduated.
+     */
+    public void update(String playerId, int credits, int coursesPassed, int failedExams, long graduateMillis) {
+        players.compute(playerId, (id, previous) -> {
+            long graduated = previous != null && previous.graduateMillis >= 0 ? previous.graduateMillis : graduateMillis;
+            Entry entry = new Entry(id, credits, coursesPassed, failedExams, graduated);
+            if (previous != null && previous.sameAs(entry)) {
+                return previous;
+            }
+            // Put before removing, so top-K sees the player twice for a moment rather than not at all.
+            // In the same slot the put replaces the previous entry.
+            board.put(entry, entry);
+            if (previous == null || previous.slot != entry.slot) {
+                if (previous != null) {
+                    board.remove(previous);
+                    add(previous.slot, -1);
+                }
+                add(entry.slot, 1);
+            }
+            return entry;
+        });
+    }
+
+    /**
+     * Takes a player off the board.
+     *
+     * @param playerId The player's ID.
+     */
+    public void remove(String playerId) {
+        players.computeIfPresent(playerId, (id, previous) -> {
+            board.remove(previous);
+            add(previous.slot, -1);
+            return null;
+        });
+    }
+
+    /**
+     * Lists the best players, best first.
+     *
+     * @param k The most players to list.
+     * @return Up to k standings with their ranks.
+     */
+    public List<Standing> top(int k) {
+        List<Standing> top = new ArrayList<>(Math.min(k, 1024));
+        Set<String> seen = new HashSet<>();
+        Entry last = null;
+        int rank = 0;
+        for (Entry entry : board.values()) {
+            if (top.size() >= k) {
+                break;
+            }
+            if (!seen.add(entry.playerId)) {
+                continue; // The player's old position, left by an update in progress
+            }
+            if (last == null || last.slot != entry.slot) {
+                rank = top.size() + 1;
+            }
+            top.add(new Standing(entry, rank));
+            last = entry;
+        }
+        return top;
+    }
+
+    /**
+     * Gets a player's standing and rank.
+     *
+     * @param playerId The player's ID.
+     * @return The standing, or null if the player is not on the board.
+     */
+    public Standing standingOf(String playerId) {
+        Entry entry = players.get(playerId);
+        return entry == null ? null : new Standing(entry, 1 + countBefore(entry.slot));
+    }
+
+    /**
+     * Gets a player's rank.
+     *
+     * @param playerId The player's ID.
+     * @return The rank, where 1 is best, or 0 if the player is not on the board.
+     */
+    public int rankOf(String playerId) {
+        Entry entry = players.get(playerId);
+        return entry == null ? 0 : 1 + countBefore(entry.slot);
+    }
+
+    /**
+     * Gets the number of players on the board.
+     *
+     * @return The player count.
+     */
+    public int size() {
+        return players.size();
+    }
+
+    /**
+     * Maps a standing to its slot. Graduates fill the first GRADUATE_SLOTS slots by
+     * seconds to graduate; the rest follow by credits, courses passed and failures.
+     */
+    static int slotOf(int credits, int coursesPassed, int failedExams, long graduateMillis) {
+        if (graduateMillis >= 0) {
+            return (int) Math.min(graduateMillis / 1000, GRADUATE_SLOTS - 1);
+        }
+        int creditRank = MAX_CREDITS - Math.max(0, Math.min(credits, MAX_CREDITS));
+        int passedRank = MAX_PASSED - Math.max(0, Math.min(coursesPassed, MAX_PASSED));
+        int failedRank = Math.max(0, Math.min(failedExams, MAX_FAILED));
+        return GRADUATE_SLOTS + (creditRank * (MAX_PASSED + 1) + passedRank) * (MAX_FAILED + 1) + failedRank;
+    }
+
+    /**
+     * Adds to the count of players in a slot.
+     */
+    private void add(int slot, int delta) {
+        for (int i = slot + 1; i <= SLOTS; i += i & -i) {
+            counts.getAndAdd(i, delta);
+        }
+    }
+
+    /**
+     * Counts the players in slots before the given one.
+     */
+    private int countBefore(int slot) {
+        int count = 0;
+        for (int i = slot; i > 0; i -= i & -i) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+}
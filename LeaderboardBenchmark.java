@@ -0,0 +1,253 @@
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @Class: LeaderboardBenchmark
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/20/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The LeaderboardBenchmark class measures Leaderboard under mixed
+ * workloads: many threads updating standings, as finished exams do, while others
+ * ask for the top 10 and for single ranks. Each mix is also run against a board
+ * behind one lock (a TreeSet, ranking by counting the players ahead), the obvious
+ * alternative. Before timing, it fills a board from several threads and checks
+ * every rank and the top 100 against a sort of the final standings, exiting with
+ * status 1 on a mismatch.
+ * Run with: java LeaderboardBenchmark [players] [threads] [secondsPerMix]
+ */
+public class LeaderboardBenchmark {
+    private static final int[] WRITE_PERCENTS = { 90, 50, 10 };
+    private static final int TOP = 10;
+    private static final int CHECK_UPDATES = 400_000;
+
+    /**
+     * The operations both boards support.
+     */
+    private interface Board {
+        void update(String playerId, int credits, int coursesPassed, int failedExams, long graduateMillis);
+
+        List<?> top(int k);
+
+        int rankOf(String playerId);
+    }
+
+    /**
+     * A board behind one lock, for comparison.
+     */
+    private static final class LockedBoard implements Board {
+        private final Map<String, long[]> players = new HashMap<>(); // Slot and ID number per player
+        private final TreeSet<long[]> board = new TreeSet<>(Comparator.<long[]>comparingLong(entry -> entry[0]).thenComparingLong(entry -> entry[1]));
+
+        @Override
+        public synchronized void update(String playerId, int credits, int coursesPassed, int failedExams, long graduateMillis) {
+            long[] previous = players.get(playerId);
+            if (previous != null) {
+                board.remove(previous);
+            }
+            long[] entry = { Leaderboard.slotOf(credits, coursesPassed, failedExams, graduateMillis), playerId.hashCode() };
+            players.put(playerId, entry);
+            board.add(entry);
+        }
+
+        @Override
+        public synchronized List<?> top(int k) {
+            return List.copyOf(board.stream().limit(k).toList());
+        }
+
+        @Override
+        public synchronized int rankOf(String playerId) {
+            long[] entry = players.get(playerId);
+            return entry == null ? 0 : 1 + board.headSet(new long[] { entry[0], Long.MIN_VALUE }).size();
+        }
+    }
+
+    /**
+     * Checks the leaderboard, then runs each mix against both boards.
+     *
+     * @param args Optional player count (default 100000), thread count (default 8)
+     *             and seconds per mix (default 3).
+     * @throws InterruptedException If interrupted while waiting for the threads.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        String[] ids = new String[players];
+        for (int i = 0; i < players; i++) {
+            ids[i] = "player-" + i;
+        }
+
+        check(ids, threads);
+
+        System.out.printf("Board: %d players, %d threads, %d cores, %d s per mix%n", players, threads,
+                Runtime.getRuntime().availableProcessors(), seconds);
+        for (int writePercent : WRITE_PERCENTS) {
+            System.out.printf("%d%% updates, %d%% top %d, %d%% rank%n", writePercent, (100 - writePercent) / 2, TOP, (100 - writePercent) / 2);
+            Leaderboard leaderboard = new Leaderboard();
+            run("Leaderboard", new Board() {
+                @Override
+                public void update(String playerId, int credits, int coursesPassed, int failedExams, long graduateMillis) {
+                    leaderboard.update(playerId, credits, coursesPassed, failedExams, graduateMillis);
+                }
+
+                @Override
+                public List<?> top(int k) {
+                    return leaderboard.top(k);
+                }
+
+                @Override
+                public int rankOf(String playerId) {
+                    return leaderboard.rankOf(playerId);
+                }
+            }, ids, threads, seconds, writePercent);
+            run("One lock", new LockedBoard(), ids, threads, seconds, writePercent);
+        }
+    }
+
+    /**
+     * Fills a board from several threads, each owning every threads-th player so
+     * the final standings are known, then compares ranks with a sort.
+     */
+    private static void check(String[] ids, int threads) throws InterruptedException {
+        Leaderboard leaderboard = new Leaderboard();
+        int[] slots = new int[ids.length]; // Expected slot per player, or -1 if never updated
+        Arrays.fill(slots, -1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            workers[t] = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(thread);
+                boolean[] graduated = new boolean[ids.length];
+                for (int n = 0; n < CHECK_UPDATES / threads; n++) {
+                    int i = random.nextInt(ids.length);
+                    if (i % threads != thread) {
+                        continue;
+                    }
+                    int[] standing = standing(random);
+                    long graduateMillis = standing[3] == 0 ? random.nextLong(2 * 3_600_000) : -1;
+                    leaderboard.update(ids[i], standing[0], standing[1], standing[2], graduateMillis);
+                    if (!graduated[i]) { // A graduate keeps the first time to graduate, so the slot
+                        slots[i] = Leaderboard.slotOf(standing[0], standing[1], standing[2], graduateMillis);
+                        graduated[i] = graduateMillis >= 0;
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        int count = (int) Arrays.stream(slots).filter(slot -> slot >= 0).count();
+        int[] sorted = Arrays.stream(slots).filter(slot -> slot >= 0).sorted().toArray();
+        verify(leaderboard.size() == count, "the board has " + leaderboard.size() + " players, expected " + count);
+        for (int i = 0; i < ids.length; i++) {
+            int expected = slots[i] < 0 ? 0 : 1 + lowerBound(sorted, slots[i]);
+            verify(leaderboard.rankOf(ids[i]) == expected, ids[i] + " has rank " + leaderboard.rankOf(ids[i]) + ", expected " + expected);
+        }
+        List<Leaderboard.Standing> top = leaderboard.top(100);
+        verify(top.size() == Math.min(100, count), "the top 100 has " + top.size() + " players");
+        for (Leaderboard.Standing standing : top) {
+            verify(standing.getRank() == leaderboard.rankOf(standing.getPlayerId()),
+                    standing.getPlayerId() + " is listed at rank " + standing.getRank() + " but has rank " + leaderboard.rankOf(standing.getPlayerId()));
+        }
+        for (int i = 1; i < top.size(); i++) {
+            verify(top.get(i - 1).getRank() <= top.get(i).getRank(), "the top 100 is out of order at " + i);
+        }
+        System.out.printf("Checked %d ranks and the top %d after %d concurrent updates%n", count, top.size(), CHECK_UPDATES);
+    }
+
+    /**
+     * Runs a mix of updates and queries from several threads for a while and
+     * prints the throughput.
+     */
+    private static void run(String name, Board board, String[] ids, int threads, int seconds, int writePercent) throws InterruptedException {
+        SplittableRandom seed = new SplittableRandom(42);
+        for (String id : ids) {
+            int[] standing = standing(seed);
+            board.update(id, standing[0], standing[1], standing[2], -1);
+        }
+
+        AtomicBoolean stop = new AtomicBoolean();
+        LongAdder updates = new LongAdder();
+        LongAdder queries = new LongAdder();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            SplittableRandom random = seed.split();
+            workers[t] = new Thread(() -> {
+                long updated = 0;
+                long queried = 0;
+                long sink = 0;
+                while (!stop.get()) {
+                    String id = ids[random.nextInt(ids.length)];
+                    int roll = random.nextInt(100);
+                    if (roll < writePercent) {
+                        int[] standing = standing(random);
+                        board.update(id, standing[0], standing[1], standing[2], -1);
+                        updated++;
+                    } else if ((roll & 1) == 0) {
+                        sink += board.top(TOP).size();
+                        queried++;
+                    } else {
+                        sink += board.rankOf(id);
+                        queried++;
+                    }
+                }
+                updates.add(updated);
+                queries.add(queried + (sink == 42 ? 1 : 0));
+            });
+        }
+        long start = System.nanoTime();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        Thread.sleep(seconds * 1000L);
+        stop.set(true);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        System.out.printf("  %-12s %10.0f updates/s %10.0f queries/s%n", name, updates.sum() / elapsed, queries.sum() / elapsed);
+    }
+
+    /**
+     * Draws a standing partway through a game: credits, courses passed, failed exams
+     * and, as 0 about one time in twenty, a graduation flag.
+     */
+    private static int[] standing(SplittableRandom random) {
+        int passed = random.nextInt(6);
+        return new int[] { passed * 3 + random.nextInt(5) - 2, passed, random.nextInt(3), random.nextInt(20) };
+    }
+
+    /**
+     * Finds the first index holding a value not less than the key.
+     */
+    private static int lowerBound(int[] sorted, int key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static void verify(boolean condition, String message) {
+        if (!condition) {
+            System.err.println("LeaderboardBenchmark failed: " + message);
+            System.exit(1);
+        }
+    }
+}
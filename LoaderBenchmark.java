@@ -0,0 +1,71 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * @Class: LoaderBenchmark
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/3/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The LoaderBenchmark class compares the Scanner based Quizzes.readQuestions
+ * with QuestionFileReader on a generated bank, reporting load time and bytes
+ * allocated per MB of input. Run with: java LoaderBenchmark [lines]
+ */
+public class LoaderBenchmark {
+
+    /**
+     * Generates a bank, warms up both loaders and prints the measurements.
+     *
+     * @param args Optional number of lines to generate (default 500000).
+     * @throws IOException If the temporary bank cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        int lines = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        Path file = Files.createTempFile("bank", ".txt");
+        try {
+            try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                for (int i = 0; i < lines; i++) {
+                    out.write("What is the answer to question number " + i + "?, Answer " + (i % 5000) + "\n");
+                }
+            }
+            double megabytes = Files.size(file) / (1024.0 * 1024.0);
+            String path = file.toString();
+
+            PrintStream stdout = System.out;
+            Quizzes quizzes = new Quizzes();
+            QuestionFileReader reader = new QuestionFileReader();
+            for (int i = 0; i < 3; i++) {
+                quizzes.readQuestions(path);
+                reader.readQuestions(path);
+            }
+
+            stdout.printf("Bank: %d lines, %.1f MB%n", lines, megabytes);
+            report(stdout, "Scanner", megabytes, () -> quizzes.readQuestions(path));
+            report(stdout, "FileChannel", megabytes, () -> reader.readQuestions(path));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Times one load and prints elapsed time and allocation per MB.
+     */
+    static void report(PrintStream out, String name, double megabytes, Supplier<Map<String, String>> load) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().getId();
+        long bytesBefore = threads.getThreadAllocatedBytes(tid);
+        long start = System.nanoTime();
+        int size = load.get().size();
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(tid) - bytesBefore;
+        out.printf("%-12s %8.1f ms  %8.1f MB/s  %10.0f bytes allocated per MB  (%d questions)%n",
+                name, elapsed / 1e6, megabytes / (elapsed / 1e9), allocated / megabytes, size);
+    }
+}
@@ -1,7 +1,13 @@
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * @Class: MiamiQuestGUI
@@ -9,34 +15,97 @@ import java.util.List;
  * @Version: 1.0
  * @Written: 11/30/2024
  * @Course: CSE 201B: Intro to Software Engineering
- * @Purpose: The MiamiQuestGUI class serves as the main graphical user interface for the
- * MiamiQuest game. It provides buttons and display areas for user interaction,
+ * @Purpose: The MiamiQuestGUI class serves as the main graphical user interface for
+ * the MiamiQuest game. It provides buttons and display areas for user interaction,
  * allowing players to navigate through the game, register for courses, take exams,
- * check credits, and more.
+ * check credits, and more. Exams run in an ExamPanel inside the window; their
+ * question loading and answers are handled on a background worker so the window never
+ * freezes, and the worst event dispatch thread stall of each exam is measured and
+ * published through GameMetrics. The player is written to a PlayerLog as it changes,
+ * so closing the window or a crash does not lose the game: the next launch resumes it
+ * between exams.
  */
 public class MiamiQuestGUI extends JFrame {
     private Player player;
     private GameController gameController;
 
-    private JTextArea displayArea;
+    private GameConsole displayArea;
+    private ExamPanel examPanel;
+    private final ExecutorService examWorker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "exam-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private EdtStallMonitor stallMonitor; // Measures how long the running exam blocks the window, or null between exams
+    private final StartupMetrics startupMetrics; // Time to first frame and first question
+    private final PlayerLog playerLog; // Logs the player so the game survives an exit or crash, or null
+    private final long playerLogId; // The player's ID in the log
     private JButton startButton, registerCourseButton, checkCreditsButton, displayCoursesButton, retakeExamButton, dropCourseButton, helpButton, clearConsoleButton, exitButton;
 
     /**
      * Constructor to initialize the GUI components and layout.
      */
     public MiamiQuestGUI() {
-        player = new Player();
+        this(new GameRandom());
+    }
+
+    /**
+     * Constructor to initialize the GUI with the given random streams, for example
+     * to replay a game from its recorded seed.
+     *
+     * @param random The game's random streams.
+     */
+    public MiamiQuestGUI(GameRandom random) {
+        this(random, new StartupMetrics(false));
+    }
+
+    /**
+     * Constructor to initialize the GUI with the given random streams and startup
+     * metrics to record the first frame and first question into.
+     *
+     * @param random         The game's random streams.
+     * @param startupMetrics The metrics for this run.
+     */
+    public MiamiQuestGUI(GameRandom random, StartupMetrics startupMetrics) {
+        this(playerWith(random), startupMetrics, null, -1);
+    }
+
+    /**
+     * Constructor to initialize the GUI for a player kept in a PlayerLog, either a
+     * new one just attached or one recovered from the log and attached again.
+     *
+     * @param player         The player.
+     * @param startupMetrics The metrics for this run.
+     * @param playerLog      The log the player is attached to, or null.
+     * @param playerLogId    The player's ID in the log.
+     */
+    public MiamiQuestGUI(Player player, StartupMetrics startupMetrics, PlayerLog playerLog, long playerLogId) {
+        this.startupMetrics = startupMetrics;
+        this.player = player;
+        this.playerLog = playerLog;
+        this.playerLogId = playerLogId;
         gameController = new GameController();
+        displayArea = new GameConsole(); // Keeps the last GameConsole.DEFAULT_CAPACITY lines
+        player.setMessageHandler(message -> displayArea.append(message + "\n")); // No modal dialogs from the exam worker
 
         setTitle("MiamiQuest Game");
         setSize(800, 600);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                exitGame(); // Writes the player's queued changes before the process exits
+            }
+        });
         setLocationRelativeTo(null); // Center the window
 
-        // Create display area
-        displayArea = new JTextArea();
-        displayArea.setEditable(false);
-        displayArea.setFont(new Font("Monospaced", Font.PLAIN, 14));
+        // Create display area and the exam panel, hidden until an exam starts
+        examPanel = new ExamPanel(examWorker);
+        examPanel.setStepListener(step -> {
+            if (step.state == ExamSession.State.QUESTION) {
+                startupMetrics.markFirstQuestion();
+            }
+        });
         JScrollPane scrollPane = new JScrollPane(displayArea);
 
         // Initialize buttons
@@ -65,7 +134,7 @@ public class MiamiQuestGUI extends JFrame {
         retakeExamButton.addActionListener(e -> retakeExam());
         dropCourseButton.addActionListener(e -> dropCourse());
         helpButton.addActionListener(e -> displayHelpMenu());
-        clearConsoleButton.addActionListener(e -> displayArea.setText(""));
+        clearConsoleButton.addActionListener(e -> displayArea.clear());
         exitButton.addActionListener(e -> exitGame());
 
         // Layout setup
@@ -82,16 +151,33 @@ public class MiamiQuestGUI extends JFrame {
         buttonPanel.add(exitButton);
 
         getContentPane().setLayout(new BorderLayout());
+        getContentPane().add(examPanel, BorderLayout.NORTH);
         getContentPane().add(scrollPane, BorderLayout.CENTER);
         getContentPane().add(buttonPanel, BorderLayout.SOUTH);
     }
 
+    private static boolean isOver(Player player) {
+        return player.isGameWon() || GameRules.DEFAULT.hasFlunkedOut(player.getFailedExams());
+    }
+
+    private static Player playerWith(GameRandom random) {
+        Player player = new Player();
+        player.setRandom(random);
+        return player;
+    }
+
     /**
      * Starts the game by initializing game state and enabling relevant buttons.
      */
     private void startGame() {
         gameController.startGame();
+        if (startupMetrics.isVerbose()) {
+            System.out.println("Game seed: " + player.getRandom().getSeed());
+        }
         displayArea.append("Game started!\n\n");
+        if (!player.getCourseList().isEmpty() || !player.getDroppedCourses().isEmpty()) {
+            displayArea.append("Resumed your saved game with " + player.getCredits() + " credits.\n\n");
+        }
         startButton.setEnabled(false);
         registerCourseButton.setEnabled(true);
         checkCreditsButton.setEnabled(true);
@@ -131,8 +217,7 @@ public class MiamiQuestGUI extends JFrame {
         // Prompt to start the exam
         int response = JOptionPane.showConfirmDialog(this, "Do you want to take the exam now?", "Start Exam", JOptionPane.YES_NO_OPTION);
         if (response == JOptionPane.YES_OPTION) {
-            player.takeExam();
-            checkGameStatus();
+            startExam(newCourse);
         } else {
             displayArea.append("You chose not to take the exam now.\n\n");
         }
@@ -168,15 +253,50 @@ public class MiamiQuestGUI extends JFrame {
      * Allows the player to retake an exam if possible.
      */
     private void retakeExam() {
-        boolean retakeSuccessful = player.retakeExam();
-        if (retakeSuccessful) {
+        Course failedCourse = player.useRetakeOption();
+        if (failedCourse != null) {
             displayArea.append("Retaking the exam...\n");
-            checkGameStatus();
+            startExam(failedCourse);
         } else {
             displayArea.append("You have already used your retake option or have no failed courses.\n\n");
         }
     }
 
+    /**
+     * Opens the exam panel for a course. The game buttons stay disabled until the
+     * player closes the result.
+     *
+     * @param course The course to take the exam for.
+     */
+    private void startExam(Course course) {
+        startupMetrics.markExamRequested();
+        setGameButtonsEnabled(false);
+        stallMonitor = new EdtStallMonitor();
+        examPanel.start(course, player, GameRules.DEFAULT, session -> finishExam(course, session));
+    }
+
+    /**
+     * Credits a closed exam and checks whether the game is over. The exam's worst
+     * event thread stall is published through GameMetrics, and printed only with
+     * --verbose.
+     *
+     * @param course  The course the exam was for.
+     * @param session The finished session, or null if the exam could not be loaded.
+     */
+    private void finishExam(Course course, ExamSession session) {
+        stallMonitor.close();
+        GameMetrics.get().examStallMeasured(stallMonitor.getWorstStallNanos());
+        if (startupMetrics.isVerbose()) {
+            System.out.printf("Worst EDT stall during the %s exam: %.1f ms%n", course.getName(), stallMonitor.getWorstStallMillis());
+        }
+        stallMonitor = null;
+        if (session != null && !session.isDropped()) {
+            player.recordExamResult(course, session.isPassed());
+        }
+        setGameButtonsEnabled(true);
+        checkGameStatus();
+    }
+
     /**
      * Allows the player to drop a course if possible.
      */
@@ -221,9 +341,9 @@ public class MiamiQuestGUI extends JFrame {
                 + "- Use retake option to retake failed exams.\n"
                 + "- Drop courses if needed, but you'll have to retake them later.\n"
                 + "\nGame Rules:\n"
-                + "- Earn 12 credit points and pass at least 4 courses to graduate.\n"
-                + "- Passing a class earns you 3 credit points.\n"
-                + "- Pass classes by scoring at least 6 out of 10 on exams.\n"
+                + "- Earn " + GameRules.CREDITS_TO_GRADUATE + " credit points and pass at least " + GameRules.COURSES_TO_GRADUATE + " courses to graduate.\n"
+                + "- Passing a class earns you " + GameRules.CREDITS_PER_COURSE + " credit points.\n"
+                + "- Pass classes by scoring at least " + GameRules.DEFAULT.getPassingScore() + " out of " + GameRules.DEFAULT.getExamSize() + " on exams.\n"
                 + "- Hard courses require taking two exams. After the first exam, you can choose to drop the course or proceed to the second exam.\n"
                 + "- Dropping a course adds it to your dropped courses list, which you must retake before registering for new courses.\n"
                 + "\nTips:\n"
@@ -243,42 +363,159 @@ public class MiamiQuestGUI extends JFrame {
             displayArea.append("Congratulations! You are eligible to graduate.\n");
             gameController.endGame();
             disableGameButtons();
+            forgetPlayer();
             JOptionPane.showMessageDialog(this, "Congratulations! You have graduated from MiamiQuest!");
-        } else if (player.getFailedExams() > 2) {
+        } else if (GameRules.DEFAULT.hasFlunkedOut(player.getFailedExams())) {
             displayArea.append("You've failed multiple classes and flunked out. You lose.\n");
             gameController.endGame();
             disableGameButtons();
+            forgetPlayer();
             JOptionPane.showMessageDialog(this, "You've failed multiple classes and flunked out. You lose.");
         }
     }
 
+    /**
+     * Removes a finished game from the player log, so the next launch starts a new one.
+     */
+    private void forgetPlayer() {
+        if (playerLog == null) {
+            return;
+        }
+        try {
+            playerLog.removeQueued(playerLogId, player); // Written by the log's flusher, not on the event thread
+        } catch (IOException e) {
+            System.err.println("Could not remove the finished game from the player log: " + e.getMessage());
+        }
+    }
+
     /**
      * Disables game-related buttons after the game ends.
      */
     private void disableGameButtons() {
-        registerCourseButton.setEnabled(false);
-        checkCreditsButton.setEnabled(false);
-        displayCoursesButton.setEnabled(false);
-        retakeExamButton.setEnabled(false);
-        dropCourseButton.setEnabled(false);
+        setGameButtonsEnabled(false);
     }
 
     /**
-     * Exits the game gracefully.
+     * Enables or disables the buttons that act on the game.
+     *
+     * @param enabled True to enable the buttons.
+     */
+    private void setGameButtonsEnabled(boolean enabled) {
+        registerCourseButton.setEnabled(enabled);
+        checkCreditsButton.setEnabled(enabled);
+        displayCoursesButton.setEnabled(enabled);
+        retakeExamButton.setEnabled(enabled);
+        dropCourseButton.setEnabled(enabled);
+    }
+
+    /**
+     * Exits the game gracefully. Closing the player log writes every change the
+     * game queued for it.
      */
     private void exitGame() {
         gameController.endGame();
+        if (playerLog != null) {
+            try {
+                playerLog.close(); // The game stays in the log to be resumed
+            } catch (IOException e) {
+                System.err.println("Could not close the player log: " + e.getMessage());
+            }
+        }
         System.exit(0);
     }
 
     /**
-     * The main method to launch the GUI.
+     * Records the first time the window paints.
+     */
+    @Override
+    public void paint(Graphics g) {
+        super.paint(g);
+        startupMetrics.markFirstFrame();
+    }
+
+    /**
+     * The main method to launch the GUI. Unless --no-warmup is given, every
+     * subject's question bank is loaded in the background while the window opens.
+     * The player log is replayed first, and the latest unfinished game is resumed
+     * unless a seed is given; every other game in the log is removed, as only one
+     * can be resumed. Startup times and exam stalls are published through
+     * GameMetrics, and printed along with the game seed only with --verbose.
      *
-     * @param args Command-line arguments (not used).
+     * @param args Command-line arguments: an optional seed to replay a recorded game,
+     *             --no-warmup to measure a cold start and --verbose to print startup
+     *             times, exam stalls and the game seed.
      */
     public static void main(String[] args) {
+        boolean warmUp = true;
+        boolean verbose = false;
+        GameRandom random = null;
+        for (String arg : args) {
+            if (arg.equals("--no-warmup")) {
+                warmUp = false;
+            } else if (arg.equals("--verbose")) {
+                verbose = true;
+            } else {
+                random = new GameRandom(Long.parseLong(arg));
+            }
+        }
+
+        PlayerLog playerLog = null;
+        Player player = null;
+        long playerLogId = -1;
+        try {
+            playerLog = new PlayerLog(Paths.get(PlayerLog.DEFAULT_DIRECTORY), 1000);
+            Map<Long, Player> recovered = playerLog.getRecoveredPlayers();
+            for (Map.Entry<Long, Player> entry : recovered.entrySet()) {
+                if (random == null && !isOver(entry.getValue()) && entry.getKey() > playerLogId) {
+                    player = entry.getValue();
+                    playerLogId = entry.getKey();
+                }
+            }
+            // Only one game is resumed, so every other one could never be reached again
+            int discarded = 0;
+            for (Map.Entry<Long, Player> entry : recovered.entrySet()) {
+                if (entry.getKey() != playerLogId) {
+                    playerLog.remove(entry.getKey(), null);
+                    discarded += isOver(entry.getValue()) ? 0 : 1;
+                }
+            }
+            if (discarded > 0) {
+                System.out.println("Discarded " + discarded + " unfinished saved game(s) that were not resumed.");
+            }
+            if (player == null) {
+                player = playerWith(random != null ? random : new GameRandom());
+                playerLogId = playerLog.attach(player);
+            }
+            playerLog.attachQueued(playerLogId, player); // The event thread changes the player, so it never waits for a fsync
+        } catch (IOException e) {
+            System.err.println("The game will not be saved: " + e.getMessage());
+            if (playerLog != null) {
+                try {
+                    playerLog.close();
+                } catch (IOException ignored) {
+                    // Already reported
+                }
+            }
+            playerLog = null;
+            player = playerWith(random != null ? random : new GameRandom());
+        }
+
+        StartupMetrics startupMetrics = new StartupMetrics(warmUp, verbose);
+        GameMetrics.get().startupMeasured(startupMetrics);
+        QuestionStats.get().startSnapshots(Paths.get(QuestionStats.DEFAULT_FILE), Duration.ofMinutes(1));
+        try {
+            BankWatcher.start(Paths.get(Course.fileFor(1)).toAbsolutePath().getParent());
+        } catch (IOException e) {
+            System.err.println("Question banks will not reload while the game runs: " + e.getMessage());
+        }
+        if (warmUp) {
+            BankWarmup.start().thenRun(startupMetrics::markBanksReady);
+        }
+        Player gamePlayer = player;
+        PlayerLog gameLog = playerLog;
+        long gameLogId = playerLogId;
         SwingUtilities.invokeLater(() -> {
-            MiamiQuestGUI gui = new MiamiQuestGUI();
+            MiamiQuestGUI gui = new MiamiQuestGUI(gamePlayer, startupMetrics, gameLog, gameLogId);
             gui.setVisible(true);
         });
     }
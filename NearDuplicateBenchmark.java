@@ -0,0 +1,150 @@
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * @Class: NearDuplicateBenchmark
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/19/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The NearDuplicateBenchmark class builds a NearDuplicateIndex over a
+ * large generated corpus of questions with planted near-duplicates: copies that
+ * change case and punctuation, spell a number as a word, swap two words or make a
+ * typo. It times adding the corpus, finding every pair and checking single
+ * questions as they arrive, and prints how many planted pairs were found and how
+ * many other pairs were reported. Exits with status 1 if fewer than 90% of the
+ * planted pairs are found.
+ * Run with: java NearDuplicateBenchmark [questions] [plantedPairs]
+ */
+public class NearDuplicateBenchmark {
+    private static final int VOCABULARY = 20_000;
+    private static final int QUERIES = 10_000;
+    private static final String CONSONANTS = "bcdfghklmnprstvwz";
+    private static final String VOWELS = "aeiou";
+    private static final String[] NUMBER_WORDS = { "zero", "one", "two", "three", "four", "five", "six", "seven",
+            "eight", "nine", "ten", "eleven", "twelve", "thirteen", "fourteen", "fifteen", "sixteen", "seventeen",
+            "eighteen", "nineteen" };
+
+    /**
+     * Generates the corpus, runs the measurements and prints them.
+     *
+     * @param args Optional question count (default 1000000) and planted pair count (default 2000).
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int planted = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        SplittableRandom random = new SplittableRandom(20241219L);
+        String[] vocabulary = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int syllables = 2 + random.nextInt(3); syllables > 0; syllables--) {
+                word.append(CONSONANTS.charAt(random.nextInt(CONSONANTS.length()))).append(VOWELS.charAt(random.nextInt(VOWELS.length())));
+                if (random.nextInt(3) == 0) {
+                    word.append(CONSONANTS.charAt(random.nextInt(CONSONANTS.length())));
+                }
+            }
+            vocabulary[i] = word.toString();
+        }
+
+        List<String> corpus = new ArrayList<>(count + planted);
+        for (int i = 0; i < count; i++) {
+            corpus.add(question(random, vocabulary));
+        }
+        Set<String> plantedPairs = new HashSet<>();
+        for (int i = 0; i < planted; i++) {
+            String original = corpus.get(random.nextInt(count));
+            String copy = nearDuplicate(random, original, i % 4);
+            if (!copy.equals(original)) {
+                corpus.add(copy);
+                plantedPairs.add(original + '\n' + copy);
+            }
+        }
+
+        NearDuplicateIndex index = new NearDuplicateIndex();
+        long started = System.nanoTime();
+        index.addAll("corpus", corpus);
+        long added = System.nanoTime();
+        List<NearDuplicateIndex.Pair> pairs = index.findPairs();
+        long found = System.nanoTime();
+
+        int foundPlanted = 0;
+        for (NearDuplicateIndex.Pair pair : pairs) {
+            if (plantedPairs.contains(pair.getFirst() + '\n' + pair.getSecond())
+                    || plantedPairs.contains(pair.getSecond() + '\n' + pair.getFirst())) {
+                foundPlanted++;
+            }
+        }
+
+        long queryStarted = System.nanoTime();
+        int similar = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            similar += index.findSimilar(question(random, vocabulary)).size();
+        }
+        long queried = System.nanoTime();
+
+        double recall = plantedPairs.isEmpty() ? 1 : (double) foundPlanted / plantedPairs.size();
+        System.out.printf("Corpus: %d questions, %d planted near-duplicate pairs%n", corpus.size(), plantedPairs.size());
+        System.out.printf("Add all:    %8.0f ms  (%.0f questions/s)%n", (added - started) / 1e6, corpus.size() / ((added - started) / 1e9));
+        System.out.printf("Find pairs: %8.0f ms  %d pairs: %d planted (recall %.3f), %d others%n",
+                (found - added) / 1e6, pairs.size(), foundPlanted, recall, pairs.size() - foundPlanted);
+        System.out.printf("Check one:  %8.1f us per new question  (%d matches in %d queries)%n",
+                (queried - queryStarted) / 1e3 / QUERIES, similar, QUERIES);
+        if (recall < 0.9) {
+            System.err.println("NearDuplicateBenchmark failed: recall " + recall + " is under 0.9");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Makes a question of 6 to 11 words, a third of them with a number.
+     */
+    private static String question(SplittableRandom random, String[] vocabulary) {
+        StringBuilder question = new StringBuilder("What is the");
+        for (int words = 3 + random.nextInt(6); words > 0; words--) {
+            question.append(' ').append(vocabulary[random.nextInt(vocabulary.length)]);
+        }
+        if (random.nextInt(3) == 0) {
+            question.append(" of ").append(random.nextInt(20));
+        }
+        return question.append('?').toString();
+    }
+
+    /**
+     * Makes a near-duplicate of a question in one of four ways.
+     */
+    private static String nearDuplicate(SplittableRandom random, String question, int kind) {
+        String[] words = question.substring(0, question.length() - 1).split(" ");
+        switch (kind) {
+            case 0: // Case and punctuation
+                return question.toLowerCase().replace("?", "");
+            case 1: // A number as a word, or else upper case
+                String last = words[words.length - 1];
+                if (Character.isDigit(last.charAt(0))) {
+                    words[words.length - 1] = NUMBER_WORDS[Integer.parseInt(last)];
+                    return String.join(" ", words) + "?";
+                }
+                return question.toUpperCase();
+            case 2: // Two content words swapped
+                int first = 3 + random.nextInt(words.length - 4);
+                String swapped = words[first];
+                words[first] = words[first + 1];
+                words[first + 1] = swapped;
+                return String.join(" ", words) + "?";
+            default: // One letter changed in the longest word
+                int longest = 0;
+                for (int i = 1; i < words.length; i++) {
+                    if (words[i].length() > words[longest].length()) {
+                        longest = i;
+                    }
+                }
+                char[] letters = words[longest].toCharArray();
+                int at = 1 + random.nextInt(letters.length - 2);
+                letters[at] = letters[at] == 'x' ? 'y' : 'x';
+                words[longest] = new String(letters);
+                return String.join(" ", words) + "?";
+        }
+    }
+}
@@ -0,0 +1,46 @@
+import java.util.List;
+
+/**
+ * @Class: NearDuplicateCheck
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/19/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The NearDuplicateCheck class runs NearDuplicateIndex on questions that
+ * give the most features per character, such as sums of one-digit numbers and runs
+ * of symbols, and on a few small cases with known answers: a copy with different
+ * case and punctuation is found, and the same words with different numbers are not.
+ * Exits with status 1 on the first failure.
+ * Run with: java NearDuplicateCheck
+ */
+public class NearDuplicateCheck {
+    private static final String[] DENSE = { "1+2+3+4+5+6+7+8+9+1", "1+2", "7", "+", "+-*/^%", "1 2 3 4 5 6 7 8 9",
+            "a+b+c+d+e", "x", "9^9^9^9^9^9^9^9^9^9^9^9^9^9^9^9" };
+
+    /**
+     * Runs the checks and prints a summary.
+     *
+     * @param args Not used.
+     */
+    public static void main(String[] args) {
+        NearDuplicateIndex index = new NearDuplicateIndex();
+        for (String question : DENSE) {
+            index.add("dense", question);
+            List<NearDuplicateIndex.Match> matches = index.findSimilar(question);
+            check(matches.stream().anyMatch(match -> match.getQuestion().equals(question)), "\"" + question + "\" did not match itself");
+        }
+
+        NearDuplicateIndex small = new NearDuplicateIndex();
+        small.add("math", "What is the square root of 144?");
+        check(!small.findSimilar("what is the SQUARE ROOT of 144").isEmpty(), "a change of case and punctuation was not found");
+        check(small.findSimilar("What is the square root of 169?").isEmpty(), "a different number was reported as a near-duplicate");
+        System.out.println("NearDuplicateCheck: " + DENSE.length + " dense questions and 2 known cases passed");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            System.err.println("NearDuplicateCheck failed: " + message);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,589 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * @Class: NearDuplicateIndex
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/19/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The NearDuplicateIndex class finds questions that are worded almost the
+ * same, such as "What is 7 squared?" and "what is seven squared", within and across
+ * banks. Each question is cut into features: the letter triples and the whole of
+ * every word, and every number (number words like "seven" count as digits). A
+ * typo or a change of case keeps most features; questions with different numbers
+ * are never near-duplicates. A MinHash signature of 64 values estimates the share of features two
+ * questions have in common, and the signature is split into 16 bands of 4 values:
+ * questions that agree on a whole band land in the same bucket and are the only
+ * ones compared. Pairs 80% alike are found almost surely and pairs under 30%
+ * alike rarely meet, so a million questions are checked without comparing every
+ * pair. Only 8 bits of each value are kept for comparing, which keeps the index
+ * at about 200 bytes a question.
+ *
+ * Questions can be added one at a time and checked as they arrive, or added in
+ * bulk and reported all at once. The index is safe to share between threads.
+ * Run with: java NearDuplicateIndex [threshold] [bankFile...]
+ */
+public final class NearDuplicateIndex {
+    public static final double DEFAULT_THRESHOLD = 0.7; // Estimated share of features that makes a near-duplicate
+
+    private static final int BANDS = 16;
+    private static final int ROWS = 4; // Values per band
+    private static final int HASHES = BANDS * ROWS;
+    private static final int WORD_WEIGHT = 1; // Features per whole word, on top of its letter triples
+    private static final int NUMBER_WEIGHT = 3; // Features per number
+    private static final int SYMBOL_WEIGHT = 2; // Features per symbol such as "+" or "^"
+    private static final int MAX_FEATURES_PER_CHAR = Math.max(Math.max(NUMBER_WEIGHT, SYMBOL_WEIGHT), WORD_WEIGHT + 1); // A one-digit number, a symbol or a word's letter
+    private static final long WORD_TAG = 0x576F7264L << 8; // Keep word, number and symbol features apart
+    private static final long NUMBER_TAG = 0x4E756D62L << 8;
+    private static final long SYMBOL_TAG = 0x53796D62L << 8;
+    private static final String PUNCTUATION = ".,?!;:'\"\u2019"; // Ignored between words
+    private static final int SLOT_INTS = 4; // Ints per bucket slot: KEY, HEAD, SIZE and padding to keep slots aligned
+    private static final int KEY = 0; // The band key
+    private static final int HEAD = 1; // 1 + the newest entry in the bucket, or 0 if the slot is empty
+    private static final int SIZE = 2; // The number of entries in the bucket
+    private static final int MAX_BUCKET_SIZE = 100; // Larger buckets come from common words, not near-duplicates, and are not searched
+    private static final int[] MULTIPLIERS = new int[HASHES]; // Odd multipliers of the MinHash functions
+    private static final int[] OFFSETS = new int[HASHES];
+    private static final Map<String, String> NUMBER_WORDS = new HashMap<>();
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "are", "as", "at", "be", "by", "did", "do",
+            "does", "for", "from", "how", "in", "is", "it", "its", "of", "on", "or", "that", "the", "this", "to", "was",
+            "were", "what", "when", "where", "which", "who", "whom", "whose", "why", "with"); // Words too common to tell questions apart
+    private static final int[] LISTED_WORD_HASHES; // Sorted hash codes of the number and stop words, so other words skip the lookups
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x4D696E48L);
+        for (int i = 0; i < HASHES; i++) {
+            MULTIPLIERS[i] = random.nextInt() | 1;
+            OFFSETS[i] = random.nextInt();
+        }
+        String[] words = { "zero", "one", "two", "three", "four", "five", "six", "seven", "eight", "nine", "ten",
+                "eleven", "twelve", "thirteen", "fourteen", "fifteen", "sixteen", "seventeen", "eighteen", "nineteen" };
+        for (int i = 0; i < words.length; i++) {
+            NUMBER_WORDS.put(words[i], Integer.toString(i));
+        }
+        String[] tens = { "twenty", "thirty", "forty", "fifty", "sixty", "seventy", "eighty", "ninety" };
+        for (int i = 0; i < tens.length; i++) {
+            NUMBER_WORDS.put(tens[i], Integer.toString(20 + 10 * i));
+        }
+        NUMBER_WORDS.put("hundred", "100");
+        NUMBER_WORDS.put("thousand", "1000");
+        LISTED_WORD_HASHES = IntStream.concat(NUMBER_WORDS.keySet().stream().mapToInt(String::hashCode),
+                STOP_WORDS.stream().mapToInt(String::hashCode)).sorted().toArray();
+    }
+
+    /**
+     * A question found to be like another.
+     */
+    public static final class Match {
+        private final String bank;
+        private final String question;
+        private final double similarity;
+
+        Match(String bank, String question, double similarity) {
+            this.bank = bank;
+            this.question = question;
+            this.similarity = similarity;
+        }
+
+        public String getBank() {
+            return bank;
+        }
+
+        public String getQuestion() {
+            return question;
+        }
+
+        /**
+         * Gets the estimated share of features the two questions have in common.
+         *
+         * @return The similarity, from 0 to 1.
+         */
+        public double getSimilarity() {
+            return similarity;
+        }
+    }
+
+    /**
+     * Two questions found to be alike.
+     */
+    public static final class Pair {
+        private final String firstBank;
+        private final String first;
+        private final String secondBank;
+        private final String second;
+        private final double similarity;
+
+        Pair(String firstBank, String first, String secondBank, String second, double similarity) {
+            this.firstBank = firstBank;
+            this.first = first;
+            this.secondBank = secondBank;
+            this.second = second;
+            this.similarity = similarity;
+        }
+
+        public String getFirstBank() {
+            return firstBank;
+        }
+
+        public String getFirst() {
+            return first;
+        }
+
+        public String getSecondBank() {
+            return secondBank;
+        }
+
+        public String getSecond() {
+            return second;
+        }
+
+        /**
+         * Gets the estimated share of features the two questions have in common.
+         *
+         * @return The similarity, from 0 to 1.
+         */
+        public double getSimilarity() {
+            return similarity;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.2f  %s: %s%n      %s: %s", similarity, firstBank, first, secondBank, second);
+        }
+    }
+
+    /**
+     * The MinHash signature of one question.
+     */
+    private static final class Signature {
+        final byte[] sketch = new byte[HASHES]; // Low 8 bits of each value
+        final int[] bandKeys = new int[BANDS]; // Hash of each band's values
+        int numberKey; // Hash of the question's numbers in any order, 0 if it has none
+    }
+
+    private final double threshold;
+    private final List<String> banks = new ArrayList<>(); // Bank of each entry
+    private final List<String> questions = new ArrayList<>(); // Text of each entry
+    private byte[] sketches = new byte[16 * HASHES]; // HASHES per entry
+    private int[] bandKeys = new int[16 * BANDS]; // BANDS per entry
+    private int[] next = new int[16 * BANDS]; // Per entry and band: the next older entry in the same bucket, or -1
+    private int[] numberKeys = new int[16]; // Per entry
+    private final int[][] buckets = new int[BANDS][]; // Per band, open addressing with SLOT_INTS per slot
+    private final int[] bucketCounts = new int[BANDS];
+
+    /**
+     * Creates an empty index with the default threshold.
+     */
+    public NearDuplicateIndex() {
+        this(DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Creates an empty index.
+     *
+     * @param threshold The estimated similarity, from 0 to 1, at which questions count as near-duplicates.
+     */
+    public NearDuplicateIndex(double threshold) {
+        if (!(threshold > 0 && threshold <= 1)) {
+            throw new IllegalArgumentException("Threshold must be in (0, 1]: " + threshold);
+        }
+        this.threshold = threshold;
+        for (int band = 0; band < BANDS; band++) {
+            buckets[band] = new int[64 * SLOT_INTS];
+        }
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Gets the number of questions in the index.
+     *
+     * @return The size of the index.
+     */
+    public synchronized int size() {
+        return questions.size();
+    }
+
+    /**
+     * Adds a question without checking it.
+     *
+     * @param bank     The bank the question comes from, used in reports.
+     * @param question The question text.
+     */
+    public synchronized void add(String bank, String question) {
+        insert(bank, question, signature(question));
+    }
+
+    /**
+     * Adds many questions without checking them. Signatures are computed in parallel.
+     *
+     * @param bank      The bank the questions come from, used in reports.
+     * @param questions The question texts.
+     */
+    public synchronized void addAll(String bank, Collection<String> questions) {
+        List<String> texts = new ArrayList<>(questions);
+        ensureCapacity(texts.size());
+        int first = this.questions.size();
+        IntStream.range(0, texts.size()).parallel().forEach(i -> store(first + i, signature(texts.get(i))));
+        for (String text : texts) {
+            link(bank, text);
+        }
+    }
+
+    /**
+     * Finds the questions in the index that are near-duplicates of a question.
+     *
+     * @param question The question text.
+     * @return The near-duplicates, most similar first; empty if there are none.
+     */
+    public synchronized List<Match> findSimilar(String question) {
+        Signature signature = signature(question);
+        List<Match> matches = new ArrayList<>();
+        for (int band = 0; band < BANDS; band++) {
+            int[] table = buckets[band];
+            int at = find(table, signature.bandKeys[band]);
+            if (table[at + SIZE] > MAX_BUCKET_SIZE) {
+                continue;
+            }
+            for (int entry = table[at + HEAD] - 1; entry >= 0; entry = next[entry * BANDS + band]) {
+                if (numberKeys[entry] != signature.numberKey || comparedBefore(signature.bandKeys, 0, entry, band)) {
+                    continue; // Different numbers, or already compared in an earlier band
+                }
+                double similarity = similarity(signature.sketch, 0, entry);
+                if (similarity >= threshold) {
+                    matches.add(new Match(banks.get(entry), questions.get(entry), similarity));
+                }
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Match::getSimilarity).reversed());
+        return matches;
+    }
+
+    /**
+     * Finds every pair of near-duplicates in the index. Each band's buckets are
+     * searched in parallel, and a pair is reported only by the first band that
+     * compares it.
+     *
+     * @return The pairs, most similar first.
+     */
+    public synchronized List<Pair> findPairs() {
+        List<Pair> pairs = IntStream.range(0, BANDS).parallel()
+                .mapToObj(this::pairsInBand)
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+        pairs.sort(Comparator.comparingDouble(Pair::getSimilarity).reversed()
+                .thenComparing(Pair::getFirstBank).thenComparing(Pair::getFirst));
+        return pairs;
+    }
+
+    private List<Pair> pairsInBand(int band) {
+        List<Pair> pairs = new ArrayList<>();
+        int[] table = buckets[band];
+        for (int at = 0; at < table.length; at += SLOT_INTS) {
+            if (table[at + SIZE] < 2 || table[at + SIZE] > MAX_BUCKET_SIZE) {
+                continue;
+            }
+            for (int entry = table[at + HEAD] - 1; entry >= 0; entry = next[entry * BANDS + band]) {
+                for (int other = next[entry * BANDS + band]; other >= 0; other = next[other * BANDS + band]) {
+                    if (numberKeys[entry] != numberKeys[other] || comparedBefore(bandKeys, entry * BANDS, other, band)) {
+                        continue;
+                    }
+                    double similarity = similarity(sketches, entry * HASHES, other);
+                    if (similarity >= threshold) {
+                        // Older entry first
+                        pairs.add(new Pair(banks.get(other), questions.get(other), banks.get(entry), questions.get(entry), similarity));
+                    }
+                }
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Makes room for more entries, so adding them never grows an array or rehashes a band.
+     */
+    private void ensureCapacity(int extra) {
+        int entries = questions.size() + extra;
+        if (entries * BANDS > bandKeys.length) {
+            int capacity = Math.max(entries, bandKeys.length / BANDS * 2);
+            sketches = Arrays.copyOf(sketches, capacity * HASHES);
+            bandKeys = Arrays.copyOf(bandKeys, capacity * BANDS);
+            next = Arrays.copyOf(next, capacity * BANDS);
+            numberKeys = Arrays.copyOf(numberKeys, capacity);
+        }
+        for (int band = 0; band < BANDS; band++) {
+            int slots = buckets[band].length / SLOT_INTS;
+            if ((bucketCounts[band] + extra) * 2 > slots) {
+                while ((bucketCounts[band] + extra) * 2 > slots) {
+                    slots *= 2;
+                }
+                int[] old = buckets[band];
+                int[] table = new int[slots * SLOT_INTS];
+                for (int at = 0; at < old.length; at += SLOT_INTS) {
+                    if (old[at + HEAD] != 0) {
+                        System.arraycopy(old, at, table, find(table, old[at + KEY]), SLOT_INTS);
+                    }
+                }
+                buckets[band] = table;
+            }
+        }
+    }
+
+    private void insert(String bank, String question, Signature signature) {
+        ensureCapacity(1);
+        store(questions.size(), signature);
+        link(bank, question);
+    }
+
+    /**
+     * Copies a signature into the arrays at an entry that is about to be linked.
+     */
+    private void store(int entry, Signature signature) {
+        System.arraycopy(signature.sketch, 0, sketches, entry * HASHES, HASHES);
+        System.arraycopy(signature.bandKeys, 0, bandKeys, entry * BANDS, BANDS);
+        numberKeys[entry] = signature.numberKey;
+    }
+
+    /**
+     * Adds the next entry, whose signature is stored, to its bucket in every band.
+     */
+    private void link(String bank, String question) {
+        int entry = questions.size();
+        banks.add(bank);
+        questions.add(question);
+        for (int band = 0; band < BANDS; band++) {
+            int key = bandKeys[entry * BANDS + band];
+            int[] table = buckets[band];
+            int at = find(table, key);
+            if (table[at + HEAD] == 0) {
+                table[at + KEY] = key;
+                bucketCounts[band]++;
+            }
+            next[entry * BANDS + band] = table[at + HEAD] - 1;
+            table[at + HEAD] = entry + 1;
+            table[at + SIZE]++;
+        }
+    }
+
+    /**
+     * Finds a band key in a band's table: the slot holding its bucket, or the empty
+     * slot where it would go. The key, head and size share a cache line.
+     *
+     * @return The index of the slot's first int.
+     */
+    private static int find(int[] table, int key) {
+        int mask = table.length / SLOT_INTS - 1;
+        int slot = mix(key) & mask;
+        while (true) {
+            int at = slot * SLOT_INTS;
+            if (table[at + HEAD] == 0 || table[at + KEY] == key) {
+                return at;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Checks whether a question, given by its band keys, shares a bucket with an
+     * entry in an earlier band, where the two were compared already. Buckets too
+     * large to search do not count.
+     */
+    private boolean comparedBefore(int[] keys, int offset, int entry, int band) {
+        for (int earlier = 0; earlier < band; earlier++) {
+            int key = keys[offset + earlier];
+            if (key == bandKeys[entry * BANDS + earlier] && buckets[earlier][find(buckets[earlier], key) + SIZE] <= MAX_BUCKET_SIZE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Estimates the share of features two questions have in common from the share
+     * of equal sketch values, allowing for the 1 in 256 chance that 8-bit values
+     * agree when the full values differ.
+     */
+    private double similarity(byte[] sketch, int offset, int entry) {
+        int equal = 0;
+        int base = entry * HASHES;
+        for (int i = 0; i < HASHES; i++) {
+            if (sketch[offset + i] == sketches[base + i]) {
+                equal++;
+            }
+        }
+        double chance = 1.0 / 256;
+        return Math.max(0, ((double) equal / HASHES - chance) / (1 - chance));
+    }
+
+    /**
+     * Computes the MinHash signature of a question's features. The features are
+     * already well mixed, so each of the 64 hash functions is just a multiply and
+     * add on 32-bit ints.
+     */
+    private static Signature signature(String question) {
+        Signature signature = new Signature();
+        int[] minimums = new int[HASHES];
+        int[] features = features(question, signature);
+        for (int i = 0; i < HASHES; i++) {
+            int multiplier = MULTIPLIERS[i];
+            int offset = OFFSETS[i];
+            int minimum = Integer.MAX_VALUE;
+            for (int feature : features) {
+                minimum = Math.min(minimum, feature * multiplier + offset);
+            }
+            minimums[i] = minimum;
+        }
+        for (int i = 0; i < HASHES; i++) {
+            signature.sketch[i] = (byte) minimums[i];
+        }
+        for (int band = 0; band < BANDS; band++) {
+            long key = band;
+            for (int row = 0; row < ROWS; row++) {
+                key = key * 0x9E3779B97F4A7C15L + minimums[band * ROWS + row];
+            }
+            signature.bandKeys[band] = (int) (mix64(key) >>> 32);
+        }
+        return signature;
+    }
+
+    /**
+     * Cuts a question into hashed features. Words are lower-cased letter and digit
+     * runs; stop words such as "what" and "the" are skipped. Each other word gives its letter triples padded with a boundary mark, so
+     * "what" gives "#wh", "wha", "hat" and "at#", plus WORD_WEIGHT features for the
+     * whole word. A word with a digit, or a number word such as "seven", is instead
+     * one number and gives NUMBER_WEIGHT features of its digits; the numbers also
+     * go into the signature's number key, since questions with different numbers
+     * ask different things however alike their words. Symbols such as "+" or "^"
+     * give SYMBOL_WEIGHT features each; sentence punctuation, and the "s" after an
+     * apostrophe, are ignored.
+     */
+    private static int[] features(String question, Signature signature) {
+        int length = question.length();
+        int[] features = new int[MAX_FEATURES_PER_CHAR * length];
+        int count = 0;
+        char[] word = new char[length + 2];
+        int i = 0;
+        while (i < length) {
+            char c = question.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                if (!Character.isWhitespace(c) && PUNCTUATION.indexOf(c) < 0) {
+                    count = addWeighted(features, count, SYMBOL_TAG, c, SYMBOL_WEIGHT);
+                }
+                i++;
+                continue;
+            }
+            boolean afterApostrophe = i > 0 && (question.charAt(i - 1) == '\'' || question.charAt(i - 1) == '\u2019');
+            int wordLength = 0;
+            int wordHash = 0;
+            boolean hasDigit = false;
+            word[wordLength++] = '#';
+            while (i < length && (Character.isLetterOrDigit(question.charAt(i))
+                    || question.charAt(i) == '.' && hasDigit && i + 1 < length && Character.isDigit(question.charAt(i + 1)))) {
+                c = Character.toLowerCase(question.charAt(i++));
+                hasDigit |= Character.isDigit(c);
+                wordHash = 31 * wordHash + c;
+                word[wordLength++] = c;
+            }
+            if (afterApostrophe && wordLength == 2 && word[1] == 's') {
+                continue; // The "s" of "what's" or "Euler's"
+            }
+            String number = hasDigit ? new String(word, 1, wordLength - 1) : null;
+            if (number == null && Arrays.binarySearch(LISTED_WORD_HASHES, wordHash) >= 0) {
+                String text = new String(word, 1, wordLength - 1);
+                if (STOP_WORDS.contains(text)) {
+                    continue;
+                }
+                number = NUMBER_WORDS.get(text);
+            }
+            if (number != null) {
+                signature.numberKey += mix(number.hashCode()) | 1;
+                count = addWeighted(features, count, NUMBER_TAG, number.hashCode(), NUMBER_WEIGHT);
+            } else {
+                count = addWeighted(features, count, WORD_TAG, wordHash, WORD_WEIGHT);
+                word[wordLength++] = '#';
+                for (int start = 0; start + 2 < wordLength; start++) {
+                    long triple = word[start] | (long) word[start + 1] << 16 | (long) word[start + 2] << 32;
+                    features[count++] = (int) mix64(triple);
+                }
+            }
+        }
+        if (count == 0) {
+            return new int[] { 0 }; // Questions without words are all alike
+        }
+        return Arrays.copyOf(features, count);
+    }
+
+    /**
+     * Adds several distinct features for one value, so it weighs more in the similarity.
+     */
+    private static int addWeighted(int[] features, int count, long tag, int value, int weight) {
+        for (int copy = 0; copy < weight; copy++) {
+            features[count++] = (int) mix64((tag + copy) ^ ((long) value << 32));
+        }
+        return count;
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * The 64-bit finalizer of MurmurHash3: spreads every input bit over the result.
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+
+    /**
+     * Prints the near-duplicate questions within and across question banks.
+     *
+     * @param args Optional threshold (default 0.7) followed by bank files (default the four course banks).
+     * @throws IOException If a bank cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        double threshold = args.length > 0 ? Double.parseDouble(args[0]) : DEFAULT_THRESHOLD;
+        List<String> files = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            files.add(args[i]);
+        }
+        if (files.isEmpty()) {
+            for (int type = 1; type <= Course.COURSE_TYPES; type++) {
+                files.add(Course.fileFor(type));
+            }
+        }
+
+        NearDuplicateIndex index = new NearDuplicateIndex(threshold);
+        QuestionImporter importer = new QuestionImporter();
+        long started = System.nanoTime();
+        for (String file : files) {
+            Path path = Paths.get(file);
+            index.addAll(path.getFileName().toString(), importer.importFile(path).getQuestions().keySet());
+        }
+        List<Pair> pairs = index.findPairs();
+        long elapsed = System.nanoTime() - started;
+
+        System.out.printf("%d near-duplicate pair(s) at %.2f among %d questions in %d bank(s), %.1f ms%n",
+                pairs.size(), threshold, index.size(), files.size(), elapsed / 1e6);
+        for (Pair pair : pairs) {
+            System.out.println(pair);
+        }
+    }
+}
@@ -1,6 +1,13 @@
 import javax.swing.*;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
 
 /**
  * @Class: Player
@@ -11,6 +18,9 @@ import java.util.List;
  * @Purpose: The Player class represents the player in the MiamiQuest game.
  * It manages the player's credits, failed exams, ability to drop or retake courses,
  * and handles course registration, exam taking, and graduation eligibility.
+ * Alongside the course lists it keeps a position index, the set of passed courses
+ * and a queue of courses not yet passed, so graduation, drop and retake checks
+ * do not scan the course list.
  */
 public class Player {
     private int credits; // The player's total credits
@@ -20,7 +30,16 @@ public class Player {
     private List<Course> courseList; // List of courses the player is registered in
     private List<Course> droppedCourses; // List of courses the player has dropped
     private int courseNumber; // Counter for the number of courses registered
+    private Map<Course, Integer> coursePositions; // Position of each registered course in courseList, by identity
+    private Set<Course> passedCourses; // Registered courses that have been passed, by identity
+    private ArrayDeque<Course> unpassedCourses; // Registered courses not yet passed, in list order; passed ones are skipped lazily
     private boolean gameWon = false;
+    private GameRandom random = new GameRandom(); // This game's random streams
+    private IntFunction<Course> courseFactory = type -> new Course(type, new Professor(random.forProfessors())); // Creates a course from its type
+    private PlayerEventHandler eventHandler; // Receives every state change, or null
+    private long[] loggedStates; // Random stream states the event handler has seen, or null if it has seen none
+    private Consumer<String> messageHandler = message -> JOptionPane.showMessageDialog(null, message); // Where player messages are shown
+    private boolean recorded = true; // Whether registrations go to the flight recorder
 
     /**
      * Constructor to initialize the player with default values.
@@ -33,6 +52,9 @@ public class Player {
         this.courseList = new ArrayList<>(); // Initialize the course list
         this.droppedCourses = new ArrayList<>(); // Initialize the dropped courses list
         this.courseNumber = 0; // Initialize course count
+        this.coursePositions = new IdentityHashMap<>();
+        this.passedCourses = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.unpassedCourses = new ArrayDeque<>();
     }
 
     /**
@@ -42,22 +64,47 @@ public class Player {
      * @return The newly registered Course object.
      */
     public Course registerCourse() {
+        GameEvents.CourseRegistration event = recorded ? new GameEvents.CourseRegistration() : null;
+        if (event != null) {
+            event.begin();
+        }
         // If there are dropped courses, prioritize retaking them
         if (!droppedCourses.isEmpty()) {
             Course courseToRetake = droppedCourses.get(0);
-            courseList.add(courseToRetake);
+            addToCourseList(courseToRetake);
             droppedCourses.remove(0);
-            JOptionPane.showMessageDialog(null, "You have re-registered for the dropped course: " + courseToRetake.getName());
+            emit(PlayerEventHandler.REGISTER_COURSE, courseToRetake.getCourseType(), difficultyCode(courseToRetake));
+            commitRegistration(event, courseToRetake, true);
+            showMessage("You have re-registered for the dropped course: " + courseToRetake.getName());
             return courseToRetake;
         }
 
         this.courseNumber++;
         int courseType = ((courseNumber - 1) % 4) + 1;
-        Course newCourse = new Course(courseType);
-        courseList.add(newCourse); // Add the new course to the list
+        Course newCourse = courseFactory.apply(courseType);
+        addToCourseList(newCourse); // Add the new course to the list
+        emit(PlayerEventHandler.REGISTER_COURSE, newCourse.getCourseType(), difficultyCode(newCourse));
+        commitRegistration(event, newCourse, false);
         return newCourse;
     }
 
+    /**
+     * Records a registration in the flight recorder, if a recording wants it.
+     */
+    private void commitRegistration(GameEvents.CourseRegistration event, Course course, boolean retake) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.subject = course.getName();
+            event.difficulty = course.getProfessorDifficulty();
+            event.retake = retake;
+            event.courseCount = courseList.size();
+            event.commit();
+        }
+    }
+
     /**
      * Checks and returns the player's current credits.
      *
@@ -83,8 +130,10 @@ public class Player {
      * @return True if the course was successfully dropped, false otherwise.
      */
     public boolean dropCourse(Course course) {
-        if (canDrop && courseList.contains(course)) {
-            courseList.remove(course);
+        Integer position = coursePositions.get(course);
+        if (canDrop && position != null) {
+            emit(PlayerEventHandler.DROP_COURSE, position, 0);
+            removeFromCourseList(position);
             canDrop = false; // Set canDrop to false once used
 
             // Add to droppedCourses list to require retaking
@@ -93,17 +142,17 @@ public class Player {
             // Check if the course was passed
             if (course.isPassed()) {
                 // Subtract the credits earned from this course
-                credits -= 3;
+                credits -= GameRules.CREDITS_PER_COURSE;
                 if (credits < 0) {
                     credits = 0; // Ensure credits don't go negative
                 }
-                JOptionPane.showMessageDialog(null, "You have lost 3 credits from dropping a passed course.");
+                showMessage("You have lost " + GameRules.CREDITS_PER_COURSE + " credits from dropping a passed course.");
             }
 
-            JOptionPane.showMessageDialog(null, "Course dropped: " + course.getName() + "\nYou must retake this course in the future.");
+            showMessage("Course dropped: " + course.getName() + "\nYou must retake this course in the future.");
             return true;
         } else {
-            JOptionPane.showMessageDialog(null, "You have already used your drop option or the course is not in your course list.");
+            showMessage("You have already used your drop option or the course is not in your course list.");
             return false;
         }
     }
@@ -113,7 +162,7 @@ public class Player {
      */
     public void takeExam() {
         if (courseList.isEmpty()) {
-            JOptionPane.showMessageDialog(null, "No courses available to take an exam.");
+            showMessage("No courses available to take an exam.");
             return;
         }
 
@@ -121,14 +170,9 @@ public class Player {
             Course currentCourse = courseList.get(courseNumber - 1);
 
             Exam exam = new Exam();
-            boolean passed = exam.startExam(currentCourse, this);
-
-            if (passed) {
-                addCredits(3); // Add credits for passing an exam
-                currentCourse.setPassed(true); // Mark the course as passed
-            }
+            recordExamResult(currentCourse, exam.startExam(currentCourse, this));
         } else {
-            JOptionPane.showMessageDialog(null, "Invalid course number.");
+            showMessage("Invalid course number.");
         }
     }
 
@@ -138,39 +182,61 @@ public class Player {
      * @return True if the exam was successfully retaken, false otherwise.
      */
     public boolean retakeExam() {
-        if (canRetake) {
-            canRetake = false; // Set canRetake to false once used
+        Course failedCourse = useRetakeOption();
+        if (failedCourse == null) {
+            return false;
+        }
 
-            if (courseList.isEmpty()) {
-                JOptionPane.showMessageDialog(null, "No courses available to retake an exam.");
-                return false;
-            }
+        Exam exam = new Exam();
+        recordExamResult(failedCourse, exam.startExam(failedCourse, this));
+        return true;
+    }
 
-            // Find a failed course to retake
-            Course failedCourse = null;
-            for (Course c : courseList) {
-                if (!c.isPassed()) {
-                    failedCourse = c;
-                    break;
-                }
-            }
+    /**
+     * Uses up the retake option and finds the first course that has not been passed.
+     *
+     * @return The course to retake, or null if the option is used up or there is none.
+     */
+    public Course useRetakeOption() {
+        if (!canRetake) {
+            showMessage("You have already used your retake option.");
+            return null;
+        }
+        canRetake = false; // Set canRetake to false once used
+        emit(PlayerEventHandler.RETAKE_USED, 0, 0);
 
-            if (failedCourse == null) {
-                JOptionPane.showMessageDialog(null, "No failed courses to retake.");
-                return false;
-            }
+        if (courseList.isEmpty()) {
+            showMessage("No courses available to retake an exam.");
+            return null;
+        }
 
-            Exam exam = new Exam();
-            boolean passed = exam.startExam(failedCourse, this);
+        // Find a failed course to retake
+        Course failedCourse = firstUnpassedCourse();
+        if (failedCourse != null) {
+            return failedCourse;
+        }
+
+        showMessage("No failed courses to retake.");
+        return null;
+    }
 
-            if (passed) {
-                addCredits(3); // Add credits for passing an exam
-                failedCourse.setPassed(true); // Mark the course as passed
+    /**
+     * Records the result of an exam, adding credits and marking the course passed.
+     * This is the only place a registered course is marked passed; ExamSession
+     * leaves the course alone, so the passed-course indexes cannot drift from it.
+     *
+     * @param course The course the exam was for.
+     * @param passed True if the exam was passed.
+     */
+    public void recordExamResult(Course course, boolean passed) {
+        if (passed) {
+            Integer position = coursePositions.get(course);
+            emit(PlayerEventHandler.EXAM_PASSED, position == null ? -1 : position, 0);
+            credits += GameRules.CREDITS_PER_COURSE; // Add credits for passing an exam
+            course.setPassed(true); // Mark the course as passed
+            if (position != null) {
+                passedCourses.add(course);
             }
-            return true;
-        } else {
-            JOptionPane.showMessageDialog(null, "You have already used your retake option.");
-            return false;
         }
     }
 
@@ -180,6 +246,7 @@ public class Player {
      * @param points The number of credits to add.
      */
     public void addCredits(int points) {
+        emit(PlayerEventHandler.ADD_CREDITS, points, 0);
         credits += points;
     }
 
@@ -187,6 +254,7 @@ public class Player {
      * Increments the number of failed exams.
      */
     public void incrementFailedExams() {
+        emit(PlayerEventHandler.FAILED_EXAM, 0, 0);
         failedExams++;
     }
 
@@ -202,19 +270,55 @@ public class Player {
     /**
      * Gets the list of courses the player is registered in.
      *
-     * @return The list of courses.
+     * @return A read-only view of the courses, in registration order.
      */
     public List<Course> getCourseList() {
-        return this.courseList;
+        return Collections.unmodifiableList(this.courseList);
     }
 
     /**
      * Gets the list of courses the player has dropped and needs to retake.
      *
-     * @return The list of dropped courses.
+     * @return A read-only view of the dropped courses.
      */
     public List<Course> getDroppedCourses() {
-        return this.droppedCourses;
+        return Collections.unmodifiableList(this.droppedCourses);
+    }
+
+    /**
+     * Gets the position of a registered course in the course list.
+     *
+     * @param course The course to look up.
+     * @return The course's 0-based position, or -1 if it is not registered.
+     */
+    public int indexOfCourse(Course course) {
+        Integer position = coursePositions.get(course);
+        return position == null ? -1 : position;
+    }
+
+    /**
+     * Gets the position of a course in the dropped course list. That list only
+     * holds courses waiting to be retaken, so it is searched directly.
+     *
+     * @param course The course to look up.
+     * @return The course's 0-based position, or -1 if it is not waiting to be retaken.
+     */
+    public int indexOfDroppedCourse(Course course) {
+        for (int i = 0; i < droppedCourses.size(); i++) {
+            if (droppedCourses.get(i) == course) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the number of registered courses that have been passed.
+     *
+     * @return The passed course count.
+     */
+    public int getPassedCourseCount() {
+        return passedCourses.size();
     }
 
     /**
@@ -223,21 +327,81 @@ public class Player {
      * @return True if the player can graduate, false otherwise.
      */
     public boolean canGraduate() {
-        int passedCourses = 0;
+        return GameRules.canGraduate(credits, passedCourses.size(), !droppedCourses.isEmpty());
+    }
 
-        for (Course c : courseList) {
-            if (c.isPassed()) {
-                passedCourses++;
-            }
+    /**
+     * Appends a course to the course list and indexes it.
+     */
+    private void addToCourseList(Course course) {
+        coursePositions.put(course, courseList.size());
+        courseList.add(course);
+        if (course.isPassed()) {
+            passedCourses.add(course);
+        } else {
+            unpassedCourses.addLast(course);
         }
+    }
 
-        // Ensure no dropped courses remain to be retaken
-        if (!droppedCourses.isEmpty()) {
-            return false;
+    /**
+     * Removes a course from the course list and its indexes. The courses after it
+     * move up one place, which is linear, but the drop option is used at most once.
+     */
+    private void removeFromCourseList(int position) {
+        Course course = courseList.remove(position);
+        coursePositions.remove(course);
+        passedCourses.remove(course);
+        unpassedCourses.remove(course);
+        for (int i = position; i < courseList.size(); i++) {
+            coursePositions.put(courseList.get(i), i);
         }
+    }
+
+    /**
+     * Finds the first registered course that has not been passed. Passed courses at
+     * the head of the queue are discarded as they are found, so each is skipped once.
+     */
+    private Course firstUnpassedCourse() {
+        while (!unpassedCourses.isEmpty()
+                && (unpassedCourses.peekFirst().isPassed() || passedCourses.contains(unpassedCourses.peekFirst()))) {
+            unpassedCourses.pollFirst();
+        }
+        return unpassedCourses.peekFirst();
+    }
 
-        // Assuming each passed course gives 3 credits and 12 credits are needed to graduate
-        return credits >= 12 && passedCourses >= 4;
+    /**
+     * Checks the indexes against a full scan of the course lists, as canGraduate()
+     * and useRetakeOption() used to compute them.
+     *
+     * @throws IllegalStateException If an index disagrees with the lists.
+     */
+    void checkInvariants() {
+        int passedCount = 0;
+        Course firstUnpassed = null;
+        for (int i = 0; i < courseList.size(); i++) {
+            Course c = courseList.get(i);
+            if (coursePositions.get(c) == null || coursePositions.get(c) != i) {
+                throw new IllegalStateException("Course " + i + " is indexed at " + coursePositions.get(c));
+            }
+            if (c.isPassed()) {
+                passedCount++;
+            } else if (firstUnpassed == null) {
+                firstUnpassed = c;
+            }
+        }
+        if (coursePositions.size() != courseList.size()) {
+            throw new IllegalStateException(coursePositions.size() + " positions for " + courseList.size() + " courses");
+        }
+        if (passedCount != passedCourses.size()) {
+            throw new IllegalStateException(passedCourses.size() + " passed courses counted, " + passedCount + " in the list");
+        }
+        if (firstUnpassed != firstUnpassedCourse()) {
+            throw new IllegalStateException("The retake queue does not start at the first unpassed course");
+        }
+        boolean scanGraduate = GameRules.canGraduate(credits, passedCount, !droppedCourses.isEmpty());
+        if (scanGraduate != canGraduate()) {
+            throw new IllegalStateException("canGraduate() disagrees with a scan of the course list");
+        }
     }
 
     /**
@@ -249,12 +413,145 @@ public class Player {
         return canRetake;
     }
 
+    /**
+     * Sets where the player's status messages go. The default shows a dialog;
+     * headless callers can log or collect them instead.
+     *
+     * @param messageHandler The handler that receives each message.
+     */
+    public void setMessageHandler(Consumer<String> messageHandler) {
+        this.messageHandler = messageHandler;
+    }
+
+    /**
+     * Sets whether course registrations go to the flight recorder. Simulated
+     * players turn this off so they do not show up as real play.
+     *
+     * @param recorded True to record registrations, which is the default.
+     */
+    public void setRecorded(boolean recorded) {
+        this.recorded = recorded;
+    }
+
+    /**
+     * Gets this game's random streams. Its seed replays the game.
+     *
+     * @return The game's random streams.
+     */
+    public GameRandom getRandom() {
+        return random;
+    }
+
+    /**
+     * Replaces this game's random streams, for example to replay a recorded seed.
+     *
+     * @param random The random streams to use.
+     */
+    public void setRandom(GameRandom random) {
+        this.random = random;
+        this.loggedStates = null;
+    }
+
+    /**
+     * Sets how new courses are created from their course type (1 to 4). The
+     * default creates a course with a professor drawn from the game's professor stream.
+     *
+     * @param courseFactory The factory for new courses.
+     */
+    public void setCourseFactory(IntFunction<Course> courseFactory) {
+        this.courseFactory = courseFactory;
+    }
+
+    /**
+     * Sets the handler that receives every change to the player's state, for
+     * example a PlayerLog. Every random stream position is sent with the first
+     * change, and after that only the streams that moved. Pass null to stop
+     * sending events.
+     *
+     * @param eventHandler The event handler, or null.
+     */
+    public void setEventHandler(PlayerEventHandler eventHandler) {
+        this.eventHandler = eventHandler;
+        this.loggedStates = null;
+    }
+
+    /**
+     * Gets the handler that receives state changes.
+     *
+     * @return The event handler, or null.
+     */
+    public PlayerEventHandler getEventHandler() {
+        return eventHandler;
+    }
+
+    /**
+     * Sends a state change to the event handler, if there is one, preceded by the
+     * state of each random stream that moved since the last change.
+     */
+    private void emit(byte type, int a, int b) {
+        if (eventHandler == null) {
+            return;
+        }
+        long[] states = random.getStates();
+        for (int i = 0; i < states.length; i++) {
+            if (loggedStates == null || states[i] != loggedStates[i]) {
+                eventHandler.onEvent((byte) (PlayerEventHandler.ROOT_STREAM + i), (int) (states[i] >>> 32), (int) states[i]);
+            }
+        }
+        loggedStates = states;
+        eventHandler.onEvent(type, a, b);
+    }
+
+    private static int difficultyCode(Course course) {
+        return course.getProfessorDifficulty().equalsIgnoreCase("Hard") ? 1 : 0;
+    }
+
+    /**
+     * Replaces the whole player state. Used when restoring a saved player.
+     */
+    void restore(int credits, int failedExams, boolean canDrop, boolean canRetake, int courseNumber, boolean gameWon,
+                 List<Course> courseList, List<Course> droppedCourses) {
+        this.credits = credits;
+        this.failedExams = failedExams;
+        this.canDrop = canDrop;
+        this.canRetake = canRetake;
+        this.courseNumber = courseNumber;
+        this.gameWon = gameWon;
+        this.courseList = new ArrayList<>(courseList.size());
+        this.droppedCourses = new ArrayList<>(droppedCourses);
+        this.coursePositions = new IdentityHashMap<>();
+        this.passedCourses = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.unpassedCourses = new ArrayDeque<>();
+        for (Course course : courseList) {
+            addToCourseList(course);
+        }
+    }
+
+    /**
+     * Gets the number of new courses registered so far (not counting re-registrations).
+     *
+     * @return The course counter.
+     */
+    public int getCourseNumber() {
+        return courseNumber;
+    }
+
+    /**
+     * Sends a status message to the current message handler.
+     *
+     * @param message The message to show.
+     */
+    private void showMessage(String message) {
+        messageHandler.accept(message);
+    }
+
     /**
      * Sets the gameWon status based on the provided parameter.
      *
      * @param won True if the game has been won, false otherwise.
      */
     public void setGameWon(boolean won) {
+        emit(PlayerEventHandler.GAME_WON, won ? 1 : 0, 0);
         gameWon = won;
     }
 
@@ -0,0 +1,127 @@
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @Class: PlayerCodec
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/13/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The PlayerCodec class writes a Player's full state to a compact binary
+ * form and reads it back, including the positions of the game's random streams.
+ * Each course is stored as three bytes: course type, professor difficulty and the
+ * passed flag.
+ *
+ * Layout: int credits, int failedExams, byte flags (canDrop, canRetake, gameWon),
+ * int courseNumber, long seed, 4 x long random state, int courseCount, courses,
+ * int droppedCount, courses
+ */
+public final class PlayerCodec {
+    private static final int FLAG_CAN_DROP = 1;
+    private static final int FLAG_CAN_RETAKE = 2;
+    private static final int FLAG_GAME_WON = 4;
+
+    private PlayerCodec() {
+    }
+
+    /**
+     * Gets the number of bytes write() will use for a player.
+     *
+     * @param player The player.
+     * @return The encoded size in bytes.
+     */
+    public static int sizeOf(Player player) {
+        return 4 + 4 + 1 + 4 + 8 + 4 * 8 + 4 + 3 * player.getCourseList().size() + 4 + 3 * player.getDroppedCourses().size();
+    }
+
+    /**
+     * Writes a player's state at the buffer's position.
+     *
+     * @param out    The buffer to write to; it needs sizeOf(player) bytes remaining.
+     * @param player The player to write.
+     */
+    public static void write(ByteBuffer out, Player player) {
+        int flags = (player.canDrop() ? FLAG_CAN_DROP : 0)
+                | (player.canRetake() ? FLAG_CAN_RETAKE : 0)
+                | (player.isGameWon() ? FLAG_GAME_WON : 0);
+        out.putInt(player.getCredits());
+        out.putInt(player.getFailedExams());
+        out.put((byte) flags);
+        out.putInt(player.getCourseNumber());
+        out.putLong(player.getRandom().getSeed());
+        for (long state : player.getRandom().getStates()) {
+            out.putLong(state);
+        }
+        writeCourses(out, player.getCourseList());
+        writeCourses(out, player.getDroppedCourses());
+    }
+
+    /**
+     * Reads a player's state from the buffer's position.
+     *
+     * @param in The buffer to read from.
+     * @return A new player with the saved state; its messages go to the default handler.
+     */
+    public static Player read(ByteBuffer in) {
+        int credits = in.getInt();
+        int failedExams = in.getInt();
+        int flags = in.get();
+        int courseNumber = in.getInt();
+        long seed = in.getLong();
+        long[] states = new long[4];
+        for (int i = 0; i < states.length; i++) {
+            states[i] = in.getLong();
+        }
+        List<Course> courses = readCourses(in);
+        List<Course> dropped = readCourses(in);
+
+        Player player = new Player();
+        player.setRandom(new GameRandom(seed, states));
+        player.restore(credits, failedExams, (flags & FLAG_CAN_DROP) != 0, (flags & FLAG_CAN_RETAKE) != 0,
+                courseNumber, (flags & FLAG_GAME_WON) != 0, courses, dropped);
+        return player;
+    }
+
+    /**
+     * Writes one course as its type, difficulty and passed flag.
+     *
+     * @param out    The buffer to write to.
+     * @param course The course to write.
+     */
+    public static void writeCourse(ByteBuffer out, Course course) {
+        out.put((byte) course.getCourseType());
+        out.put((byte) (course.getProfessorDifficulty().equalsIgnoreCase("Hard") ? 1 : 0));
+        out.put((byte) (course.isPassed() ? 1 : 0));
+    }
+
+    /**
+     * Reads one course written by writeCourse.
+     *
+     * @param in The buffer to read from.
+     * @return The course.
+     */
+    public static Course readCourse(ByteBuffer in) {
+        int type = in.get();
+        String difficulty = in.get() == 1 ? "Hard" : "Easy";
+        Course course = new Course(type, new Professor(difficulty));
+        course.setPassed(in.get() == 1);
+        return course;
+    }
+
+    private static void writeCourses(ByteBuffer out, List<Course> courses) {
+        out.putInt(courses.size());
+        for (Course course : courses) {
+            writeCourse(out, course);
+        }
+    }
+
+    private static List<Course> readCourses(ByteBuffer in) {
+        int count = in.getInt();
+        List<Course> courses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            courses.add(readCourse(in));
+        }
+        return courses;
+    }
+}
@@ -0,0 +1,36 @@
+/**
+ * @Class: PlayerEventHandler
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/13/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The PlayerEventHandler interface receives every change to a Player's
+ * state as a compact event: a type code and up to two int arguments. Replaying
+ * the events in order through PlayerLog.apply rebuilds the player. Before each
+ * change, the player also sends the state of every random stream that has moved
+ * since the last event, so a rebuilt player continues its streams instead of
+ * repeating them.
+ */
+public interface PlayerEventHandler {
+    byte CREATED = 1; // a, b: high and low halves of the game's random seed
+    byte REGISTER_COURSE = 2; // a: course type, b: 1 if the professor is hard
+    byte DROP_COURSE = 3; // a: index of the course in the course list
+    byte ADD_CREDITS = 4; // a: points added
+    byte FAILED_EXAM = 5; // no arguments
+    byte EXAM_PASSED = 6; // a: index of the course in the course list, or -1
+    byte RETAKE_USED = 7; // no arguments
+    byte GAME_WON = 8; // a: 1 if won, 0 otherwise
+    byte ROOT_STREAM = 9; // a, b: high and low halves of a random stream's state; streams in GameRandom.getStates() order
+    byte PROFESSOR_STREAM = 10;
+    byte DISTRACTOR_STREAM = 11;
+    byte SHUFFLE_STREAM = 12;
+
+    /**
+     * Called before the player applies a change.
+     *
+     * @param type The event type, one of the constants above.
+     * @param a    The first argument.
+     * @param b    The second argument.
+     */
+    void onEvent(byte type, int a, int b);
+}
@@ -0,0 +1,109 @@
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * @Class: PlayerIndexCheck
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/15/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The PlayerIndexCheck class drives many players through random sequences
+ * of registrations, drops, exam results, whole ExamSessions (some never recorded,
+ * as when a game is abandoned mid-exam), retakes and save/restore round trips, and
+ * after every step checks that the Player's course indexes agree with a full scan
+ * of its course lists, which is how graduation and retakes used to be decided, and
+ * that a retake is never offered for a passed course.
+ * Run with: java PlayerIndexCheck [players] [stepsPerPlayer]
+ */
+public class PlayerIndexCheck {
+
+    /**
+     * Runs the check and prints a summary. Exits with status 1 on the first disagreement.
+     *
+     * @param args Optional player count (default 10000) and steps per player (default 30).
+     */
+    public static void main(String[] args) {
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int steps = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        SplittableRandom random = new SplittableRandom(20241215L);
+        long checks = 0;
+        int graduated = 0;
+
+        for (int p = 0; p < players; p++) {
+            Player player = new Player();
+            player.setRandom(new GameRandom(random.nextLong()));
+            player.setMessageHandler(message -> { });
+            for (int s = 0; s < steps; s++) {
+                List<Course> courses = player.getCourseList();
+                int step = random.nextInt(11);
+                if (step < 3) {
+                    player.registerCourse();
+                } else if (step < 6 && !courses.isEmpty()) {
+                    player.recordExamResult(courses.get(random.nextInt(courses.size())), random.nextBoolean());
+                } else if (step == 6 && !courses.isEmpty()) {
+                    player.dropCourse(courses.get(random.nextInt(courses.size())));
+                } else if (step == 7) {
+                    Course retake = player.useRetakeOption();
+                    if (retake != null && retake.isPassed()) {
+                        System.err.println("Player " + p + ", step " + s + ": a passed course was offered for a retake");
+                        System.exit(1);
+                    }
+                    if (retake != null && random.nextBoolean()) {
+                        player.recordExamResult(retake, true);
+                    }
+                } else if (step == 8) {
+                    player.addCredits(random.nextInt(-2, 3));
+                } else if (step == 9) {
+                    player = roundTrip(player);
+                } else if (!courses.isEmpty()) {
+                    takeExam(player, courses.get(random.nextInt(courses.size())), random);
+                }
+
+                try {
+                    player.checkInvariants();
+                } catch (IllegalStateException e) {
+                    System.err.println("Player " + p + ", step " + s + ": " + e.getMessage());
+                    System.exit(1);
+                }
+                checks++;
+            }
+            if (player.canGraduate()) {
+                graduated++;
+            }
+        }
+        System.out.println("PlayerIndexCheck: " + checks + " checks on " + players + " players passed ("
+                + graduated + " could graduate)");
+    }
+
+    /**
+     * Runs a whole exam for a course, answering with the always-correct special
+     * answer or at random, and records the result only half the time.
+     */
+    private static void takeExam(Player player, Course course, SplittableRandom random) {
+        ExamSession exam = new ExamSession(course, player, GameRules.DEFAULT, player.getRandom().forShuffles(), false);
+        boolean knowsAll = random.nextBoolean();
+        while (!exam.isFinished()) {
+            if (exam.getState() == ExamSession.State.DROP_DECISION) {
+                exam.continueExam();
+            } else {
+                exam.submit(knowsAll ? "Mohamed" : String.valueOf((char) ('A' + random.nextInt(4))));
+            }
+        }
+        if (random.nextBoolean()) {
+            player.recordExamResult(course, exam.isPassed());
+        }
+    }
+
+    /**
+     * Saves and restores a player through PlayerCodec, which rebuilds its indexes.
+     */
+    private static Player roundTrip(Player player) {
+        ByteBuffer buffer = ByteBuffer.allocate(PlayerCodec.sizeOf(player));
+        PlayerCodec.write(buffer, player);
+        buffer.flip();
+        Player restored = PlayerCodec.read(buffer);
+        restored.setMessageHandler(message -> { });
+        return restored;
+    }
+}
@@ -0,0 +1,589 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * @Class: PlayerLog
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/13/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The PlayerLog class is a write-ahead log for Player state. Every change
+ * a Player makes is appended as a fixed-size binary record. Records from many
+ * sessions are batched and written with one fsync (group commit), and an appending
+ * thread waits only until its batch is on disk. On open, players are rebuilt from
+ * the latest snapshot plus the log written after it. Snapshots are taken after a
+ * set number of events, and older log segments are then deleted, so replay time
+ * stays bounded. A snapshot is encoded by the flusher after the batch that
+ * triggered it is acknowledged, and written by its own thread, so appends never
+ * wait for it. Players whose games are over are removed, so snapshots only carry
+ * players that may still be resumed. One process at a time may use a directory.
+ *
+ * Files in the log directory:
+ *   wal-NNNNNN.log  records of { long playerId, byte type, int a, int b, int crc32 }
+ *   snapshot.bin    int magic, int version, long firstSegment, long nextPlayerId,
+ *                   int count, count x { long playerId, int length, PlayerCodec bytes }
+ *   lock            held while the log is open
+ */
+public class PlayerLog implements AutoCloseable {
+    private static final int RECORD_SIZE = 8 + 1 + 4 + 4 + 4;
+    private static final int SNAPSHOT_MAGIC = 0x4D515053; // "MQPS"
+    private static final int SNAPSHOT_VERSION = 2;
+    private static final String SNAPSHOT_FILE = "snapshot.bin";
+    private static final byte REMOVED = -1; // Record type for a removed player, next to the PlayerEventHandler types
+    public static final String DEFAULT_DIRECTORY = "player_log"; // Log directory used by the game
+
+    private final Path directory;
+    private final int snapshotEvery; // Events between snapshots
+    private final Map<Long, Player> shadows = new HashMap<>(); // Log's own replayed copy of each player
+    private final Map<Long, Player> recovered; // Players rebuilt on open
+    private final FileChannel lockChannel;
+    private final FileLock lock; // Keeps other processes out of the directory
+
+    // Guarded by this
+    private ByteBuffer pending = ByteBuffer.allocate(64 * 1024);
+    private long appendedSeq; // Sequence number of the last appended record
+    private long durableSeq; // Sequence number of the last record on disk
+    private long nextPlayerId;
+    private boolean closed;
+    private IOException failure;
+    private final CRC32 crc = new CRC32(); // Also used by replay before the flusher starts
+
+    // Used only by the flusher thread
+    private ByteBuffer writing = ByteBuffer.allocate(64 * 1024);
+    private FileChannel segment;
+    private long segmentNumber;
+    private long eventsSinceSnapshot;
+
+    private final Thread flusher;
+    private final ExecutorService snapshotter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "player-log-snapshotter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean snapshotting; // Set by the flusher, cleared when the snapshotter finishes
+
+    /**
+     * Opens the log in a directory, rebuilding every logged player.
+     *
+     * @param directory     The log directory; it is created if missing.
+     * @param snapshotEvery The number of events between snapshots.
+     * @throws IOException If the directory cannot be read or written, or another
+     *                     process has it open.
+     */
+    public PlayerLog(Path directory, int snapshotEvery) throws IOException {
+        this.directory = directory;
+        this.snapshotEvery = snapshotEvery;
+        Files.createDirectories(directory);
+        lockChannel = FileChannel.open(directory.resolve("lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        lock = lockChannel.tryLock();
+        if (lock == null) {
+            lockChannel.close();
+            throw new IOException("Player log " + directory + " is in use by another process");
+        }
+
+        long firstSegment = readSnapshot();
+        long lastSegment = firstSegment - 1;
+        for (long number : segmentNumbers()) {
+            if (number >= firstSegment) {
+                replaySegment(segmentPath(number));
+                lastSegment = number;
+            }
+        }
+
+        // Hand out copies so the shadows stay private to the log
+        Map<Long, Player> copies = new HashMap<>();
+        for (Map.Entry<Long, Player> entry : shadows.entrySet()) {
+            copies.put(entry.getKey(), copy(entry.getValue()));
+        }
+        this.recovered = Collections.unmodifiableMap(copies);
+
+        // Never append to a segment that may end in a torn record
+        openSegment(lastSegment + 1);
+        flusher = new Thread(this::flushLoop, "player-log-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Gets the players rebuilt when the log was opened, keyed by player ID. They
+     * are not attached; call attach(id, player) to keep logging them.
+     *
+     * @return The recovered players.
+     */
+    public Map<Long, Player> getRecoveredPlayers() {
+        return recovered;
+    }
+
+    /**
+     * Starts logging a new player and gives it an ID.
+     *
+     * @param player The player to log.
+     * @return The player's ID in the log.
+     * @throws IOException If the log has failed.
+     */
+    public long attach(Player player) throws IOException {
+        long id;
+        synchronized (this) {
+            id = nextPlayerId++;
+        }
+        GameRandom random = player.getRandom();
+        long seq = append(id, PlayerEventHandler.CREATED, (int) (random.getSeed() >>> 32), (int) random.getSeed());
+        // Streams the player has already drawn from, so replay starts where the player is now
+        long[] initial = new GameRandom(random.getSeed()).getStates();
+        long[] states = random.getStates();
+        for (int i = 0; i < states.length; i++) {
+            if (states[i] != initial[i]) {
+                seq = append(id, (byte) (PlayerEventHandler.ROOT_STREAM + i), (int) (states[i] >>> 32), (int) states[i]);
+            }
+        }
+        awaitDurable(seq);
+        attach(id, player);
+        return id;
+    }
+
+    /**
+     * Resumes logging a recovered player under its existing ID. The player must be
+     * in the state the log holds for it, as recovered players and players restored
+     * from a GameSnapshot taken while attached are; its random stream positions are
+     * sent again with its next change.
+     *
+     * @param id     The player's ID.
+     * @param player The player to log.
+     */
+    public void attach(long id, Player player) {
+        attach(id, player, true);
+    }
+
+    /**
+     * Resumes logging a player like attach(id, player), but a change is only queued
+     * for the next group commit: the player's thread does not wait for the fsync.
+     * The flusher writes it within a few milliseconds and close() writes anything
+     * still queued, so only a crash in that window loses it. For players changed on
+     * a thread that must not block on disk, such as the Swing event thread.
+     *
+     * @param id     The player's ID.
+     * @param player The player to log.
+     */
+    public void attachQueued(long id, Player player) {
+        attach(id, player, false);
+    }
+
+    private void attach(long id, Player player, boolean waitForDisk) {
+        player.setEventHandler((type, a, b) -> {
+            try {
+                long seq = append(id, type, a, b);
+                if (waitForDisk && !isStreamState(type)) {
+                    awaitDurable(seq); // Also covers the stream states queued just before
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Player log failed", e);
+            }
+        });
+    }
+
+    /**
+     * Forgets a player whose game is over, so it is not recovered or carried in
+     * later snapshots. The player stops being logged.
+     *
+     * @param id     The player's ID.
+     * @param player The player, or null if it is not attached.
+     * @throws IOException If the log has failed.
+     */
+    public void remove(long id, Player player) throws IOException {
+        if (player != null) {
+            player.setEventHandler(null);
+        }
+        awaitDurable(append(id, REMOVED, 0, 0));
+    }
+
+    /**
+     * Forgets a player like remove(), but only queues the removal, as
+     * attachQueued() queues changes.
+     *
+     * @param id     The player's ID.
+     * @param player The player, or null if it is not attached.
+     * @throws IOException If the log has failed.
+     */
+    public void removeQueued(long id, Player player) throws IOException {
+        if (player != null) {
+            player.setEventHandler(null);
+        }
+        append(id, REMOVED, 0, 0);
+    }
+
+    private static boolean isStreamState(byte type) {
+        return type >= PlayerEventHandler.ROOT_STREAM && type <= PlayerEventHandler.SHUFFLE_STREAM;
+    }
+
+    /**
+     * Queues one record for the next group commit.
+     *
+     * @return The record's sequence number.
+     */
+    private synchronized long append(long id, byte type, int a, int b) throws IOException {
+        checkOpen();
+        if (pending.remaining() < RECORD_SIZE) {
+            ByteBuffer larger = ByteBuffer.allocate(pending.capacity() * 2);
+            pending.flip();
+            larger.put(pending);
+            pending = larger;
+        }
+        pending.putLong(id).put(type).putInt(a).putInt(b);
+        crc.reset();
+        crc.update(pending.array(), pending.position() - (RECORD_SIZE - 4), RECORD_SIZE - 4);
+        pending.putInt((int) crc.getValue());
+        notifyAll();
+        return ++appendedSeq;
+    }
+
+    /**
+     * Waits until a record and everything before it has been forced to disk.
+     */
+    private synchronized void awaitDurable(long seq) throws IOException {
+        boolean interrupted = false;
+        while (durableSeq < seq) {
+            if (failure != null) {
+                throw failure;
+            }
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void checkOpen() throws IOException {
+        if (failure != null) {
+            throw failure;
+        }
+        if (closed) {
+            throw new IOException("Player log is closed");
+        }
+    }
+
+    /**
+     * Writes each batch of queued records with one write and one fsync.
+     */
+    private void flushLoop() {
+        while (true) {
+            long batchSeq;
+            synchronized (this) {
+                while (pending.position() == 0 && !closed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (pending.position() == 0) {
+                    notifyAll();
+                    return;
+                }
+                ByteBuffer full = pending;
+                pending = writing;
+                writing = full;
+                batchSeq = appendedSeq;
+            }
+
+            try {
+                writing.flip();
+                while (writing.hasRemaining()) {
+                    segment.write(writing);
+                }
+                segment.force(false);
+            } catch (IOException e) {
+                synchronized (this) {
+                    failure = e;
+                    notifyAll();
+                }
+                return;
+            }
+
+            synchronized (this) {
+                durableSeq = batchSeq;
+                notifyAll();
+            }
+
+            writing.flip(); // Read the batch again to update the shadows
+            while (writing.hasRemaining()) {
+                applyRecord(writing);
+                eventsSinceSnapshot++;
+            }
+            writing.clear();
+            if (eventsSinceSnapshot >= snapshotEvery && !snapshotting) {
+                try {
+                    startSnapshot();
+                } catch (IOException e) {
+                    synchronized (this) {
+                        failure = e; // The next segment could not be opened
+                        notifyAll();
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts a new segment and encodes a snapshot that replays from it, then hands
+     * it to the snapshotter. Runs on the flusher, which owns the shadows.
+     */
+    private void startSnapshot() throws IOException {
+        openSegment(segmentNumber + 1);
+        long firstSegment = segmentNumber;
+
+        int size = 4 + 4 + 8 + 8 + 4;
+        for (Player player : shadows.values()) {
+            size += 8 + 4 + PlayerCodec.sizeOf(player);
+        }
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.putInt(SNAPSHOT_MAGIC).putInt(SNAPSHOT_VERSION).putLong(segmentNumber);
+        synchronized (this) {
+            out.putLong(nextPlayerId);
+        }
+        out.putInt(shadows.size());
+        for (Map.Entry<Long, Player> entry : shadows.entrySet()) {
+            out.putLong(entry.getKey()).putInt(PlayerCodec.sizeOf(entry.getValue()));
+            PlayerCodec.write(out, entry.getValue());
+        }
+        out.flip();
+        eventsSinceSnapshot = 0;
+
+        snapshotting = true;
+        snapshotter.execute(() -> {
+            try {
+                writeSnapshot(out, firstSegment);
+            } catch (IOException e) {
+                // The segments are kept, so nothing is lost; the next snapshot tries again
+                System.err.println("Could not write player snapshot: " + e.getMessage());
+            } finally {
+                snapshotting = false;
+            }
+        });
+    }
+
+    /**
+     * Writes an encoded snapshot in place of the old one and deletes the segments
+     * it covers.
+     */
+    private void writeSnapshot(ByteBuffer out, long firstSegment) throws IOException {
+        Path temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        for (long number : segmentNumbers()) {
+            if (number < firstSegment) {
+                Files.deleteIfExists(segmentPath(number));
+            }
+        }
+    }
+
+    /**
+     * Loads the snapshot into the shadows.
+     *
+     * @return The first segment to replay after the snapshot.
+     */
+    private long readSnapshot() throws IOException {
+        Path file = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (in.getInt() != SNAPSHOT_MAGIC || in.getInt() != SNAPSHOT_VERSION) {
+            throw new IOException("Unrecognized player snapshot " + file);
+        }
+        long firstSegment = in.getLong();
+        nextPlayerId = in.getLong();
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            long id = in.getLong();
+            int length = in.getInt();
+            ByteBuffer slice = in.slice();
+            slice.limit(length);
+            shadows.put(id, quiet(PlayerCodec.read(slice)));
+            in.position(in.position() + length);
+        }
+        return firstSegment;
+    }
+
+    /**
+     * Replays every complete, intact record in a segment. Replay stops at the first
+     * torn or corrupt record, which can only be the tail of a crashed write.
+     */
+    private void replaySegment(Path path) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(path));
+        while (in.remaining() >= RECORD_SIZE) {
+            crc.reset();
+            crc.update(in.array(), in.position(), RECORD_SIZE - 4);
+            if (in.getInt(in.position() + RECORD_SIZE - 4) != (int) crc.getValue()) {
+                break;
+            }
+            applyRecord(in);
+        }
+    }
+
+    /**
+     * Reads one record and applies it to the matching shadow player.
+     */
+    private void applyRecord(ByteBuffer in) {
+        long id = in.getLong();
+        byte type = in.get();
+        int a = in.getInt();
+        int b = in.getInt();
+        in.getInt(); // The checksum, already verified or just written
+
+        if (type == REMOVED) {
+            shadows.remove(id);
+            return;
+        }
+        if (type == PlayerEventHandler.CREATED) {
+            Player player = quiet(new Player());
+            player.setRandom(new GameRandom(((long) a << 32) | (b & 0xFFFFFFFFL)));
+            shadows.put(id, player);
+            synchronized (this) {
+                nextPlayerId = Math.max(nextPlayerId, id + 1);
+            }
+            return;
+        }
+        Player player = shadows.get(id);
+        if (player != null) {
+            apply(player, type, a, b);
+        }
+    }
+
+    /**
+     * Applies one event to a player through the same methods that produced it.
+     * The player must have no event handler, so nothing is logged twice.
+     *
+     * @param player The player to update.
+     * @param type   The event type.
+     * @param a      The first argument.
+     * @param b      The second argument.
+     */
+    public static void apply(Player player, byte type, int a, int b) {
+        switch (type) {
+            case PlayerEventHandler.REGISTER_COURSE:
+                player.setCourseFactory(courseType -> new Course(courseType, new Professor(b == 1 ? "Hard" : "Easy")));
+                player.registerCourse();
+                break;
+            case PlayerEventHandler.DROP_COURSE:
+                player.dropCourse(player.getCourseList().get(a));
+                break;
+            case PlayerEventHandler.ADD_CREDITS:
+                player.addCredits(a);
+                break;
+            case PlayerEventHandler.FAILED_EXAM:
+                player.incrementFailedExams();
+                break;
+            case PlayerEventHandler.EXAM_PASSED:
+                if (a >= 0) {
+                    player.recordExamResult(player.getCourseList().get(a), true);
+                } else {
+                    player.addCredits(3); // The course was not in the course list
+                }
+                break;
+            case PlayerEventHandler.RETAKE_USED:
+                player.useRetakeOption();
+                break;
+            case PlayerEventHandler.GAME_WON:
+                player.setGameWon(a == 1);
+                break;
+            case PlayerEventHandler.ROOT_STREAM:
+            case PlayerEventHandler.PROFESSOR_STREAM:
+            case PlayerEventHandler.DISTRACTOR_STREAM:
+            case PlayerEventHandler.SHUFFLE_STREAM:
+                player.getRandom().setState(type - PlayerEventHandler.ROOT_STREAM, ((long) a << 32) | (b & 0xFFFFFFFFL));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown player event type " + type);
+        }
+    }
+
+    private void openSegment(long number) throws IOException {
+        if (segment != null) {
+            segment.close();
+        }
+        segmentNumber = number;
+        segment = FileChannel.open(segmentPath(number), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(String.format("wal-%06d.log", number));
+    }
+
+    private List<Long> segmentNumbers() throws IOException {
+        List<Long> numbers = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "wal-*.log")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                numbers.add(Long.parseLong(name.substring(4, name.length() - 4)));
+            }
+        }
+        Collections.sort(numbers);
+        return numbers;
+    }
+
+    private static Player quiet(Player player) {
+        player.setMessageHandler(message -> { });
+        return player;
+    }
+
+    private static Player copy(Player player) {
+        ByteBuffer buffer = ByteBuffer.allocate(PlayerCodec.sizeOf(player));
+        PlayerCodec.write(buffer, player);
+        buffer.flip();
+        return PlayerCodec.read(buffer);
+    }
+
+    /**
+     * Flushes every queued record, waits for a snapshot being written and stops
+     * the log's threads.
+     *
+     * @throws IOException If the final flush failed.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        try {
+            flusher.join();
+            snapshotter.shutdown();
+            snapshotter.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        segment.close();
+        lock.release();
+        lockChannel.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * @Class: PlayerLogCheck
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/13/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The PlayerLogCheck class crashes a PlayerLog and checks what comes back.
+ * A child JVM plays many games at once from many threads, each player attached to
+ * one log with frequent snapshots, removes every fifth finished player, prints
+ * each finished player's encoded state and then halts without closing the log.
+ * The parent tears the tail of the last segment, replays the log and checks that
+ * every player comes back exactly as it was, random stream positions included,
+ * and that removed players stay gone. It then plays on with the recovered players,
+ * closes and reopens the log, and checks them again. It also round-trips a player
+ * with more courses than a short can count through PlayerCodec.
+ * Run with: java PlayerLogCheck [threads] [gamesPerThread]
+ */
+public class PlayerLogCheck {
+    private static final int SNAPSHOT_EVERY = 500; // Small, so the child writes many snapshots
+    private static final String REMOVED = "removed";
+
+    /**
+     * Runs the check and prints a summary. Exits with status 1 on a mismatch.
+     *
+     * @param args Optional thread count (default 200) and games per thread (default 3).
+     * @throws Exception If the child cannot be run or the log cannot be read.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--crash")) {
+            playAndCrash(Paths.get(args[1]), Integer.parseInt(args[2]), Integer.parseInt(args[3]));
+            return;
+        }
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        checkLargePlayer();
+
+        Path directory = Files.createTempDirectory("player-log");
+        try {
+            Map<Long, String> expected = new HashMap<>();
+            int removed = 0;
+            Process child = new ProcessBuilder(Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                    "-cp", System.getProperty("java.class.path"), "PlayerLogCheck", "--crash", directory.toString(),
+                    String.valueOf(threads), String.valueOf(games)).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+            try (BufferedReader out = new BufferedReader(new InputStreamReader(child.getInputStream(), StandardCharsets.UTF_8))) {
+                for (String line = out.readLine(); line != null; line = out.readLine()) {
+                    String[] parts = line.split(" ");
+                    long id = Long.parseLong(parts[0]);
+                    if (parts[1].equals(REMOVED)) {
+                        expected.remove(id);
+                        removed++;
+                    } else {
+                        expected.put(id, parts[1]);
+                    }
+                }
+            }
+            check(child.waitFor() == 0, "the child exited with status " + child.exitValue());
+            check(expected.size() + removed == threads * games, "the child finished " + (expected.size() + removed) + " games");
+
+            // A crash in the middle of a write leaves part of a record behind
+            Path last;
+            try (Stream<Path> files = Files.list(directory)) {
+                last = files.filter(file -> file.getFileName().toString().startsWith("wal-")).max(Comparator.naturalOrder()).orElseThrow();
+            }
+            Files.write(last, new byte[] { 0, 0, 0, 0, 0, 0, 0, 7, 2, 0, 0 }, StandardOpenOption.APPEND);
+
+            try (PlayerLog log = new PlayerLog(directory, SNAPSHOT_EVERY)) {
+                compare(log.getRecoveredPlayers(), expected, "after the crash");
+                Random random = new Random(20241213L);
+                for (Map.Entry<Long, Player> entry : log.getRecoveredPlayers().entrySet()) {
+                    Player player = entry.getValue();
+                    player.setMessageHandler(message -> { });
+                    log.attach(entry.getKey(), player);
+                    play(player, 2, random);
+                    expected.put(entry.getKey(), encode(player));
+                }
+            }
+            try (PlayerLog log = new PlayerLog(directory, SNAPSHOT_EVERY)) {
+                compare(log.getRecoveredPlayers(), expected, "after playing on and reopening");
+            }
+            System.out.println("PlayerLogCheck: " + expected.size() + " players from " + threads + " threads matched after a crash and "
+                    + "after playing on, " + removed + " removed players stayed gone");
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Plays games on many threads against one log, prints each finished player and
+     * halts without closing the log.
+     */
+    private static void playAndCrash(Path directory, int threads, int games) throws Exception {
+        PlayerLog log = new PlayerLog(directory, SNAPSHOT_EVERY);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            workers.add(new Thread(() -> {
+                Random random = new Random(thread);
+                try {
+                    for (int g = 0; g < games; g++) {
+                        Player player = new Player();
+                        player.setRandom(new GameRandom(random.nextLong()));
+                        player.setMessageHandler(message -> { });
+                        long id = log.attach(player);
+                        play(player, 6, random);
+                        String line;
+                        if ((thread * games + g) % 5 == 0) {
+                            log.remove(id, player);
+                            line = id + " " + REMOVED;
+                        } else {
+                            line = id + " " + encode(player);
+                        }
+                        synchronized (System.out) {
+                            System.out.println(line);
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        System.out.flush();
+        Runtime.getRuntime().halt(0);
+    }
+
+    /**
+     * Registers courses and takes their exams, answering at random, with the
+     * occasional drop, retake and extra credit.
+     */
+    private static void play(Player player, int courses, Random random) {
+        for (int c = 0; c < courses; c++) {
+            Course course = player.registerCourse();
+            ExamSession exam = new ExamSession(course, player, GameRules.DEFAULT, player.getRandom().forShuffles());
+            while (!exam.isFinished()) {
+                if (exam.getState() == ExamSession.State.DROP_DECISION) {
+                    exam.continueExam();
+                } else {
+                    exam.submit(String.valueOf((char) ('A' + random.nextInt(4))));
+                }
+            }
+            player.recordExamResult(course, exam.isPassed());
+            int extra = random.nextInt(10);
+            if (extra == 0) {
+                player.dropCourse(course);
+            } else if (extra == 1) {
+                player.useRetakeOption();
+            } else if (extra == 2) {
+                player.addCredits(2);
+            }
+        }
+    }
+
+    /**
+     * Checks recovered players against the expected encodings.
+     */
+    private static void compare(Map<Long, Player> recovered, Map<Long, String> expected, String when) {
+        check(recovered.size() == expected.size(), "recovered " + recovered.size() + " players " + when + ", expected " + expected.size());
+        for (Map.Entry<Long, String> entry : expected.entrySet()) {
+            Player player = recovered.get(entry.getKey());
+            check(player != null, "player " + entry.getKey() + " is missing " + when);
+            check(encode(player).equals(entry.getValue()), "player " + entry.getKey() + " differs " + when);
+        }
+    }
+
+    /**
+     * Round-trips a player with more courses than a short can count.
+     */
+    private static void checkLargePlayer() {
+        Player player = new Player();
+        player.setMessageHandler(message -> { });
+        for (int i = 0; i < 40_000; i++) {
+            player.registerCourse();
+        }
+        String encoded = encode(player);
+        Player restored = PlayerCodec.read(ByteBuffer.wrap(HexFormat.of().parseHex(encoded)));
+        check(restored.getCourseList().size() == 40_000 && encode(restored).equals(encoded),
+                "a player with 40000 courses came back with " + restored.getCourseList().size());
+    }
+
+    private static String encode(Player player) {
+        ByteBuffer buffer = ByteBuffer.allocate(PlayerCodec.sizeOf(player));
+        PlayerCodec.write(buffer, player);
+        return HexFormat.of().formatHex(buffer.array());
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            System.err.println("PlayerLogCheck failed: " + message);
+            System.exit(1);
+        }
+    }
+}
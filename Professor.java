@@ -1,4 +1,5 @@
 import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * @Class: Professor
@@ -18,17 +19,42 @@ public class Professor {
     private int extraCredit;
 
     /**
-     * Randomizes the difficulty of the professor.
+     * Creates a professor whose difficulty is randomized on first use.
+     */
+    public Professor() {
+    }
+
+    /**
+     * Creates a professor whose difficulty is drawn from the given random stream.
+     *
+     * @param random The game's professor stream.
+     */
+    public Professor(Random random) {
+        this.difficulty = random.nextInt(2) == 0 ? "Easy" : "Hard";
+    }
+
+    /**
+     * Creates a professor with a fixed difficulty.
+     *
+     * @param difficulty The difficulty level, either "Easy" or "Hard".
+     */
+    public Professor(String difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * Returns the difficulty of the professor, randomizing it on the first call.
      *
      * @return The difficulty level as a string, either "Easy" or "Hard".
      */
     public String getDifficulty() {
-        Random ran = new Random();
-        int diff = ran.nextInt(2); // Generates 0 or 1
-        if (diff == 0) {
-            this.difficulty = "Easy";
-        } else {
-            this.difficulty = "Hard";
+        if (this.difficulty == null) {
+            int diff = ThreadLocalRandom.current().nextInt(2); // Generates 0 or 1
+            if (diff == 0) {
+                this.difficulty = "Easy";
+            } else {
+                this.difficulty = "Hard";
+            }
         }
         return this.difficulty;
     }
@@ -39,11 +65,18 @@ public class Professor {
      * @return The amount of extra credit, which is 2 for "Easy" and -2 for "Hard".
      */
     public int assignExtraCredit() {
-        if (this.difficulty.equalsIgnoreCase("Easy")) {
-            this.extraCredit = 2; // Positive extra credit for easy difficulty
-        } else {
-            this.extraCredit = -2; // Negative extra credit for hard difficulty
-        }
+        return assignExtraCredit(GameRules.DEFAULT);
+    }
+
+    /**
+     * Assigns extra credit or deduction points based on the difficulty level of the
+     * professor, using the given rules.
+     *
+     * @param rules The game rules that set the extra credit per difficulty.
+     * @return The amount of extra credit.
+     */
+    public int assignExtraCredit(GameRules rules) {
+        this.extraCredit = rules.getExtraCredit(getDifficulty());
         return this.extraCredit;
     }
 }
@@ -8,6 +8,8 @@ public class Question {
     private String questionText; // The text of the question
     private List<String> choices; // The list of multiple-choice answers
     private String correctAnswer; // The correct answer to the question
+    private AnswerMatcher answerMatcher; // Compiled from the correct answer, for typed answers
+    private int correctChoice; // Position of the correct answer in choices, or -1
 
     /**
      * Constructor for the Question class.
@@ -17,9 +19,26 @@ public class Question {
      * @param correctAnswer The correct answer to the question.
      */
     public Question(String questionText, List<String> choices, String correctAnswer) {
+        this(questionText, choices, correctAnswer, AnswerMatcher.compile(correctAnswer));
+    }
+
+    private Question(String questionText, List<String> choices, String correctAnswer, AnswerMatcher answerMatcher) {
         this.questionText = questionText;
         this.choices = choices;
         this.correctAnswer = correctAnswer;
+        this.answerMatcher = answerMatcher;
+        this.correctChoice = choices == null ? -1 : choices.indexOf(correctAnswer);
+    }
+
+    /**
+     * Creates the same question with its choices in another order, sharing the
+     * compiled answer matcher.
+     *
+     * @param choices The choices, in the order they should be shown.
+     * @return The new question.
+     */
+    public Question withChoices(List<String> choices) {
+        return new Question(questionText, choices, correctAnswer, answerMatcher);
     }
 
     /**
@@ -48,4 +67,43 @@ public class Question {
     public String getCorrectAnswer() {
         return correctAnswer;
     }
+
+    /**
+     * Gets the position of the correct answer among the choices.
+     *
+     * @return The index into getChoices(), or -1 if the correct answer is not a choice.
+     */
+    public int getCorrectChoice() {
+        return correctChoice;
+    }
+
+    /**
+     * Checks whether a choice is the correct answer.
+     *
+     * @param choice The index into getChoices().
+     * @return True if the choice is correct.
+     */
+    public boolean isCorrectChoice(int choice) {
+        return choice == correctChoice && choice >= 0;
+    }
+
+    /**
+     * Checks a typed answer, allowing numeric, case and spacing variants of the
+     * correct answer as decided by its AnswerMatcher.
+     *
+     * @param answer The typed answer.
+     * @return True if the answer matches the correct answer.
+     */
+    public boolean matchesAnswer(CharSequence answer) {
+        return answerMatcher.matches(answer);
+    }
+
+    /**
+     * Gets the matcher compiled from the correct answer.
+     *
+     * @return The answer matcher.
+     */
+    public AnswerMatcher getAnswerMatcher() {
+        return answerMatcher;
+    }
 }
@@ -0,0 +1,348 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @Class: QuestionBank
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/2/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The QuestionBank class is a process-wide cache of parsed question
+ * files. Each bank is read once and then shared read-only by every Course and Exam;
+ * a compiled bank's questions are read and given their choices as they are first
+ * asked for. A bank is rebuilt when its file's modification time or size changes:
+ * on its next lookup, or, when a BankWatcher watches its directory, in the
+ * background as soon as the file is saved. Either way the new bank replaces the old
+ * one with a single map write, so exams already running keep the bank they started
+ * with.
+ *
+ * Which wrong answers a question offers is decided once per bank, from a seed fixed
+ * by the file's name and the question's place in it (GameRandom.forBankQuestion),
+ * not per course as the original game did. Every player therefore sees the same
+ * distractors for a question until its file changes; only their order is shuffled
+ * per exam, from the player's own stream. Fixed choices are what let QuestionStats
+ * count picks by choice and let a replayed seed show the same exam.
+ */
+public final class QuestionBank {
+    private static final Map<String, QuestionBank> CACHE = new ConcurrentHashMap<>();
+    private static final Map<String, Object> LOAD_LOCKS = new ConcurrentHashMap<>(); // One per file, so different banks load in parallel
+    private static final Set<Path> WATCHED_DIRECTORIES = ConcurrentHashMap.newKeySet(); // Directories a BankWatcher keeps current
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    private final String filePath; // The file this bank was loaded from
+    private final Path path; // The same file as an absolute, normalized path
+    private final Path directory; // The directory holding the file
+    private final long lastModified; // File modification time when loaded
+    private final long size; // File size when loaded
+    private final CompiledQuestionBank compiled; // The compiled bank read on demand, or null
+    private volatile Map<String, String> answers; // Question text to correct answer, decoded on first use
+    private final List<Question> questions; // Prepared questions with choices
+
+    private QuestionBank(String filePath, long lastModified, long size, CompiledQuestionBank compiled, Map<String, String> answers, List<Question> questions) {
+        this.filePath = filePath;
+        this.path = Paths.get(filePath).toAbsolutePath().normalize();
+        this.directory = path.getParent();
+        this.lastModified = lastModified;
+        this.size = size;
+        this.compiled = compiled;
+        this.answers = answers;
+        this.questions = questions;
+    }
+
+    /**
+     * Returns the shared bank for the given file, loading it on first use or
+     * when the file has changed since it was cached.
+     *
+     * @param filePath The path to the file containing questions and answers.
+     * @return The shared, read-only question bank.
+     */
+    public static QuestionBank forFile(String filePath) {
+        QuestionBank cached = CACHE.get(filePath);
+        // A watched bank is replaced as soon as its file changes, so it is current
+        // without reading the file's attributes
+        if (cached != null && cached.isWatched()) {
+            HITS.increment();
+            return cached;
+        }
+        long[] stamp = stamp(filePath);
+        if (cached != null && cached.matches(stamp)) {
+            HITS.increment();
+            return cached;
+        }
+        // Not CACHE.compute: it would hold a map bin lock during the load and can
+        // serialize loads of different files that share a bin
+        synchronized (LOAD_LOCKS.computeIfAbsent(filePath, path -> new Object())) {
+            QuestionBank current = CACHE.get(filePath);
+            if (current != null && current.matches(stamp)) {
+                HITS.increment();
+                return current;
+            }
+            MISSES.increment();
+            long started = System.nanoTime();
+            QuestionBank loaded = load(filePath, stamp);
+            GameMetrics.get().bankLoaded(System.nanoTime() - started);
+            CACHE.put(filePath, loaded);
+            return loaded;
+        }
+    }
+
+    /**
+     * Rebuilds a cached bank whose file has changed and replaces it in the cache.
+     * Lookups are not blocked while the file is parsed and its choices are built;
+     * they keep getting the old bank until the new one is put in its place.
+     *
+     * @param filePath The bank's file path, as used with forFile().
+     * @return The new bank, or null if the bank is not cached or its file is unchanged.
+     * @throws IOException If the file is missing, cannot be parsed or has no
+     *                     questions. The old bank stays in place.
+     */
+    static QuestionBank reload(String filePath) throws IOException {
+        synchronized (LOAD_LOCKS.computeIfAbsent(filePath, path -> new Object())) {
+            QuestionBank current = CACHE.get(filePath);
+            long[] stamp = stamp(filePath);
+            if (current == null || current.matches(stamp)) {
+                return null;
+            }
+            if (stamp[0] == 0 && stamp[1] == 0) {
+                throw new IOException(filePath + " is missing");
+            }
+            QuestionBank loaded;
+            try {
+                loaded = load(filePath, stamp);
+            } catch (RuntimeException e) {
+                throw new IOException("Could not rebuild " + filePath + ": " + e, e);
+            }
+            if (loaded.questions.isEmpty()) {
+                throw new IOException(filePath + " has no questions");
+            }
+            CACHE.put(filePath, loaded);
+            return loaded;
+        }
+    }
+
+    /**
+     * Finds the cached bank loaded from a file.
+     *
+     * @param file An absolute, normalized path.
+     * @return The bank's file path as used with forFile(), or null if it is not cached.
+     */
+    static String cachedFileFor(Path file) {
+        for (QuestionBank bank : CACHE.values()) {
+            if (bank.path.equals(file)) {
+                return bank.filePath;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the file paths of every cached bank in a directory.
+     *
+     * @param directory An absolute, normalized directory.
+     * @return The banks' file paths as used with forFile().
+     */
+    static List<String> cachedFilesIn(Path directory) {
+        List<String> files = new ArrayList<>();
+        for (QuestionBank bank : CACHE.values()) {
+            if (directory.equals(bank.directory)) {
+                files.add(bank.filePath);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Marks a directory as watched, so lookups of its banks skip the file check.
+     *
+     * @return False if the directory was already watched.
+     */
+    static boolean watch(Path directory) {
+        return WATCHED_DIRECTORIES.add(directory);
+    }
+
+    static void unwatch(Path directory) {
+        WATCHED_DIRECTORIES.remove(directory);
+    }
+
+    private boolean isWatched() {
+        return !WATCHED_DIRECTORIES.isEmpty() && WATCHED_DIRECTORIES.contains(directory);
+    }
+
+    /**
+     * Builds an immutable bank for the file. When the file is compiled, or can be
+     * compiled now, a question is read from the compiled bank by index and its
+     * choices are built the first time it is asked for, so a load costs one pass
+     * over the answers rather than decoding and preparing every question. Otherwise
+     * every question is prepared here. Either way each question's distractors come
+     * from its own fixed stream, so both give the same choices.
+     */
+    private static QuestionBank load(String filePath, long[] stamp) {
+        Quizzes quizzes = new Quizzes();
+        CompiledQuestionBank compiled = quizzes.openCompiled(filePath);
+        Map<String, String> answers = null;
+        if (compiled == null) {
+            answers = quizzes.loadQuestions(filePath); // Parses the text file and compiles it
+            compiled = CompiledQuestionBank.open(filePath);
+        }
+
+        GameEvents.ChoicesBuilt event = new GameEvents.ChoicesBuilt();
+        event.begin();
+        List<Question> questions;
+        String[] pool;
+        if (compiled != null) {
+            pool = quizzes.distractorPool(compiled.distinctAnswers());
+            questions = new CompiledQuestions(filePath, compiled, quizzes, pool);
+            answers = null; // Decoded from the compiled bank if asked for, as it may be newer than the parse
+        } else {
+            // Not compiled: the file has no questions or its directory cannot be written
+            pool = quizzes.distractorPool(answers.values());
+            List<Question> prepared = new ArrayList<>(answers.size());
+            for (Map.Entry<String, String> entry : answers.entrySet()) {
+                prepared.add(prepare(quizzes, filePath, prepared.size(), entry.getKey(), entry.getValue(), pool));
+            }
+            questions = Collections.unmodifiableList(prepared);
+            answers = Collections.unmodifiableMap(answers);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.bankSize = questions.size();
+            event.distinctAnswers = pool.length;
+            event.commit();
+        }
+        return new QuestionBank(filePath, stamp[0], stamp[1], compiled, answers, questions);
+    }
+
+    /**
+     * Builds the choices of question N of a bank, from the question's own stream.
+     */
+    private static Question prepare(Quizzes quizzes, String filePath, int n, String questionText, String correctAnswer, String[] pool) {
+        Question question = quizzes.questionWithChoices(questionText, correctAnswer, pool, GameRandom.forBankQuestion(filePath, n));
+        return question.withChoices(Collections.unmodifiableList(question.getChoices()));
+    }
+
+    /**
+     * Reads the modification time and size of a file. A missing file yields zeros.
+     */
+    private static long[] stamp(String filePath) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(Paths.get(filePath), BasicFileAttributes.class);
+            return new long[] { attrs.lastModifiedTime().toMillis(), attrs.size() };
+        } catch (IOException e) {
+            return new long[] { 0L, 0L };
+        }
+    }
+
+    private boolean matches(long[] stamp) {
+        return lastModified == stamp[0] && size == stamp[1];
+    }
+
+    /**
+     * Gets the path of the file this bank was loaded from.
+     *
+     * @return The file path.
+     */
+    public String getFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Gets the read-only map of questions to their correct answers. A compiled bank
+     * decodes the map on the first call.
+     *
+     * @return The question/answer map.
+     */
+    public Map<String, String> getAnswers() {
+        Map<String, String> decoded = answers;
+        if (decoded == null) {
+            decoded = Collections.unmodifiableMap(compiled.toMap());
+            answers = decoded; // A racing thread decodes the same map, so either copy may stay
+        }
+        return decoded;
+    }
+
+    /**
+     * Gets the read-only list of prepared questions. Getting question N from a
+     * compiled bank is constant time. Callers must copy the list (and any choice
+     * list) before shuffling it.
+     *
+     * @return The list of questions.
+     */
+    public List<Question> getQuestions() {
+        return questions;
+    }
+
+    /**
+     * Gets the number of lookups served from the cache.
+     *
+     * @return The cache hit count.
+     */
+    public static long getHitCount() {
+        return HITS.sum();
+    }
+
+    /**
+     * Gets the number of lookups that had to load or reload a file.
+     *
+     * @return The cache miss count.
+     */
+    public static long getMissCount() {
+        return MISSES.sum();
+    }
+
+    /**
+     * Drops every cached bank so the next lookup reloads from disk.
+     */
+    public static void clear() {
+        CACHE.clear();
+    }
+
+    /**
+     * The questions of a compiled bank. Question N is read from the memory mapping
+     * and given its choices on first use, then kept, so every caller sees the same
+     * Question object for it.
+     */
+    private static final class CompiledQuestions extends AbstractList<Question> implements RandomAccess {
+        private final String filePath; // The bank's file path, which seeds each question's stream
+        private final CompiledQuestionBank compiled; // Where the questions are read from
+        private final Quizzes quizzes; // Builds the choices
+        private final String[] pool; // The bank's distractor pool
+        private final AtomicReferenceArray<Question> prepared; // Questions built so far, by index
+
+        CompiledQuestions(String filePath, CompiledQuestionBank compiled, Quizzes quizzes, String[] pool) {
+            this.filePath = filePath;
+            this.compiled = compiled;
+            this.quizzes = quizzes;
+            this.pool = pool;
+            this.prepared = new AtomicReferenceArray<>(compiled.size());
+        }
+
+        @Override
+        public Question get(int n) {
+            Question question = prepared.get(n);
+            if (question == null) {
+                Question built = prepare(quizzes, filePath, n, compiled.getQuestion(n), compiled.getAnswer(n), pool);
+                question = prepared.compareAndSet(n, null, built) ? built : prepared.get(n);
+            }
+            return question;
+        }
+
+        @Override
+        public int size() {
+            return prepared.length();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import javax.swing.JOptionPane;
+
+/**
+ * @Class: QuestionFileReader
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/3/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The QuestionFileReader class is a streaming loader for large question
+ * files. It reads the file through a FileChannel in large buffers, finds line
+ * breaks and the first comma directly on the bytes, and only decodes the trimmed
+ * question and answer slices. It returns the same data as Quizzes.readQuestions.
+ *
+ * The game no longer loads banks with it: Quizzes.loadQuestions reads the
+ * compiled bank or, failing that, uses QuestionImporter. It is kept as the
+ * baseline that LoaderBenchmark, QuestionImportBenchmark, BenchmarkSuite and the
+ * JMH HotPathBenchmark measure the other loaders against, and as the reference
+ * QuestionImportBenchmark checks the importer's output with.
+ */
+public class QuestionFileReader {
+    private static final int BUFFER_SIZE = 1 << 20; // 1 MiB read buffer
+
+    /**
+     * Reads questions and answers from a CSV file. Each line holds a question and
+     * its correct answer separated by the first comma.
+     *
+     * @param filePath The path to the file containing questions and answers.
+     * @return A map where keys are questions and values are correct answers.
+     */
+    public Map<String, String> readQuestions(String filePath) {
+        Map<String, String> questionsMap = new HashMap<>();
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            boolean skipLineFeed = false; // Set when a chunk ended on '\r'
+            while (true) {
+                int read = channel.read(buffer);
+                boolean eof = read < 0;
+                byte[] bytes = buffer.array();
+                int limit = buffer.position();
+                int start = 0;
+
+                if (skipLineFeed && limit > 0) {
+                    if (bytes[0] == '\n') {
+                        start = 1;
+                    }
+                    skipLineFeed = false;
+                }
+
+                for (int i = start; i < limit; i++) {
+                    byte b = bytes[i];
+                    if (b == '\n' || b == '\r') {
+                        parseLine(bytes, start, i, questionsMap);
+                        if (b == '\r') {
+                            if (i + 1 < limit) {
+                                if (bytes[i + 1] == '\n') {
+                                    i++;
+                                }
+                            } else {
+                                skipLineFeed = true;
+                            }
+                        }
+                        start = i + 1;
+                    }
+                }
+
+                if (eof) {
+                    if (start < limit) {
+                        parseLine(bytes, start, limit, questionsMap);
+                    }
+                    break;
+                }
+
+                // Keep the partial last line, growing the buffer if a single line fills it
+                buffer.position(start);
+                buffer.limit(limit);
+                buffer.compact();
+                if (!buffer.hasRemaining()) {
+                    ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+                    buffer.flip();
+                    larger.put(buffer);
+                    buffer = larger;
+                }
+            }
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(null, "Error reading questions file: " + e.getMessage());
+        }
+        return questionsMap;
+    }
+
+    /**
+     * Splits one line on its first comma and stores the trimmed question and answer.
+     */
+    private static void parseLine(byte[] bytes, int from, int to, Map<String, String> questionsMap) {
+        int comma = -1;
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == ',') {
+                comma = i;
+                break;
+            }
+        }
+        if (comma < 0) {
+            System.out.println("Incomplete question data found, skipping question.");
+            return;
+        }
+        questionsMap.put(decodeTrimmed(bytes, from, comma), decodeTrimmed(bytes, comma + 1, to));
+    }
+
+    /**
+     * Decodes a UTF-8 slice with the same whitespace rules as String.trim().
+     * Every character trim() strips is a single byte at or below a space.
+     */
+    private static String decodeTrimmed(byte[] bytes, int from, int to) {
+        while (from < to && (bytes[from] & 0xFF) <= ' ') {
+            from++;
+        }
+        while (to > from && (bytes[to - 1] & 0xFF) <= ' ') {
+            to--;
+        }
+        return new String(bytes, from, to - from, StandardCharsets.UTF_8);
+    }
+}
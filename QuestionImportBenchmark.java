@@ -0,0 +1,126 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * @Class: QuestionImportBenchmark
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/18/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The QuestionImportBenchmark class measures rows per second for
+ * QuestionFileReader and for QuestionImporter on one thread and on every core.
+ * It uses two generated banks: a plain one, and one where a fraction of the
+ * questions are quoted with commas, escaped quotes and line breaks, and some
+ * questions repeat. Before timing, it checks that the importer gives the same
+ * map as QuestionFileReader on the plain bank, and the same map on one thread
+ * as on every core, with both duplicate policies, on the quoted bank.
+ * Run with: java QuestionImportBenchmark [rows]
+ */
+public class QuestionImportBenchmark {
+    private static final int CHUNK_BYTES = 8 << 20; // Range size for timing, the importer's default
+    private static final int CHECK_CHUNK_BYTES = 64 << 10; // Small ranges, so many boundaries fall inside quoted fields
+    private static final int ROUNDS = 5;
+
+    /**
+     * Generates the banks, checks the importer and prints the measurements.
+     *
+     * @param args Optional number of rows to generate (default 2000000).
+     * @throws Exception If a bank cannot be written or read.
+     */
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        Path plain = Files.createTempFile("bank", ".txt");
+        Path quoted = Files.createTempFile("bank", ".csv");
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool all = ForkJoinPool.commonPool();
+        try {
+            writeBank(plain, rows, false);
+            writeBank(quoted, rows, true);
+
+            QuestionImporter sequential = new QuestionImporter(single, QuestionImporter.Duplicates.LAST_WINS, CHUNK_BYTES);
+            QuestionImporter parallel = new QuestionImporter(all, QuestionImporter.Duplicates.LAST_WINS, CHUNK_BYTES);
+            check(new QuestionFileReader().readQuestions(plain.toString()).equals(parallel.importFile(plain).getQuestions()),
+                    "the importer and QuestionFileReader disagree on the plain bank");
+            for (QuestionImporter.Duplicates duplicates : QuestionImporter.Duplicates.values()) {
+                Map<String, String> one = new QuestionImporter(single, duplicates, Integer.MAX_VALUE).importFile(quoted).getQuestions();
+                Map<String, String> many = new QuestionImporter(all, duplicates, CHECK_CHUNK_BYTES).importFile(quoted).getQuestions();
+                check(one.equals(many), "one range and many ranges disagree with " + duplicates);
+            }
+            QuestionImporter.Result result = parallel.importFile(quoted);
+            check(result.getRowCount() == rows && result.getSkippedCount() == 0,
+                    "expected " + rows + " rows but read " + result.getRowCount() + " and skipped " + result.getSkippedCount());
+
+            System.out.printf("Banks: %d rows each, %d cores, %d MB ranges%n", rows, Runtime.getRuntime().availableProcessors(), CHUNK_BYTES >> 20);
+            for (Path bank : new Path[] { plain, quoted }) {
+                double megabytes = Files.size(bank) / (1024.0 * 1024.0);
+                System.out.printf("%s (%.1f MB)%n", bank == plain ? "Plain" : "Quoted", megabytes);
+                if (bank == plain) {
+                    report("QuestionFileReader", rows, megabytes, () -> new QuestionFileReader().readQuestions(plain.toString()));
+                }
+                report("Importer, 1 thread", rows, megabytes, () -> sequential.importFile(bank).getQuestions());
+                report("Importer, all cores", rows, megabytes, () -> parallel.importFile(bank).getQuestions());
+            }
+        } finally {
+            single.shutdown();
+            Files.deleteIfExists(plain);
+            Files.deleteIfExists(quoted);
+        }
+    }
+
+    /**
+     * Writes a bank of generated rows. In a quoted bank every tenth question is a
+     * quoted field with a comma and an escaped quote, every hundredth also has a
+     * line break, and every fiftieth row repeats an earlier question with a new answer.
+     */
+    private static void writeBank(Path file, int rows, boolean quoted) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < rows; i++) {
+                int question = quoted && i % 50 == 49 ? i / 2 : i;
+                if (quoted && question % 10 == 0) {
+                    String lineBreak = question % 100 == 0 ? "\r\n" : " ";
+                    out.write("\"Which is right, \"\"A\"\" or" + lineBreak + "\"\"B\"\", for question " + question + "?\"");
+                } else {
+                    out.write("What is the answer to question number " + question + "?");
+                }
+                out.write(", Answer " + (i % 5000) + "\n");
+            }
+        }
+    }
+
+    /**
+     * A load to time.
+     */
+    private interface Load {
+        Map<String, String> run() throws IOException;
+    }
+
+    /**
+     * Warms up a load, then prints the best of several runs.
+     */
+    private static void report(String name, int rows, double megabytes, Load load) throws IOException {
+        long best = Long.MAX_VALUE;
+        int size = 0;
+        for (int round = 0; round < ROUNDS * 2; round++) {
+            long start = System.nanoTime();
+            size = load.run().size();
+            long elapsed = System.nanoTime() - start;
+            if (round >= ROUNDS) {
+                best = Math.min(best, elapsed);
+            }
+        }
+        System.out.printf("  %-20s %8.1f ms  %6.2f M rows/s  %8.1f MB/s  (%d questions)%n",
+                name, best / 1e6, rows / (best / 1e9) / 1e6, megabytes / (best / 1e9), size);
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            System.err.println("QuestionImportBenchmark failed: " + message);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,581 @@
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * @Class: QuestionImporter
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/18/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The QuestionImporter class reads question banks of any size as CSV with
+ * RFC 4180 quoting, so a question may contain commas, quotes ("" inside a quoted
+ * field) and line breaks. The file is split into byte ranges that are parsed in
+ * parallel on a fork/join pool. A range cannot simply start after its first line
+ * break, because that break may sit inside a quoted field, so a first parallel pass
+ * runs the CSV state machine over each range from every possible starting state;
+ * chaining the ranges' end states then gives each range's true first record. The
+ * ranges' questions are merged in file order, so duplicates resolve exactly as if
+ * the file were read top to bottom.
+ *
+ * Lines without quotes parse as they always have: the question is everything
+ * before the first comma and the answer everything after it, both trimmed. A quote
+ * only starts a quoted field at the beginning of a field, so quotes inside
+ * unquoted text are kept as written.
+ */
+public final class QuestionImporter {
+    private static final int DEFAULT_CHUNK_BYTES = 8 << 20; // 8 MiB per range
+
+    // CSV states
+    private static final int FIELD_START = 0; // Before a field's first character
+    private static final int UNQUOTED = 1; // In a field that did not start with a quote
+    private static final int QUOTED = 2; // In a quoted field
+    private static final int QUOTE_IN_QUOTED = 3; // Just after a quote in a quoted field: an escape or the closing quote
+    private static final int STATES = 4;
+
+    // Byte classes
+    private static final int OTHER = 0;
+    private static final int QUOTE = 1;
+    private static final int COMMA = 2;
+    private static final int LINE_BREAK = 3;
+    private static final int SPACE = 4;
+
+    private static final int[][] NEXT = {
+            // OTHER,    QUOTE,           COMMA,       LINE_BREAK,  SPACE
+            { UNQUOTED, QUOTED, FIELD_START, FIELD_START, FIELD_START }, // FIELD_START
+            { UNQUOTED, UNQUOTED, FIELD_START, FIELD_START, UNQUOTED }, // UNQUOTED
+            { QUOTED, QUOTE_IN_QUOTED, QUOTED, QUOTED, QUOTED }, // QUOTED
+            { UNQUOTED, QUOTED, FIELD_START, FIELD_START, UNQUOTED }, // QUOTE_IN_QUOTED
+    };
+
+    private static final byte[] CLASS = new byte[256]; // Byte value to byte class
+    private static final int IDENTITY = FIELD_START | UNQUOTED << 2 | QUOTED << 4 | QUOTE_IN_QUOTED << 6; // Lane s in state s
+    private static final int[] PACKED_NEXT = new int[5 << 8]; // NEXT applied to all four 2-bit lanes, indexed by class << 8 | lanes
+
+    static {
+        CLASS['"'] = QUOTE;
+        CLASS[','] = COMMA;
+        CLASS['\n'] = LINE_BREAK;
+        CLASS['\r'] = LINE_BREAK;
+        CLASS[' '] = SPACE;
+        CLASS['\t'] = SPACE;
+        for (int type = 0; type < 5; type++) {
+            for (int lanes = 0; lanes < 256; lanes++) {
+                int next = 0;
+                for (int s = 0; s < STATES; s++) {
+                    next |= NEXT[lane(lanes, s)][type] << (s * 2);
+                }
+                PACKED_NEXT[type << 8 | lanes] = next;
+            }
+        }
+    }
+
+    /**
+     * What to keep when a question appears more than once.
+     */
+    public enum Duplicates {
+        FIRST_WINS, // Keep the first answer, like Map.putIfAbsent
+        LAST_WINS // Keep the last answer, like Map.put and Quizzes.readQuestions
+    }
+
+    /**
+     * The questions read from one file and what was skipped.
+     */
+    public static final class Result {
+        private final Map<String, String> questions;
+        private final long rows;
+        private final long skipped;
+        private final int chunks;
+        private final List<NearDuplicateIndex.Pair> rejected = new ArrayList<>(); // Near-duplicates left out
+
+        private Result(Map<String, String> questions, long rows, long skipped, int chunks) {
+            this.questions = questions;
+            this.rows = rows;
+            this.skipped = skipped;
+            this.chunks = chunks;
+        }
+
+        /**
+         * Gets the questions and their correct answers.
+         *
+         * @return A map where keys are questions and values are correct answers.
+         */
+        public Map<String, String> getQuestions() {
+            return questions;
+        }
+
+        /**
+         * Gets the number of records with a question and an answer, duplicates included.
+         *
+         * @return The row count.
+         */
+        public long getRowCount() {
+            return rows;
+        }
+
+        /**
+         * Gets the number of non-blank records without an answer, which were skipped.
+         *
+         * @return The skipped count.
+         */
+        public long getSkippedCount() {
+            return skipped;
+        }
+
+        /**
+         * Gets the number of byte ranges the file was parsed in.
+         *
+         * @return The chunk count.
+         */
+        public int getChunkCount() {
+            return chunks;
+        }
+
+        /**
+         * Gets the questions left out as near-duplicates, each paired with the
+         * indexed question it resembles. Empty unless an index was given.
+         *
+         * @return The rejected questions, first the left-out one and then its match.
+         */
+        public List<NearDuplicateIndex.Pair> getRejected() {
+            return rejected;
+        }
+    }
+
+    private final ForkJoinPool pool; // Parses the ranges
+    private final Duplicates duplicates;
+    private final int chunkBytes; // Target size of a range
+
+    /**
+     * Creates an importer on the common fork/join pool that keeps the last answer
+     * of a repeated question, as Quizzes.readQuestions does.
+     */
+    public QuestionImporter() {
+        this(ForkJoinPool.commonPool(), Duplicates.LAST_WINS, DEFAULT_CHUNK_BYTES);
+    }
+
+    /**
+     * Creates an importer.
+     *
+     * @param pool       The pool that parses ranges.
+     * @param duplicates What to keep when a question appears more than once.
+     * @param chunkBytes The target size of each range in bytes.
+     */
+    public QuestionImporter(ForkJoinPool pool, Duplicates duplicates, int chunkBytes) {
+        if (chunkBytes < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkBytes);
+        }
+        this.pool = pool;
+        this.duplicates = duplicates;
+        this.chunkBytes = chunkBytes;
+    }
+
+    /**
+     * Reads every question in a file.
+     *
+     * @param file The CSV file of questions and answers.
+     * @return The questions and counts.
+     * @throws IOException If the file cannot be read.
+     */
+    public Result importFile(Path file) throws IOException {
+        return importFile(file, false);
+    }
+
+    /**
+     * Reads every question in a file and leaves out near-duplicates. Questions are
+     * checked in file order against the index, which may already hold other banks;
+     * a question with a near-duplicate is left out and listed in the result, and
+     * every other question is added to the index, so of two near-duplicates in the
+     * file the first is kept.
+     *
+     * @param file           The CSV file of questions and answers.
+     * @param nearDuplicates The index of questions already accepted.
+     * @return The accepted questions, counts and rejected questions.
+     * @throws IOException If the file cannot be read.
+     */
+    public Result importFile(Path file, NearDuplicateIndex nearDuplicates) throws IOException {
+        Result result = importFile(file, true);
+        String bank = file.getFileName().toString();
+        Iterator<Map.Entry<String, String>> entries = result.questions.entrySet().iterator();
+        while (entries.hasNext()) {
+            String question = entries.next().getKey();
+            List<NearDuplicateIndex.Match> matches = nearDuplicates.findSimilar(question);
+            if (matches.isEmpty()) {
+                nearDuplicates.add(bank, question);
+            } else {
+                NearDuplicateIndex.Match match = matches.get(0);
+                result.rejected.add(new NearDuplicateIndex.Pair(bank, question, match.getBank(), match.getQuestion(), match.getSimilarity()));
+                entries.remove();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reads every question in a file, keeping file order in the map if asked.
+     */
+    private Result importFile(Path file, boolean ordered) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long first = byteOrderMarkLength(channel, size);
+            int chunks = (int) Math.max(1, Math.min(Integer.MAX_VALUE, (size - first + chunkBytes - 1) / chunkBytes));
+            long[] bounds = new long[chunks + 1];
+            for (int i = 0; i <= chunks; i++) {
+                bounds[i] = i == chunks ? size : first + i * (long) chunkBytes;
+            }
+
+            long[] starts = recordStarts(channel, bounds);
+            List<Callable<Chunk>> tasks = new ArrayList<>(chunks);
+            for (int i = 0; i < chunks; i++) {
+                long from = starts[i];
+                if (from < 0) {
+                    continue; // A record spans the whole range; an earlier range parses it
+                }
+                long to = size;
+                for (int j = i + 1; j < chunks; j++) {
+                    if (starts[j] >= 0) {
+                        to = starts[j];
+                        break;
+                    }
+                }
+                long end = to;
+                tasks.add(() -> parse(channel, from, end, ordered));
+            }
+
+            List<Chunk> parsed = invokeAll(tasks);
+            if (parsed.size() == 1) {
+                Chunk chunk = parsed.get(0);
+                return new Result(chunk.questions, chunk.rows, chunk.skipped, 1);
+            }
+            // Merge in file order into a map sized for every row, so it never grows
+            long rows = 0;
+            long skipped = 0;
+            for (Chunk chunk : parsed) {
+                rows += chunk.rows;
+                skipped += chunk.skipped;
+            }
+            int capacity = (int) Math.min(Integer.MAX_VALUE, rows * 4 / 3 + 1);
+            Map<String, String> questions = ordered ? new LinkedHashMap<>(capacity) : new HashMap<>(capacity);
+            for (Chunk chunk : parsed) {
+                if (duplicates == Duplicates.LAST_WINS) {
+                    questions.putAll(chunk.questions);
+                } else {
+                    for (Map.Entry<String, String> entry : chunk.questions.entrySet()) {
+                        questions.putIfAbsent(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+            return new Result(questions, rows, skipped, parsed.size());
+        }
+    }
+
+    /**
+     * Finds where the first record of every range starts. The ranges are scanned in
+     * parallel from all four CSV states at once, packed into one byte so each input
+     * byte costs one table lookup; chaining the ranges' end states then gives the
+     * true state at each range's start, and a short scan from that state finds the
+     * first line break outside quotes.
+     *
+     * @return The start of each range's first record, or -1 if no record starts in it.
+     */
+    private long[] recordStarts(FileChannel channel, long[] bounds) throws IOException {
+        int chunks = bounds.length - 1;
+        long[] starts = new long[chunks];
+        starts[0] = bounds[0];
+        if (chunks == 1) {
+            return starts;
+        }
+        List<Callable<Integer>> tasks = new ArrayList<>(chunks - 1);
+        for (int i = 0; i < chunks - 1; i++) {
+            long from = bounds[i];
+            long to = bounds[i + 1];
+            tasks.add(() -> endStates(channel, from, to));
+        }
+        List<Integer> endStates = invokeAll(tasks);
+        int state = lane(endStates.get(0), FIELD_START);
+        for (int i = 1; i < chunks; i++) {
+            starts[i] = firstRecord(channel, bounds[i], bounds[i + 1], state);
+            if (i < chunks - 1) {
+                state = lane(endStates.get(i), state);
+            }
+        }
+        return starts;
+    }
+
+    /**
+     * Runs the state machine over a range from every starting state at once.
+     *
+     * @return The packed end states: lane s holds the end state when starting in state s.
+     */
+    private static int endStates(FileChannel channel, long from, long to) throws IOException {
+        MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+        int packed = IDENTITY;
+        int length = (int) (to - from);
+        for (int i = 0; i < length; i++) {
+            packed = PACKED_NEXT[CLASS[bytes.get(i) & 0xFF] << 8 | packed];
+        }
+        return packed;
+    }
+
+    /**
+     * Finds the first record that starts in a range, given the state at its start.
+     *
+     * @return The record's offset in the file, or -1 if the range has none.
+     */
+    private static long firstRecord(FileChannel channel, long from, long to, int state) throws IOException {
+        MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+        int length = (int) (to - from);
+        for (int i = 0; i < length; i++) {
+            int type = CLASS[bytes.get(i) & 0xFF];
+            if (type == LINE_BREAK && state != QUOTED) {
+                return from + i + 1;
+            }
+            state = NEXT[state][type];
+        }
+        return -1;
+    }
+
+    private static int lane(int packed, int state) {
+        return packed >> (state * 2) & 3;
+    }
+
+    /**
+     * The questions of one range.
+     */
+    private static final class Chunk {
+        final Map<String, String> questions;
+        long rows;
+        long skipped;
+
+        Chunk(boolean ordered) {
+            questions = ordered ? new LinkedHashMap<>() : new HashMap<>();
+        }
+    }
+
+    /**
+     * Parses the records in a range that starts at a record boundary.
+     */
+    private Chunk parse(FileChannel channel, long from, long to, boolean ordered) throws IOException {
+        // Parse from a heap copy: array reads are cheaper than buffer reads in the hot loop
+        byte[] bytes = new byte[(int) (to - from)];
+        channel.map(FileChannel.MapMode.READ_ONLY, from, to - from).get(bytes);
+        Chunk chunk = new Chunk(ordered);
+        RecordParser parser = new RecordParser(bytes);
+        while (parser.hasMore()) {
+            parser.next();
+            if (parser.blank) {
+                continue;
+            }
+            if (parser.answer == null) {
+                chunk.skipped++;
+                continue;
+            }
+            chunk.rows++;
+            if (duplicates == Duplicates.LAST_WINS) {
+                chunk.questions.put(parser.question, parser.answer);
+            } else {
+                chunk.questions.putIfAbsent(parser.question, parser.answer);
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * Reads one record at a time from a range. The question is the first field and
+     * the answer the rest of the record. When nothing after the first comma is
+     * quoted, the answer is that text as written, trimmed, which is how unquoted
+     * lines have always been read; otherwise the answer's fields are unquoted and
+     * joined with commas.
+     */
+    private static final class RecordParser {
+        private final byte[] bytes;
+        private final int length;
+        private int position;
+        private byte[] scratch = new byte[256]; // Unescaped content of a quoted field
+
+        String question; // The first field
+        String answer; // The rest of the record, or null if the record has one field
+        boolean blank; // True if the record was an empty line
+
+        RecordParser(byte[] bytes) {
+            this.bytes = bytes;
+            this.length = bytes.length;
+        }
+
+        boolean hasMore() {
+            return position < length;
+        }
+
+        void next() {
+            question = null;
+            answer = null;
+            int answerStart = -1; // Where the text after the first comma starts
+            boolean answerQuoted = false;
+            StringBuilder joined = null; // Answer fields, once a quoted one is seen
+            int field = 0;
+
+            while (true) {
+                int fieldStart = position;
+                boolean quoted = false;
+                int contentLength = 0;
+                // Leading spaces never count; a quote after them opens a quoted field
+                while (position < length && classOf(bytes[position]) == SPACE) {
+                    position++;
+                }
+                if (position < length && bytes[position] == '"') {
+                    quoted = true;
+                    position++;
+                    while (position < length) {
+                        byte b = bytes[position++];
+                        if (b == '"') {
+                            if (position < length && bytes[position] == '"') {
+                                position++;
+                            } else {
+                                break;
+                            }
+                        }
+                        contentLength = append(contentLength, b);
+                    }
+                }
+                // Unquoted text, or anything after a closing quote, up to the field's end
+                int textStart = position;
+                while (position < length) {
+                    int type = classOf(bytes[position]);
+                    if (type == COMMA || type == LINE_BREAK) {
+                        break;
+                    }
+                    position++;
+                }
+                if (quoted) {
+                    for (int i = textStart; i < position; i++) {
+                        contentLength = append(contentLength, bytes[i]);
+                    }
+                }
+                String value = quoted ? new String(scratch, 0, contentLength, StandardCharsets.UTF_8) : null;
+
+                if (field == 0) {
+                    question = quoted ? value : decodeTrimmed(fieldStart, position);
+                } else {
+                    answerQuoted |= quoted;
+                    if (answerQuoted) {
+                        if (joined == null) {
+                            joined = new StringBuilder();
+                            if (field > 1) {
+                                // Earlier unquoted answer fields, as written
+                                joined.append(decodeTrimmed(answerStart, fieldStart - 1)).append(',');
+                            }
+                        } else {
+                            joined.append(',');
+                        }
+                        joined.append(quoted ? value : decodeTrimmed(fieldStart, position));
+                    }
+                }
+
+                boolean endOfRecord = position >= length || classOf(bytes[position]) == LINE_BREAK;
+                if (!endOfRecord) {
+                    position++; // The comma
+                    if (field == 0) {
+                        answerStart = position;
+                    }
+                    field++;
+                    continue;
+                }
+                if (field > 0) {
+                    answer = joined != null ? joined.toString() : decodeTrimmed(answerStart, position);
+                }
+                blank = field == 0 && !quoted && question.isEmpty();
+                // Step over the line break; "\r\n" counts as one
+                if (position < length && bytes[position] == '\r') {
+                    position++;
+                    if (position < length && bytes[position] == '\n') {
+                        position++;
+                    }
+                } else if (position < length) {
+                    position++;
+                }
+                return;
+            }
+        }
+
+        private int append(int contentLength, byte b) {
+            if (contentLength == scratch.length) {
+                scratch = Arrays.copyOf(scratch, scratch.length * 2);
+            }
+            scratch[contentLength] = b;
+            return contentLength + 1;
+        }
+
+        /**
+         * Decodes a UTF-8 slice with the same whitespace rules as String.trim().
+         */
+        private String decodeTrimmed(int from, int to) {
+            while (from < to && (bytes[from] & 0xFF) <= ' ') {
+                from++;
+            }
+            while (to > from && (bytes[to - 1] & 0xFF) <= ' ') {
+                to--;
+            }
+            return new String(bytes, from, to - from, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static int classOf(byte b) {
+        return CLASS[b & 0xFF];
+    }
+
+    /**
+     * Gets the length of a UTF-8 byte order mark at the start of the file, if any.
+     */
+    private static long byteOrderMarkLength(FileChannel channel, long size) throws IOException {
+        if (size < 3) {
+            return 0;
+        }
+        MappedByteBuffer head = channel.map(FileChannel.MapMode.READ_ONLY, 0, 3);
+        return head.get(0) == (byte) 0xEF && head.get(1) == (byte) 0xBB && head.get(2) == (byte) 0xBF ? 3 : 0;
+    }
+
+    /**
+     * Runs tasks on the pool and returns their results in order.
+     */
+    private <T> List<T> invokeAll(List<Callable<T>> tasks) throws IOException {
+        List<T> results = new ArrayList<>(tasks.size());
+        if (tasks.size() == 1) {
+            try {
+                results.add(tasks.get(0).call());
+            } catch (IOException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException(e);
+            }
+            return results;
+        }
+        for (Future<T> future : pool.invokeAll(tasks)) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while importing", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IOException(e.getCause());
+            }
+        }
+        return results;
+    }
+}
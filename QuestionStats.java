@@ -0,0 +1,449 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @Class: QuestionStats
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/18/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The QuestionStats class keeps answer statistics for every bank
+ * question: attempts, correct answers, how often each choice was picked, special
+ * answers and total answer time. Choices are counted by their text, so shuffled or
+ * redrawn distractors after a bank change do not mix up the counts; reports list
+ * the question's latest choices in bank order. Questions are keyed by a stable ID
+ * hashed from the bank file and question text, so counts survive restarts and
+ * choice reshuffles. Counters are LongAdders, so any number of exam sessions record
+ * at once without locking. A background thread writes the counts to a compact
+ * binary file on a schedule, and getWorst() lists the questions players get wrong
+ * most often.
+ *
+ * Layout (big-endian): int magic, short version, int count, then per question:
+ * long id, UTF bankFile, UTF text, byte choices, UTF per choice, long attempts,
+ * long correct, long special, long answerNanos, long per choice
+ */
+public final class QuestionStats {
+    public static final String DEFAULT_FILE = "question_stats.dat"; // Snapshot file used by the game and server
+    private static final int MAGIC = 0x4D515153; // "MQQS"
+    private static final short VERSION = 1;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final QuestionStats INSTANCE = new QuestionStats();
+
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private ScheduledExecutorService snapshotter; // Writes snapshots in the background, or null
+    private Path snapshotFile; // Where snapshots go while the snapshotter runs
+
+    /**
+     * Counters for one question. The text and choices are kept so reports can show
+     * them without loading the bank.
+     */
+    private static final class Entry {
+        final long id;
+        final String bankFile;
+        final String text;
+        volatile List<String> choices; // The latest choices seen, in bank order
+        final LongAdder attempts = new LongAdder();
+        final LongAdder correct = new LongAdder();
+        final LongAdder special = new LongAdder(); // "Mohamed" or "Messi" instead of a choice
+        final LongAdder answerNanos = new LongAdder();
+        final ConcurrentHashMap<String, LongAdder> choiceCounts = new ConcurrentHashMap<>(); // By choice text
+
+        Entry(long id, String bankFile, String text, List<String> choices) {
+            this.id = id;
+            this.bankFile = bankFile;
+            this.text = text;
+            this.choices = choices;
+        }
+
+        LongAdder countOf(String choice) {
+            LongAdder count = choiceCounts.get(choice);
+            return count != null ? count : choiceCounts.computeIfAbsent(choice, key -> new LongAdder());
+        }
+    }
+
+    /**
+     * A point-in-time copy of one question's statistics.
+     */
+    public static final class Item {
+        private final long id;
+        private final String bankFile;
+        private final String questionText;
+        private final List<String> choices;
+        private final long attempts;
+        private final long correct;
+        private final long specialAnswers;
+        private final long answerNanos;
+        private final long[] choiceCounts;
+
+        private Item(Entry entry) {
+            this.id = entry.id;
+            this.bankFile = entry.bankFile;
+            this.questionText = entry.text;
+            this.choices = entry.choices;
+            this.attempts = entry.attempts.sum();
+            this.correct = entry.correct.sum();
+            this.specialAnswers = entry.special.sum();
+            this.answerNanos = entry.answerNanos.sum();
+            this.choiceCounts = new long[choices.size()];
+            for (int i = 0; i < choiceCounts.length; i++) {
+                LongAdder count = entry.choiceCounts.get(choices.get(i));
+                choiceCounts[i] = count == null ? 0 : count.sum();
+            }
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getBankFile() {
+            return bankFile;
+        }
+
+        public String getQuestionText() {
+            return questionText;
+        }
+
+        /**
+         * Gets the choices in bank order, matching getChoiceCounts().
+         *
+         * @return The choices.
+         */
+        public List<String> getChoices() {
+            return choices;
+        }
+
+        public long getAttempts() {
+            return attempts;
+        }
+
+        public long getCorrect() {
+            return correct;
+        }
+
+        public long getSpecialAnswers() {
+            return specialAnswers;
+        }
+
+        /**
+         * Gets how many times each choice was picked, in bank order. A choice that
+         * was dropped from the question by a bank change is not listed.
+         *
+         * @return The counts.
+         */
+        public long[] getChoiceCounts() {
+            return choiceCounts.clone();
+        }
+
+        /**
+         * Gets the share of attempts answered correctly.
+         *
+         * @return The rate from 0 to 1, or 0 with no attempts.
+         */
+        public double getCorrectRate() {
+            return attempts == 0 ? 0 : (double) correct / attempts;
+        }
+
+        /**
+         * Gets the mean time from the question being shown to its answer.
+         *
+         * @return The time in milliseconds, or 0 with no attempts.
+         */
+        public double getMeanAnswerMillis() {
+            return attempts == 0 ? 0 : answerNanos / 1e6 / attempts;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            text.append(String.format("%5.1f%% of %d correct, %.0f ms  [%s] %s%n", getCorrectRate() * 100, attempts,
+                    getMeanAnswerMillis(), bankFile, questionText));
+            for (int i = 0; i < choices.size(); i++) {
+                text.append(String.format("        %6d  %s%n", choiceCounts[i], choices.get(i)));
+            }
+            if (specialAnswers > 0) {
+                text.append(String.format("        %6d  (special answer)%n", specialAnswers));
+            }
+            return text.toString();
+        }
+    }
+
+    /**
+     * Creates an empty store. The game uses the shared one from get().
+     */
+    public QuestionStats() {
+    }
+
+    /**
+     * Gets the process-wide store that exam sessions record into.
+     *
+     * @return The shared store.
+     */
+    public static QuestionStats get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Computes the stable ID of a question: a 64-bit FNV-1a hash of its bank file
+     * name and text. The same question in the same bank always gets the same ID.
+     *
+     * @param bankFile     The bank file, for example "History.txt".
+     * @param questionText The question text.
+     * @return The question ID.
+     */
+    public static long questionId(String bankFile, String questionText) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < bankFile.length(); i++) {
+            hash = (hash ^ bankFile.charAt(i)) * FNV_PRIME;
+        }
+        hash = (hash ^ '\n') * FNV_PRIME;
+        for (int i = 0; i < questionText.length(); i++) {
+            hash = (hash ^ questionText.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Records one answer.
+     *
+     * @param bankFile    The bank the question came from.
+     * @param question    The question as stored in the bank, with choices in bank order.
+     * @param choice      The chosen choice in bank order, or -1 for a special answer.
+     * @param correct     True if the answer was correct.
+     * @param answerNanos The time from the question being shown to the answer.
+     * @return The question's ID, from questionId().
+     */
+    public long record(String bankFile, Question question, int choice, boolean correct, long answerNanos) {
+        long id = questionId(bankFile, question.getQuestionText());
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            entry = entries.computeIfAbsent(id, key -> new Entry(key, bankFile, question.getQuestionText(), question.getChoices()));
+        }
+        entry.attempts.increment();
+        if (correct) {
+            entry.correct.increment();
+        }
+        List<String> choices = question.getChoices();
+        if (choice < 0) {
+            entry.special.increment();
+        } else if (choice < choices.size()) {
+            entry.countOf(choices.get(choice)).increment();
+        }
+        List<String> seen = entry.choices;
+        if (seen != choices && !seen.equals(choices)) {
+            entry.choices = choices; // The bank changed the question's choices
+        }
+        entry.answerNanos.add(answerNanos);
+        return id;
+    }
+
+    /**
+     * Gets the statistics of one question.
+     *
+     * @param id The question ID from questionId().
+     * @return A copy of its statistics, or null if it has never been answered.
+     */
+    public Item getItem(long id) {
+        Entry entry = entries.get(id);
+        return entry == null ? null : new Item(entry);
+    }
+
+    /**
+     * Gets a copy of every question's statistics.
+     *
+     * @return The items, in no particular order.
+     */
+    public List<Item> getItems() {
+        List<Item> items = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            items.add(new Item(entry));
+        }
+        return items;
+    }
+
+    /**
+     * Gets the questions with the lowest share of correct answers, the ones most
+     * likely to be too hard or to have a wrong answer in the bank.
+     *
+     * @param limit       The most items to return.
+     * @param minAttempts Questions with fewer attempts are left out as too noisy.
+     * @return The items, worst first; ties go to the question with more attempts.
+     */
+    public List<Item> getWorst(int limit, long minAttempts) {
+        List<Item> items = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            if (entry.attempts.sum() >= minAttempts) {
+                items.add(new Item(entry));
+            }
+        }
+        items.sort(Comparator.comparingDouble(Item::getCorrectRate)
+                .thenComparing(Comparator.comparingLong(Item::getAttempts).reversed()));
+        return items.size() <= limit ? items : new ArrayList<>(items.subList(0, limit));
+    }
+
+    /**
+     * Writes every question's counts to a file. The file is written beside the
+     * target and moved into place, so a crash never leaves half a snapshot.
+     *
+     * @param file The snapshot file.
+     * @throws IOException If the file cannot be written.
+     */
+    public void writeSnapshot(Path file) throws IOException {
+        List<Item> items = getItems();
+        Path parent = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeShort(VERSION);
+                out.writeInt(items.size());
+                for (Item item : items) {
+                    out.writeLong(item.id);
+                    out.writeUTF(item.bankFile);
+                    out.writeUTF(item.questionText);
+                    out.writeByte(item.choices.size());
+                    for (String choice : item.choices) {
+                        out.writeUTF(choice);
+                    }
+                    out.writeLong(item.attempts);
+                    out.writeLong(item.correct);
+                    out.writeLong(item.specialAnswers);
+                    out.writeLong(item.answerNanos);
+                    for (long count : item.choiceCounts) {
+                        out.writeLong(count);
+                    }
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Adds the counts of a snapshot file to this store, matching choices by text.
+     * Load a file once, before recording starts, or its counts are added twice.
+     *
+     * @param file The snapshot file.
+     * @return The number of questions read, or 0 if the file does not exist.
+     * @throws IOException If the file cannot be read or is not a statistics snapshot.
+     */
+    public int loadSnapshot(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(file + " is not a question statistics file");
+            }
+            short version = in.readShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported question statistics version " + version);
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                long id = in.readLong();
+                String bankFile = in.readUTF();
+                String text = in.readUTF();
+                String[] choices = new String[in.readUnsignedByte()];
+                for (int c = 0; c < choices.length; c++) {
+                    choices[c] = in.readUTF();
+                }
+                Entry entry = entries.computeIfAbsent(id, key -> new Entry(key, bankFile, text,
+                        Collections.unmodifiableList(Arrays.asList(choices))));
+                entry.attempts.add(in.readLong());
+                entry.correct.add(in.readLong());
+                entry.special.add(in.readLong());
+                entry.answerNanos.add(in.readLong());
+                for (String choice : choices) {
+                    entry.countOf(choice).add(in.readLong());
+                }
+            }
+            return count;
+        } catch (NoSuchFileException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Loads a snapshot file if there is one, then rewrites it in the background at a
+     * fixed period and once more when the JVM exits.
+     *
+     * @param file   The snapshot file.
+     * @param period How often to write.
+     */
+    public synchronized void startSnapshots(Path file, Duration period) {
+        if (snapshotter != null) {
+            throw new IllegalStateException("Snapshots are already being written to " + snapshotFile);
+        }
+        try {
+            loadSnapshot(file);
+        } catch (IOException e) {
+            System.err.println("Could not load question statistics from " + file + ": " + e.getMessage());
+        }
+        snapshotFile = file;
+        snapshotter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "question-stats");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotter.scheduleWithFixedDelay(this::snapshotQuietly, period.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::stopSnapshots, "question-stats-final"));
+    }
+
+    /**
+     * Stops the background writer and writes a final snapshot.
+     */
+    public synchronized void stopSnapshots() {
+        if (snapshotter == null) {
+            return;
+        }
+        snapshotter.shutdownNow();
+        snapshotter = null;
+        snapshotQuietly();
+    }
+
+    private void snapshotQuietly() {
+        Path file = snapshotFile;
+        try {
+            writeSnapshot(file);
+        } catch (IOException e) {
+            System.err.println("Could not write question statistics to " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Prints the worst-performing questions in a snapshot file.
+     *
+     * @param args Optional snapshot file (default question_stats.dat), number of
+     *             questions (default 10) and minimum attempts (default 5).
+     */
+    public static void main(String[] args) throws IOException {
+        Path file = Paths.get(args.length > 0 ? args[0] : DEFAULT_FILE);
+        int limit = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        long minAttempts = args.length > 2 ? Long.parseLong(args[2]) : 5;
+        QuestionStats stats = new QuestionStats();
+        int questions = stats.loadSnapshot(file);
+        System.out.println(questions + " questions in " + file + "; worst with at least " + minAttempts + " attempts:");
+        for (Item item : stats.getWorst(limit, minAttempts)) {
+            System.out.print(item);
+        }
+    }
+}
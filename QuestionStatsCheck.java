@@ -0,0 +1,168 @@
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * @Class: QuestionStatsCheck
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/18/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The QuestionStatsCheck class runs many exams at once and checks the
+ * answer statistics they leave behind. Each thread takes exams on every course,
+ * answering at random with the odd special answer, and tallies what it answered;
+ * the shared QuestionStats must then hold exactly the sum of the tallies, per
+ * question and per choice text. It writes a snapshot, loads it into an empty
+ * store and checks that every count comes back. Finally it records a question
+ * whose choices were shuffled and redrawn, as after a bank change, and checks
+ * that each choice keeps its own count.
+ * Run with: java QuestionStatsCheck [threads] [examsPerThread]
+ */
+public class QuestionStatsCheck {
+    /**
+     * Runs the check and prints a summary. Exits with status 1 on a mismatch.
+     *
+     * @param args Optional thread count (default 8) and exams per thread (default 2000).
+     * @throws Exception If a thread fails or the snapshot cannot be written.
+     */
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int exams = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+
+        List<Map<String, long[]>> tallies = new ArrayList<>(); // Per thread: attempts, correct, special per question
+        List<Map<String, Long>> picks = new ArrayList<>(); // Per thread: picks per question and choice text
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Map<String, long[]> tally = new HashMap<>();
+            Map<String, Long> picked = new HashMap<>();
+            tallies.add(tally);
+            picks.add(picked);
+            long seed = t;
+            workers.add(new Thread(() -> takeExams(exams, new Random(seed), tally, picked)));
+        }
+        long started = System.nanoTime();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - started;
+
+        Map<String, long[]> expected = new HashMap<>();
+        Map<String, Long> expectedPicks = new HashMap<>();
+        for (int t = 0; t < threads; t++) {
+            tallies.get(t).forEach((key, counts) -> expected.merge(key, counts.clone(), (a, b) -> new long[] { a[0] + b[0], a[1] + b[1], a[2] + b[2] }));
+            picks.get(t).forEach((key, count) -> expectedPicks.merge(key, count, Long::sum));
+        }
+        long attempts = compare(QuestionStats.get(), expected, expectedPicks, "after recording");
+
+        Path file = Files.createTempFile("question-stats", ".dat");
+        try {
+            QuestionStats.get().writeSnapshot(file);
+            QuestionStats loaded = new QuestionStats();
+            check(loaded.loadSnapshot(file) == expected.size(), "the snapshot did not hold every question");
+            compare(loaded, expected, expectedPicks, "after a snapshot round trip");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        checkChangedChoices();
+        System.out.printf("QuestionStatsCheck: %d threads recorded %d answers to %d questions in %.0f ms; "
+                + "counts matched before and after a snapshot, and across changed choices%n",
+                threads, attempts, expected.size(), elapsed / 1e6);
+    }
+
+    /**
+     * Takes exams on every course in turn, answering at random, and tallies the
+     * answers by question key and by question and choice text.
+     */
+    private static void takeExams(int exams, Random random, Map<String, long[]> tally, Map<String, Long> picked) {
+        Player player = new Player();
+        player.setRandom(new GameRandom(random.nextLong()));
+        player.setMessageHandler(message -> { });
+        for (int e = 0; e < exams; e++) {
+            Course course = new Course(1 + e % 4, new Professor(random.nextBoolean() ? "Hard" : "Easy"));
+            ExamSession exam = new ExamSession(course, player, GameRules.DEFAULT, player.getRandom().forShuffles());
+            while (!exam.isFinished()) {
+                if (exam.getState() == ExamSession.State.DROP_DECISION) {
+                    exam.continueExam();
+                    continue;
+                }
+                Question shown = exam.nextQuestion();
+                String key = key(course.file(), shown.getQuestionText());
+                long[] counts = tally.computeIfAbsent(key, k -> new long[3]);
+                boolean special = random.nextInt(20) == 0;
+                int choice = random.nextInt(shown.getChoices().size());
+                ExamSession.Outcome outcome = exam.submit(special ? "Messi" : String.valueOf((char) ('A' + choice)));
+                counts[0]++;
+                counts[1] += outcome == ExamSession.Outcome.CORRECT ? 1 : 0;
+                if (special) {
+                    counts[2]++;
+                } else {
+                    picked.merge(key + '\n' + shown.getChoices().get(choice), 1L, Long::sum);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks a store against the expected tallies.
+     *
+     * @return The total number of attempts.
+     */
+    private static long compare(QuestionStats stats, Map<String, long[]> expected, Map<String, Long> expectedPicks, String when) {
+        long attempts = 0;
+        check(stats.getItems().size() == expected.size(), stats.getItems().size() + " questions " + when + ", expected " + expected.size());
+        for (QuestionStats.Item item : stats.getItems()) {
+            String key = key(item.getBankFile(), item.getQuestionText());
+            long[] counts = expected.get(key);
+            check(counts != null, "an unexpected question " + when + ": " + item.getQuestionText());
+            check(item.getAttempts() == counts[0] && item.getCorrect() == counts[1] && item.getSpecialAnswers() == counts[2],
+                    "the counts of \"" + item.getQuestionText() + "\" differ " + when);
+            long[] choiceCounts = item.getChoiceCounts();
+            for (int c = 0; c < choiceCounts.length; c++) {
+                long picked = expectedPicks.getOrDefault(key + '\n' + item.getChoices().get(c), 0L);
+                check(choiceCounts[c] == picked, "choice \"" + item.getChoices().get(c) + "\" of \"" + item.getQuestionText()
+                        + "\" was picked " + choiceCounts[c] + " times " + when + ", expected " + picked);
+            }
+            attempts += item.getAttempts();
+        }
+        return attempts;
+    }
+
+    /**
+     * Records a question, then the same question with its choices shuffled and one
+     * distractor redrawn, and checks the counts follow the choice text.
+     */
+    private static void checkChangedChoices() {
+        QuestionStats stats = new QuestionStats();
+        Question before = new Question("Which planet is largest?", List.of("Mars", "Jupiter", "Venus", "Mercury"), "Jupiter");
+        Question after = new Question("Which planet is largest?", List.of("Saturn", "Venus", "Jupiter", "Mars"), "Jupiter");
+        stats.record("Planets.txt", before, 1, true, 1_000_000); // Jupiter
+        stats.record("Planets.txt", before, 3, false, 1_000_000); // Mercury
+        stats.record("Planets.txt", after, 2, true, 1_000_000); // Jupiter
+        stats.record("Planets.txt", after, 0, false, 1_000_000); // Saturn
+        QuestionStats.Item item = stats.getItem(QuestionStats.questionId("Planets.txt", "Which planet is largest?"));
+        check(item.getChoices().equals(after.getChoices()), "the item does not list the latest choices");
+        long[] counts = item.getChoiceCounts();
+        check(counts[0] == 1 && counts[1] == 0 && counts[2] == 2 && counts[3] == 0 && item.getAttempts() == 4,
+                "the counts did not follow the choice text: " + Arrays.toString(counts));
+    }
+
+    private static String key(String bankFile, String questionText) {
+        return bankFile + '\n' + questionText;
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            System.err.println("QuestionStatsCheck failed: " + message);
+            System.exit(1);
+        }
+    }
+}
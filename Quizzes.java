@@ -2,11 +2,17 @@ import java.util.Map;
 import java.util.HashMap;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Random;
+import java.util.Set;
 import java.util.Scanner;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import javax.swing.JOptionPane;
 
 /**
@@ -20,6 +26,8 @@ import javax.swing.JOptionPane;
  * in the MiamiQuest game.
  */
 public class Quizzes {
+    private static final int CHOICE_COUNT = 4; // Choices shown per question
+    private static final String[] PLACEHOLDERS = { "None", "None of the above", "All of the above", "Not enough information" };
 
     /**
      * Reads questions and answers from a CSV file and returns them as a map of
@@ -30,6 +38,8 @@ public class Quizzes {
      * @return A map where keys are questions and values are correct answers.
      */
     public Map<String, String> readQuestions(String filePath) {
+        GameEvents.BankRead event = new GameEvents.BankRead();
+        event.begin();
         Map<String, String> questionsMap = new HashMap<>();
         try (Scanner scanner = new Scanner(new File(filePath))) {
             while (scanner.hasNextLine()) {
@@ -47,50 +57,190 @@ public class Quizzes {
         } catch (FileNotFoundException e) {
             JOptionPane.showMessageDialog(null, "Error reading questions file: " + e.getMessage());
         }
+        commitBankRead(event, filePath, "text", questionsMap.size());
         return questionsMap;
     }
 
+    /**
+     * Loads questions and answers, preferring the compiled binary bank next to
+     * the text file. If the compiled bank is missing or older than the text file,
+     * the text file is parsed and compiled so the next launch can skip parsing.
+     * The text file is read by QuestionImporter, so quoted questions may contain
+     * commas and line breaks, and a repeated question keeps its last answer.
+     *
+     * @param filePath The path to the text file containing questions and answers.
+     * @return A map where keys are questions and values are correct answers.
+     */
+    public Map<String, String> loadQuestions(String filePath) {
+        GameEvents.BankRead event = new GameEvents.BankRead();
+        event.begin();
+        CompiledQuestionBank compiled = CompiledQuestionBank.open(filePath);
+        if (compiled != null) {
+            Map<String, String> questionsMap = compiled.toMap();
+            commitBankRead(event, filePath, "compiled", questionsMap.size());
+            return questionsMap;
+        }
+
+        BasicFileAttributes source = null; // Taken before parsing, so a save made meanwhile is not stamped as compiled
+        try {
+            source = CompiledQuestionBank.sourceAttributes(filePath);
+        } catch (IOException e) {
+            // The import below reports the missing file
+        }
+        Map<String, String> questionsMap = new HashMap<>();
+        boolean imported = false;
+        try {
+            QuestionImporter.Result result = new QuestionImporter().importFile(Paths.get(filePath));
+            questionsMap = result.getQuestions();
+            imported = true;
+            if (result.getSkippedCount() > 0) {
+                System.out.println("Incomplete question data found, skipped " + result.getSkippedCount() + " question(s) in " + filePath + ".");
+            }
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(null, "Error reading questions file: " + e.getMessage());
+        }
+        commitBankRead(event, filePath, "text", questionsMap.size());
+        // A failed or empty import is not compiled, or the empty bank would be stamped as current
+        if (source != null && imported && !questionsMap.isEmpty()) {
+            try {
+                CompiledQuestionBank.compile(filePath, source, questionsMap);
+            } catch (IOException e) {
+                System.out.println("Could not compile question bank " + filePath + ": " + e.getMessage());
+            }
+        }
+        return questionsMap;
+    }
+
+    /**
+     * Records a bank read in the flight recorder, if a recording wants it. Writing
+     * the compiled bank afterwards is not part of the read.
+     */
+    private static void commitBankRead(GameEvents.BankRead event, String filePath, String source, int bankSize) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.subject = GameEvents.subjectOf(filePath);
+            event.file = filePath;
+            event.source = source;
+            event.bankSize = bankSize;
+            event.commit();
+        }
+    }
+
+    /**
+     * Opens the compiled bank for a text file, recording the read in the flight
+     * recorder. Unlike loadQuestions, nothing is decoded: callers read the
+     * questions they need by index.
+     *
+     * @param filePath The path to the text file containing questions and answers.
+     * @return The compiled bank, or null if it is missing, unreadable or older
+     *         than the text file.
+     */
+    public CompiledQuestionBank openCompiled(String filePath) {
+        GameEvents.BankRead event = new GameEvents.BankRead();
+        event.begin();
+        CompiledQuestionBank compiled = CompiledQuestionBank.open(filePath);
+        if (compiled != null) {
+            commitBankRead(event, filePath, "compiled", compiled.size());
+        }
+        return compiled;
+    }
+
     /**
      * Generates multiple-choice options for each question by randomly selecting
      * other answers from the pool of all correct answers, excluding "Mohamed" and "Messi".
+     * When a bank has fewer than three other answers, the remaining choices are
+     * filled with fixed placeholders.
      *
      * @param questionsMap A map of questions and their correct answers.
      * @return A list of Question objects containing question text, choices, and
      *         correct answers.
      */
     public List<Question> questionsWithChoices(Map<String, String> questionsMap) {
-        List<Question> questionsList = new ArrayList<>();
-        Random random = new Random();
-        List<String> allAnswers = new ArrayList<>(questionsMap.values());
-
-        // Remove "Mohamed" and "Messi" from possible incorrect choices
-        allAnswers.removeIf(answer -> answer.equalsIgnoreCase("Mohamed") || answer.equalsIgnoreCase("Messi"));
+        return questionsWithChoices(questionsMap, new Random());
+    }
 
+    /**
+     * Generates multiple-choice options for each question, drawing distractors and
+     * choice order from the given random stream so the result can be reproduced.
+     *
+     * @param questionsMap A map of questions and their correct answers.
+     * @param random       The random stream to draw from.
+     * @return A list of Question objects containing question text, choices, and
+     *         correct answers.
+     */
+    public List<Question> questionsWithChoices(Map<String, String> questionsMap, Random random) {
+        GameEvents.ChoicesBuilt event = new GameEvents.ChoicesBuilt();
+        event.begin();
+        List<Question> questionsList = new ArrayList<>(questionsMap.size());
+        String[] pool = distractorPool(questionsMap.values());
         for (Map.Entry<String, String> entry : questionsMap.entrySet()) {
-            String questionText = entry.getKey();
-            String correctAnswer = entry.getValue();
-            List<String> choices = new ArrayList<>();
-            choices.add(correctAnswer);
+            questionsList.add(questionWithChoices(entry.getKey(), entry.getValue(), pool, random));
+        }
 
-            // Add random incorrect answers
-            while (choices.size() < 4) {
-                if (allAnswers.isEmpty()) {
-                    // If there are not enough unique answers, fill with "None"
-                    choices.add("None");
-                    continue;
-                }
-                String randomAnswer = allAnswers.get(random.nextInt(allAnswers.size()));
-                if (!choices.contains(randomAnswer)) {
-                    choices.add(randomAnswer);
+        event.end();
+        if (event.shouldCommit()) {
+            event.bankSize = questionsList.size();
+            event.distinctAnswers = pool.length;
+            event.commit();
+        }
+        return questionsList;
+    }
+
+    /**
+     * Gets the answers a bank can offer as incorrect choices: its distinct correct
+     * answers, in first-use order, without "Mohamed" and "Messi".
+     *
+     * @param answers The bank's correct answers, in question order.
+     * @return The distractor pool, shared by every question of the bank.
+     */
+    public String[] distractorPool(Collection<String> answers) {
+        Set<String> distinctAnswers = new LinkedHashSet<>(answers);
+        distinctAnswers.removeIf(answer -> answer.equalsIgnoreCase("Mohamed") || answer.equalsIgnoreCase("Messi"));
+        return distinctAnswers.toArray(new String[0]);
+    }
+
+    /**
+     * Generates the multiple-choice options for one question. At most four distinct
+     * pool answers are drawn with Floyd's sampling, so a question costs a constant
+     * number of draws however large the pool is; the correct answer is skipped if
+     * drawn, and placeholders fill any choices still missing.
+     *
+     * @param questionText  The question text.
+     * @param correctAnswer The question's correct answer.
+     * @param pool          The bank's distractor pool, from distractorPool().
+     * @param random        The random stream to draw from.
+     * @return The question with its choices in random order.
+     */
+    public Question questionWithChoices(String questionText, String correctAnswer, String[] pool, Random random) {
+        List<String> choices = new ArrayList<>(CHOICE_COUNT);
+        choices.add(correctAnswer);
+
+        // Draw at most CHOICE_COUNT distinct answers; one of them may be the correct answer
+        int draws = Math.min(CHOICE_COUNT, pool.length);
+        int[] picked = new int[draws];
+        for (int i = 0, j = pool.length - draws; i < draws; i++, j++) {
+            int candidate = random.nextInt(j + 1);
+            for (int k = 0; k < i; k++) {
+                if (picked[k] == candidate) {
+                    candidate = j; // Already drawn: j itself has not been, as earlier draws were below it
+                    break;
                 }
             }
+            picked[i] = candidate;
+            if (choices.size() < CHOICE_COUNT && !pool[candidate].equals(correctAnswer)) {
+                choices.add(pool[candidate]);
+            }
+        }
 
-            // Shuffle the choices to randomize their order
-            Collections.shuffle(choices);
-
-            questionsList.add(new Question(questionText, choices, correctAnswer));
+        // If there are not enough unique answers, fill with placeholders
+        for (int i = 0; i < PLACEHOLDERS.length && choices.size() < CHOICE_COUNT; i++) {
+            if (!choices.contains(PLACEHOLDERS[i])) {
+                choices.add(PLACEHOLDERS[i]);
+            }
         }
 
-        return questionsList;
+        // Shuffle the choices to randomize their order
+        Collections.shuffle(choices, random);
+        return new Question(questionText, choices, correctAnswer);
     }
 }
@@ -0,0 +1,121 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * @Class: ServerLoadTest
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/9/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The ServerLoadTest class starts a GameServer on localhost and plays many
+ * complete games against it at once, answering questions at random, then reports
+ * request throughput and latency percentiles.
+ * Run with: java ServerLoadTest [clients] [gamesPerClient]
+ */
+public class ServerLoadTest {
+    private static final Pattern STATUS = Pattern.compile("\"status\":\"([^\"]*)\"");
+    private static final Pattern EXAM_STATE = Pattern.compile("\"state\":\"([A-Z_]+)\"");
+
+    /**
+     * Runs the load test and prints the results.
+     *
+     * @param args Optional client count (default 200) and games per client (default 5).
+     * @throws Exception If the server cannot start or a client fails.
+     */
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int gamesPerClient = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        GameServer server = new GameServer(0);
+        server.start();
+        String base = "http://127.0.0.1:" + server.getPort() + "/games";
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        AtomicInteger requests = new AtomicInteger();
+        AtomicInteger gamesWon = new AtomicInteger();
+        List<long[]> latencies = new ArrayList<>();
+
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        List<Future<long[]>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int c = 0; c < clients; c++) {
+            results.add(pool.submit(() -> {
+                long[] times = new long[256];
+                int count = 0;
+                for (int g = 0; g < gamesPerClient; g++) {
+                    long t = System.nanoTime();
+                    String body = send(client, "POST", base);
+                    times = record(times, count++, System.nanoTime() - t);
+                    String id = body.substring(body.indexOf("\"id\":\"") + 6, body.indexOf('"', body.indexOf("\"id\":\"") + 6));
+                    String game = base + "/" + id;
+
+                    while (match(STATUS, body).equals("In Progress")) {
+                        String examState = body.contains("\"exam\":null") ? "" : match(EXAM_STATE, body);
+                        String action;
+                        if (examState.equals("QUESTION")) {
+                            action = "/answer?choice=" + (char) ('A' + ThreadLocalRandom.current().nextInt(4));
+                        } else if (examState.equals("DROP_DECISION")) {
+                            action = "/decision?drop=false";
+                        } else {
+                            action = "/register";
+                        }
+                        t = System.nanoTime();
+                        body = send(client, "POST", game + action);
+                        times = record(times, count++, System.nanoTime() - t);
+                    }
+                    if (body.contains("\"gameWon\":true")) {
+                        gamesWon.incrementAndGet();
+                    }
+                    send(client, "DELETE", game);
+                }
+                requests.addAndGet(count);
+                return Arrays.copyOf(times, count);
+            }));
+        }
+        for (Future<long[]> result : results) {
+            latencies.add(result.get());
+        }
+        long elapsed = System.nanoTime() - start;
+        pool.shutdown();
+        server.stop();
+
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("Clients: %d, games: %d (%d graduated)%n", clients, clients * gamesPerClient, gamesWon.get());
+        System.out.printf("Requests: %d in %.2f s = %.0f req/s%n", requests.get(), elapsed / 1e9, requests.get() / (elapsed / 1e9));
+        System.out.printf("Latency p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                all[all.length / 2] / 1e6, all[(int) (all.length * 0.99)] / 1e6, all[all.length - 1] / 1e6);
+    }
+
+    private static String send(HttpClient client, String method, String url) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).method(method, HttpRequest.BodyPublishers.noBody()).build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException(method + " " + url + " -> " + response.statusCode() + " " + response.body());
+        }
+        return response.body();
+    }
+
+    private static long[] record(long[] times, int index, long nanos) {
+        if (index == times.length) {
+            times = Arrays.copyOf(times, times.length * 2);
+        }
+        times[index] = nanos;
+        return times;
+    }
+
+    private static String match(Pattern pattern, String body) {
+        Matcher matcher = pattern.matcher(body);
+        return matcher.find() ? matcher.group(1) : "";
+    }
+}
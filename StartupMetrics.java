@@ -0,0 +1,142 @@
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @Class: StartupMetrics
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/17/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The StartupMetrics class records how long the game takes to become
+ * usable, measured from JVM start: when the window first painted, when the
+ * bank warm-up finished, and when the first exam question appeared, along with
+ * how long that question took after the player asked for the exam. Each event
+ * is recorded once. The times are read through GameMetrics over JMX; a verbose
+ * run also prints each one, tagged with whether warm-up was on, so cold and warm
+ * startups can be compared from the console.
+ */
+public final class StartupMetrics {
+    private final boolean warmUp; // Whether banks were warmed up at startup
+    private final boolean verbose; // Whether to print each event and the game seed
+    private final long originNanos; // System.nanoTime() at JVM start
+    private final AtomicLong firstFrame = new AtomicLong(-1);
+    private final AtomicLong banksReady = new AtomicLong(-1);
+    private final AtomicLong examRequested = new AtomicLong(-1);
+    private final AtomicLong firstQuestion = new AtomicLong(-1);
+
+    /**
+     * Creates quiet metrics for one run of the game.
+     *
+     * @param warmUp True if the bank warm-up was started.
+     */
+    public StartupMetrics(boolean warmUp) {
+        this(warmUp, false);
+    }
+
+    /**
+     * Creates the metrics for one run of the game.
+     *
+     * @param warmUp  True if the bank warm-up was started.
+     * @param verbose True to print each event as it happens.
+     */
+    public StartupMetrics(boolean warmUp, boolean verbose) {
+        this.warmUp = warmUp;
+        this.verbose = verbose;
+        this.originNanos = System.nanoTime() - ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000L;
+    }
+
+    /**
+     * Records that the window has painted for the first time.
+     */
+    public void markFirstFrame() {
+        if (mark(firstFrame)) {
+            print("first frame", firstFrame);
+        }
+    }
+
+    /**
+     * Records that the bank warm-up has finished.
+     */
+    public void markBanksReady() {
+        if (mark(banksReady)) {
+            print("banks ready", banksReady);
+        }
+    }
+
+    /**
+     * Records that the player asked for the first exam.
+     */
+    public void markExamRequested() {
+        mark(examRequested);
+    }
+
+    /**
+     * Records that the first exam question is on screen.
+     */
+    public void markFirstQuestion() {
+        if (mark(firstQuestion) && verbose) {
+            System.out.printf("Startup (warm-up %s): first question at %.1f ms, %.1f ms after the exam was requested%n",
+                    warmUp ? "on" : "off", millis(firstQuestion.get()),
+                    (firstQuestion.get() - examRequested.get()) / 1_000_000.0);
+        }
+    }
+
+    /**
+     * Gets the time from JVM start to the first frame.
+     *
+     * @return The time in milliseconds, or -1 if it has not happened.
+     */
+    public double getTimeToFirstFrameMillis() {
+        return firstFrame.get() < 0 ? -1 : millis(firstFrame.get());
+    }
+
+    /**
+     * Gets the time from JVM start to the end of the bank warm-up.
+     *
+     * @return The time in milliseconds, or -1 if it has not happened.
+     */
+    public double getTimeToBanksReadyMillis() {
+        return banksReady.get() < 0 ? -1 : millis(banksReady.get());
+    }
+
+    /**
+     * Gets the time from JVM start to the first question.
+     *
+     * @return The time in milliseconds, or -1 if it has not happened.
+     */
+    public double getTimeToFirstQuestionMillis() {
+        return firstQuestion.get() < 0 ? -1 : millis(firstQuestion.get());
+    }
+
+    /**
+     * Gets the time from asking for the first exam to its first question.
+     *
+     * @return The time in milliseconds, or -1 if it has not happened.
+     */
+    public double getFirstQuestionLatencyMillis() {
+        return firstQuestion.get() < 0 || examRequested.get() < 0 ? -1 : (firstQuestion.get() - examRequested.get()) / 1_000_000.0;
+    }
+
+    public boolean isWarmUp() {
+        return warmUp;
+    }
+
+    public boolean isVerbose() {
+        return verbose;
+    }
+
+    private static boolean mark(AtomicLong event) {
+        return event.compareAndSet(-1, System.nanoTime());
+    }
+
+    private double millis(long nanos) {
+        return (nanos - originNanos) / 1_000_000.0;
+    }
+
+    private void print(String event, AtomicLong time) {
+        if (!verbose) {
+            return;
+        }
+        System.out.printf("Startup (warm-up %s): %s at %.1f ms%n", warmUp ? "on" : "off", event, millis(time.get()));
+    }
+}
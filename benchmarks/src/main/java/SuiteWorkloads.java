@@ -0,0 +1,42 @@
+import java.util.function.Function;
+
+import miamiquest.benchmarks.Workload;
+
+/**
+ * @Class: SuiteWorkloads
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/11/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The SuiteWorkloads class hands BenchmarkSuite's cases to the JMH
+ * benchmarks. It is in the default package with the game so it can reach them,
+ * so the JMH module measures the same work as the standalone suite.
+ */
+public final class SuiteWorkloads implements Function<String, Workload> {
+    /**
+     * Finds a case by its name and parameter.
+     *
+     * @param key The case's name and parameter, separated by a space.
+     * @return The case.
+     * @throws IllegalArgumentException If there is no such case.
+     */
+    @Override
+    public Workload apply(String key) {
+        for (BenchmarkSuite.Case c : BenchmarkSuite.cases()) {
+            if ((c.name + " " + c.param).equals(key)) {
+                return new Workload() {
+                    @Override
+                    public void setUp() {
+                        c.setUp();
+                    }
+
+                    @Override
+                    public Object invoke(int op) {
+                        return c.invoke(op);
+                    }
+                };
+            }
+        }
+        throw new IllegalArgumentException("No benchmark case " + key);
+    }
+}
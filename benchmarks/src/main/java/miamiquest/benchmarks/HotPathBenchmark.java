@@ -0,0 +1,79 @@
+package miamiquest.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * @Class: HotPathBenchmark
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/11/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The HotPathBenchmark class measures the throughput of the game's hot
+ * paths under JMH: reading each bank, distractor generation at 100/10k/1M
+ * questions, exam form sampling, graduation checks with large course lists and
+ * full headless games. Each workload is a BenchmarkSuite case, named by the
+ * workload parameter. Work that changes the player's course list is measured by
+ * PlayerListBenchmark. Run from the repository root so the banks are found.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HotPathBenchmark {
+    @Param({
+            "Quizzes.readQuestions History.txt",
+            "Quizzes.readQuestions Math.txt",
+            "Quizzes.readQuestions Sports.txt",
+            "Quizzes.readQuestions Computer_Science.txt",
+            "QuestionFileReader.readQuestions History.txt",
+            "QuestionFileReader.readQuestions Math.txt",
+            "QuestionFileReader.readQuestions Sports.txt",
+            "QuestionFileReader.readQuestions Computer_Science.txt",
+            "QuestionImporter.importFile History.txt",
+            "QuestionImporter.importFile Math.txt",
+            "QuestionImporter.importFile Sports.txt",
+            "QuestionImporter.importFile Computer_Science.txt",
+            "Quizzes.questionsWithChoices questions=100",
+            "Quizzes.questionsWithChoices questions=10000",
+            "Quizzes.questionsWithChoices questions=1000000",
+            "ExamForm.sample bank=100",
+            "ExamForm.sample bank=1000000",
+            "Player.canGraduate courses=100",
+            "Player.canGraduate courses=10000",
+            "GameSimulator.run games=1000 on one thread"
+    })
+    public String workload; // A BenchmarkSuite case's name and parameter
+
+    private Workload target;
+
+    /**
+     * Finds the case once and prepares it before each iteration.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        if (target == null) {
+            target = Workload.of(workload);
+        }
+        target.setUp();
+    }
+
+    @Benchmark
+    public Object run() {
+        return target.invoke(0);
+    }
+}
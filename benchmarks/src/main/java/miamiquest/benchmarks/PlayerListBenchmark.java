@@ -0,0 +1,84 @@
+package miamiquest.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * @Class: PlayerListBenchmark
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/11/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The PlayerListBenchmark class measures Player.registerCourse and
+ * Player.dropCourse on players who already have many courses. Both change the
+ * player, so each measurement is one fixed batch on freshly built players, as in
+ * BenchmarkSuite: the score is the time for 10000 registrations or for 20 drops
+ * (one per player, since the drop option is single-use).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class PlayerListBenchmark {
+    /**
+     * A BenchmarkSuite case, rebuilt before each batch.
+     */
+    @State(Scope.Thread)
+    public abstract static class Batch {
+        @Param({ "100", "10000" })
+        public int courses; // Courses each player has before the batch
+
+        Workload target;
+        int op; // The next operation within the batch
+
+        abstract String name();
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            if (target == null) {
+                target = Workload.of(name() + " courses=" + courses);
+            }
+            target.setUp();
+            op = 0;
+        }
+    }
+
+    public static class Register extends Batch {
+        @Override
+        String name() {
+            return "Player.registerCourse";
+        }
+    }
+
+    public static class Drop extends Batch {
+        @Override
+        String name() {
+            return "Player.dropCourse";
+        }
+    }
+
+    @Benchmark
+    @Warmup(iterations = 20, batchSize = 10_000)
+    @Measurement(iterations = 50, batchSize = 10_000)
+    public Object registerCourse(Register batch) {
+        return batch.target.invoke(batch.op++);
+    }
+
+    @Benchmark
+    @Warmup(iterations = 20, batchSize = 20)
+    @Measurement(iterations = 50, batchSize = 20)
+    public Object dropCourse(Drop batch) {
+        return batch.target.invoke(batch.op++);
+    }
+}
@@ -0,0 +1,46 @@
+package miamiquest.benchmarks;
+
+import java.util.function.Function;
+
+/**
+ * @Class: Workload
+ * @Authors: Caleb Krainman, Corbin Fulton, Andy Roberts, Mohamed Lemine E, Marissa Ellis, Ethan Jones
+ * @Version: 1.0
+ * @Written: 12/11/2024
+ * @Course: CSE 201B: Intro to Software Engineering
+ * @Purpose: The Workload interface is one BenchmarkSuite case as seen from the JMH
+ * benchmarks. JMH only runs benchmarks that are in a package, and code in a
+ * package cannot name the game's classes in the default package, so the cases
+ * are reached through SuiteWorkloads, which lives in the default package.
+ */
+public interface Workload {
+    /**
+     * Prepares the case before an iteration. Not timed.
+     */
+    void setUp();
+
+    /**
+     * Runs the timed operation once.
+     *
+     * @param op The operation's number within the iteration, from 0.
+     * @return The result, for JMH to consume.
+     */
+    Object invoke(int op);
+
+    /**
+     * Finds a BenchmarkSuite case.
+     *
+     * @param key The case's name and parameter, such as "Quizzes.readQuestions History.txt".
+     * @return The case.
+     */
+    @SuppressWarnings("unchecked")
+    static Workload of(String key) {
+        try {
+            Function<String, Workload> cases = (Function<String, Workload>) Class.forName("SuiteWorkloads")
+                    .getDeclaredConstructor().newInstance();
+            return cases.apply(key);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("SuiteWorkloads is missing from the benchmark jar", e);
+        }
+    }
+}